@@ -0,0 +1,109 @@
+package com.viraj.sample.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.viraj.sample.dto.EmployeePatch;
+import com.viraj.sample.entity.Employee;
+import com.viraj.sample.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeControllerBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private MockMvc mockMvc;
+    private long[] employeeIds;
+    private ObjectMapper objectMapper;
+    private byte[] newEmployeeJson;
+    private byte[] patchJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start(WebApplicationType.SERVLET);
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        employeeService = context.getBean(EmployeeService.class);
+        List<Employee> employees = employeeService.saveAll(BenchmarkApplication.employees(ROWS));
+        employeeIds = employees.stream().mapToLong(Employee::getEmployeeId).toArray();
+
+        objectMapper = context.getBean(ObjectMapper.class);
+        newEmployeeJson = objectMapper.writeValueAsBytes(new Employee("Benchmark Employee", "Created by the benchmark"));
+        patchJson = objectMapper.writeValueAsBytes(new EmployeePatch(null, "Patched by the benchmark", null));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private long randomEmployeeId() {
+        return employeeIds[ThreadLocalRandom.current().nextInt(employeeIds.length)];
+    }
+
+    @Benchmark
+    public MvcResult save() throws Exception {
+        return mockMvc.perform(post("/employee/save").contentType(MediaType.APPLICATION_JSON).content(newEmployeeJson))
+                .andReturn();
+    }
+
+    @Benchmark
+    public MvcResult update() throws Exception {
+        // The current version has to be sent back, so the employee is read (usually from the cache) first.
+        byte[] employeeJson = objectMapper.writeValueAsBytes(employeeService.getEmployee(randomEmployeeId()));
+        return mockMvc.perform(put("/employee/update").contentType(MediaType.APPLICATION_JSON).content(employeeJson))
+                .andReturn();
+    }
+
+    @Benchmark
+    public MvcResult patch() throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.patch("/employee/update/{employeeId}", randomEmployeeId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(patchJson))
+                .andReturn();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public MvcResult getAll() throws Exception {
+        return mockMvc.perform(get("/employee/getall")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getAllPage() throws Exception {
+        return mockMvc.perform(get("/employee/getall")
+                .param("limit", "100")
+                .param("after", String.valueOf(randomEmployeeId())))
+                .andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getOne() throws Exception {
+        return mockMvc.perform(get("/employee/getone/{employeeId}", randomEmployeeId())).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult saveThenDelete() throws Exception {
+        Employee employee = employeeService.saveEmployee(new Employee("Short Lived", "Deleted by the benchmark"));
+        return mockMvc.perform(delete("/employee/delete/{employeeId}", employee.getEmployeeId())).andReturn();
+    }
+}
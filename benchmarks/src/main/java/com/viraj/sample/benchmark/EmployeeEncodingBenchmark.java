@@ -0,0 +1,88 @@
+package com.viraj.sample.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.viraj.sample.entity.Employee;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encodes a /getall response in each encoding the API offers. Besides the time per call, every
+ * run reports the payload size (payloadBytes) and, through the gc profiler, the bytes allocated
+ * per call (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeEncodingBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    @Param({"json", "json+gzip", "smile", "smile+gzip", "cbor", "cbor+gzip"})
+    private String encoding;
+
+    private ObjectMapper objectMapper;
+    private boolean gzip;
+    private List<Employee> employees;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+
+        public long payloadBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            payloadBytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        // Same settings Spring Boot applies to the ObjectMappers used by the controllers.
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        String format = encoding.replace("+gzip", "");
+        if (format.equals("smile")) {
+            builder.factory(new SmileFactory());
+        } else if (format.equals("cbor")) {
+            builder.factory(new CBORFactory());
+        }
+        objectMapper = builder.build();
+        gzip = encoding.endsWith("+gzip");
+        employees = BenchmarkApplication.employees(size);
+        Instant now = Instant.now();
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            employee.setEmployeeId(i + 1);
+            employee.setCreatedAt(now);
+            employee.setUpdatedAt(now);
+            employee.setChangeSeq(i + 1);
+        }
+    }
+
+    @Benchmark
+    public byte[] encodeEmployeeList(Payload payload) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes) : bytes) {
+            objectMapper.writeValue(out, employees);
+        }
+        byte[] encoded = bytes.toByteArray();
+        payload.payloadBytes = encoded.length;
+        return encoded;
+    }
+}
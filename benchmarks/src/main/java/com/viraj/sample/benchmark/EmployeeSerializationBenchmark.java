@@ -0,0 +1,74 @@
+package com.viraj.sample.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.viraj.sample.entity.Employee;
+import com.viraj.sample.json.EmployeeJsonWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeSerializationBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private Employee employee;
+    private List<Employee> employees;
+    private byte[] employeesJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        // Same settings Spring Boot applies to the ObjectMapper used by the controllers.
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        employees = BenchmarkApplication.employees(size);
+        for (int i = 0; i < employees.size(); i++) {
+            employees.get(i).setEmployeeId(i + 1);
+        }
+        employee = employees.get(0);
+        employeesJson = objectMapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public byte[] serializeEmployee() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(employee);
+    }
+
+    @Benchmark
+    public byte[] serializeEmployeeList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public byte[] writeEmployeeList() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(employeesJson.length);
+        EmployeeJsonWriter.writeAll(employees, out);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] serializeEmployeeListToStream() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(employeesJson.length);
+        objectMapper.writeValue(out, employees);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public Employee[] deserializeEmployeeList() throws IOException {
+        return objectMapper.readValue(employeesJson, Employee[].class);
+    }
+}
@@ -0,0 +1,97 @@
+package com.viraj.sample.benchmark;
+
+import com.viraj.sample.dto.EmployeePage;
+import com.viraj.sample.dto.EmployeePatch;
+import com.viraj.sample.dto.EmployeeSummary;
+import com.viraj.sample.entity.Employee;
+import com.viraj.sample.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private long[] employeeIds;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start(WebApplicationType.NONE);
+        employeeService = context.getBean(EmployeeService.class);
+        List<Employee> employees = employeeService.saveAll(BenchmarkApplication.employees(ROWS));
+        employeeIds = employees.stream().mapToLong(Employee::getEmployeeId).toArray();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private long randomEmployeeId() {
+        return employeeIds[ThreadLocalRandom.current().nextInt(employeeIds.length)];
+    }
+
+    @Benchmark
+    public Employee getEmployee() {
+        return employeeService.getEmployee(randomEmployeeId());
+    }
+
+    @Benchmark
+    public EmployeePage<Employee> getEmployeePage() {
+        return employeeService.getEmployeePage(randomEmployeeId(), 100);
+    }
+
+    @Benchmark
+    public EmployeePage<EmployeeSummary> getEmployeeSummaryPage() {
+        return employeeService.getEmployeeSummaryPage(randomEmployeeId(), 100);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Employee> getAllEmployees() {
+        return employeeService.getAllEmployees();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<EmployeeSummary> getAllEmployeeSummaries() {
+        return employeeService.getAllEmployeeSummaries();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void exportEmployees(Blackhole blackhole) {
+        employeeService.exportEmployees(blackhole::consume);
+    }
+
+    @Benchmark
+    public Employee saveEmployee() {
+        return employeeService.saveEmployee(new Employee("Benchmark Employee", "Created by the benchmark"));
+    }
+
+    @Benchmark
+    public boolean patchEmployee() {
+        return employeeService.patchEmployee(randomEmployeeId(), new EmployeePatch(null, "Patched by the benchmark", null));
+    }
+
+    @Benchmark
+    public Employee updateEmployee() {
+        Employee employee = employeeService.getEmployee(randomEmployeeId());
+        employee.setEmployeeDescription("Updated by the benchmark");
+        return employeeService.updateEmployee(employee);
+    }
+}
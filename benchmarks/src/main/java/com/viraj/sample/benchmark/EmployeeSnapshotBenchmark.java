@@ -0,0 +1,72 @@
+package com.viraj.sample.benchmark;
+
+import com.viraj.sample.dto.EmployeeChange;
+import com.viraj.sample.entity.Employee;
+import com.viraj.sample.snapshot.EmployeeSnapshot;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of refreshing the read snapshot with a small batch of changes (applyChanges) as the table
+ * grows, next to building it from scratch (build) as the refresher does on startup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeSnapshotBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int size;
+
+    @Param({"10"})
+    private int changes;
+
+    private List<Employee> employees;
+    private EmployeeSnapshot snapshot;
+    private List<EmployeeChange> batch;
+
+    @Setup
+    public void setUp() {
+        employees = BenchmarkApplication.employees(size);
+        Instant now = Instant.now();
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            employee.setEmployeeId(i + 1);
+            employee.setCreatedAt(now);
+            employee.setUpdatedAt(now);
+            employee.setChangeSeq(i + 1);
+        }
+        snapshot = build();
+        // Updates spread over the table, so the unchanged rows come in several runs.
+        batch = new ArrayList<>(changes);
+        for (int i = 0; i < changes; i++) {
+            Employee employee = employees.get((int) ((long) i * size / changes));
+            Employee updated = new Employee(employee.getEmployeeName() + " (renamed)", employee.getEmployeeDescription());
+            updated.setEmployeeId(employee.getEmployeeId());
+            updated.setVersion(employee.getVersion() + 1);
+            updated.setCreatedAt(employee.getCreatedAt());
+            updated.setUpdatedAt(now);
+            updated.setChangeSeq(size + i + 1L);
+            batch.add(EmployeeChange.of(updated));
+        }
+    }
+
+    @Benchmark
+    public EmployeeSnapshot applyChanges() {
+        return snapshot.apply(batch, size + changes);
+    }
+
+    @Benchmark
+    public EmployeeSnapshot build() {
+        EmployeeSnapshot.Builder builder = EmployeeSnapshot.builder(size);
+        employees.forEach(builder::add);
+        return builder.build();
+    }
+}
@@ -0,0 +1,97 @@
+package com.viraj.sample.benchmark;
+
+import com.viraj.sample.diagnostics.DiagnosticDataSource;
+import com.viraj.sample.diagnostics.SqlDiagnostics;
+import com.viraj.sample.diagnostics.SqlDiagnosticsProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of the SQL diagnostics datasource on a pooled H2 database: without it (off), with it but
+ * nothing recorded (on, the usual case), and with every statement recorded (recorded), where the
+ * rows read are counted as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SqlDiagnosticsBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final RowMapper<String> NAME_MAPPER = (rs, rowNum) -> rs.getLong(1) + rs.getString(2);
+
+    @Param({"off", "on", "recorded"})
+    private String diagnostics;
+
+    private HikariDataSource pool;
+    private SqlDiagnostics sqlDiagnostics;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup
+    public void setUp() {
+        pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:diagnostics;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        pool.setUsername("sa");
+        JdbcTemplate setup = new JdbcTemplate(pool);
+        setup.execute("create table if not exists EMPLOYEE (EMPLOYEE_ID bigint primary key, EMPLOYEE_NAME varchar(255))");
+        setup.update("delete from EMPLOYEE");
+        setup.batchUpdate("insert into EMPLOYEE (EMPLOYEE_ID, EMPLOYEE_NAME) values (?, ?)",
+                BenchmarkApplication.employees(ROWS), 1000,
+                (ps, employee) -> {
+                    ps.setLong(1, Long.parseLong(employee.getEmployeeName().substring("Employee ".length())) + 1);
+                    ps.setString(2, employee.getEmployeeName());
+                });
+
+        DataSource dataSource = pool;
+        if (!diagnostics.equals("off")) {
+            SqlDiagnosticsProperties properties = new SqlDiagnosticsProperties();
+            properties.setSampleRate(diagnostics.equals("recorded") ? 1 : 0);
+            // Nothing is logged while measuring; stop() writes out the last few records.
+            properties.setBufferSize(16);
+            properties.setDrainInterval(Duration.ofHours(1));
+            sqlDiagnostics = new SqlDiagnostics(properties);
+            dataSource = new DiagnosticDataSource(pool, sqlDiagnostics);
+        }
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (sqlDiagnostics != null) {
+            sqlDiagnostics.stop();
+        }
+        pool.close();
+    }
+
+    private long randomEmployeeId() {
+        return ThreadLocalRandom.current().nextInt(ROWS - 100) + 1;
+    }
+
+    @Benchmark
+    public String queryOne() {
+        return jdbcTemplate.queryForObject("select EMPLOYEE_ID, EMPLOYEE_NAME from EMPLOYEE where EMPLOYEE_ID = ?",
+                NAME_MAPPER, randomEmployeeId());
+    }
+
+    @Benchmark
+    public List<String> queryPage() {
+        return jdbcTemplate.query("select EMPLOYEE_ID, EMPLOYEE_NAME from EMPLOYEE where EMPLOYEE_ID > ? "
+                + "order by EMPLOYEE_ID limit 100", NAME_MAPPER, randomEmployeeId());
+    }
+
+    @Benchmark
+    public int update() {
+        return jdbcTemplate.update("update EMPLOYEE set EMPLOYEE_NAME = ? where EMPLOYEE_ID = ?", "Renamed",
+                randomEmployeeId());
+    }
+}
@@ -0,0 +1,202 @@
+package com.viraj.sample.admission;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turns requests away before they reach the employee API once a client sends more than its rate
+ * (429) or an endpoint has as many requests in progress as it allows (503). Both answers carry
+ * Retry-After, and neither touches the database or the connection pool.
+ */
+@Component
+@ConditionalOnProperty(prefix = "employee.admission", name = "enabled", havingValue = "true")
+public class AdmissionControlFilter extends OncePerRequestFilter implements MeterBinder {
+
+    static final String CLIENT_ID_HEADER = "X-Client-Id";
+    static final String OTHER_ENDPOINTS = "other";
+    static final String RETRY_AFTER_SECONDS = "1";
+
+    private static final String API_PATTERN = "/employee/**";
+
+    private final ClientRateLimiter rateLimiter;
+    private final boolean trustClientId;
+    private final List<String> patterns = new ArrayList<>();
+    private final List<ConcurrencyLimiter> limiters = new ArrayList<>();
+    private final Ticker ticker;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+    private volatile MeterRegistry registry;
+
+    @Autowired
+    public AdmissionControlFilter(AdmissionProperties properties) {
+        this(properties, Ticker.systemTicker());
+    }
+
+    AdmissionControlFilter(AdmissionProperties properties, Ticker ticker) {
+        this.rateLimiter = new ClientRateLimiter(properties.getClientRate(), properties.getClientBurst(),
+                properties.getMaxClients(), ticker);
+        this.trustClientId = properties.isTrustClientId();
+        for (AdmissionProperties.Endpoint endpoint : properties.getEndpoints()) {
+            patterns.add(endpoint.getPattern());
+            limiters.add(new ConcurrencyLimiter(endpoint.getPattern(), endpoint.getMaxConcurrent(),
+                    endpoint.isAdaptive(), endpoint.getMinConcurrent(), endpoint.getLatencyTarget().toNanos()));
+        }
+        this.ticker = ticker;
+    }
+
+    List<ConcurrencyLimiter> getLimiters() {
+        return Collections.unmodifiableList(limiters);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !pathMatcher.match(API_PATTERN, urlPathHelper.getPathWithinApplication(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ConcurrencyLimiter limiter = limiterFor(urlPathHelper.getPathWithinApplication(request));
+        String endpoint = limiter != null ? limiter.getName() : OTHER_ENDPOINTS;
+
+        long waitNanos = rateLimiter.tryAcquire(clientId(request));
+        if (waitNanos > 0) {
+            long retryAfter = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, String.valueOf(retryAfter),
+                    "Too many requests, try again later", "rate", endpoint);
+            return;
+        }
+        if (limiter == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!limiter.tryAcquire()) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, RETRY_AFTER_SECONDS,
+                    "Too many requests in progress, try again later", "concurrency", endpoint);
+            return;
+        }
+        long start = ticker.read();
+        boolean released = true;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // The request is still in progress until the async work completes it.
+                request.getAsyncContext().addListener(new ReleaseOnComplete(limiter, start));
+                released = false;
+            }
+        } finally {
+            if (released) {
+                limiter.release(start, ticker.read());
+            }
+        }
+    }
+
+    /**
+     * The first configured pattern that matches wins.
+     */
+    private ConcurrencyLimiter limiterFor(String path) {
+        for (int i = 0; i < patterns.size(); i++) {
+            if (pathMatcher.match(patterns.get(i), path)) {
+                return limiters.get(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The client's address, unless the header is trusted: anyone can send a new X-Client-Id with
+     * every request, so it may only be used when a gateway in front sets it.
+     */
+    private String clientId(HttpServletRequest request) {
+        String clientId = trustClientId ? request.getHeader(CLIENT_ID_HEADER) : null;
+        return clientId != null ? clientId : request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String retryAfter, String message,
+                        String reason, String endpoint) throws IOException {
+        if (registry != null) {
+            Counter.builder("employee.admission.rejected")
+                    .description("Requests turned away by admission control")
+                    .tag("reason", reason)
+                    .tag("endpoint", endpoint)
+                    .register(registry)
+                    .increment();
+        }
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write(message);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder("employee.admission.clients", rateLimiter, ClientRateLimiter::clients)
+                .description("Clients whose request rate is being tracked")
+                .register(registry);
+        for (ConcurrencyLimiter limiter : limiters) {
+            Gauge.builder("employee.admission.limit", limiter, ConcurrencyLimiter::getLimit)
+                    .description("Requests an endpoint may have in progress")
+                    .tag("endpoint", limiter.getName())
+                    .register(registry);
+            Gauge.builder("employee.admission.in.flight", limiter, ConcurrencyLimiter::getInFlight)
+                    .description("Requests an endpoint has in progress")
+                    .tag("endpoint", limiter.getName())
+                    .register(registry);
+        }
+    }
+
+    private final class ReleaseOnComplete implements AsyncListener {
+
+        private final ConcurrencyLimiter limiter;
+        private final long start;
+
+        ReleaseOnComplete(ConcurrencyLimiter limiter, long start) {
+            this.limiter = limiter;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            // Also called after a timeout or error.
+            limiter.release(start, ticker.read());
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
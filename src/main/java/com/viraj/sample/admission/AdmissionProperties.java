@@ -0,0 +1,117 @@
+package com.viraj.sample.admission;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "employee.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = false;
+    private double clientRate = 50;
+    private int clientBurst = 100;
+    private long maxClients = 100_000;
+    private boolean trustClientId = false;
+    private List<Endpoint> endpoints = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getClientRate() {
+        return clientRate;
+    }
+
+    public void setClientRate(double clientRate) {
+        this.clientRate = clientRate;
+    }
+
+    public int getClientBurst() {
+        return clientBurst;
+    }
+
+    public void setClientBurst(int clientBurst) {
+        this.clientBurst = clientBurst;
+    }
+
+    public long getMaxClients() {
+        return maxClients;
+    }
+
+    public void setMaxClients(long maxClients) {
+        this.maxClients = maxClients;
+    }
+
+    public boolean isTrustClientId() {
+        return trustClientId;
+    }
+
+    public void setTrustClientId(boolean trustClientId) {
+        this.trustClientId = trustClientId;
+    }
+
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(List<Endpoint> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    public static class Endpoint {
+
+        private String pattern;
+        private int maxConcurrent = 20;
+        private boolean adaptive = false;
+        private int minConcurrent = 1;
+        private Duration latencyTarget = Duration.ofSeconds(1);
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public boolean isAdaptive() {
+            return adaptive;
+        }
+
+        public void setAdaptive(boolean adaptive) {
+            this.adaptive = adaptive;
+        }
+
+        public int getMinConcurrent() {
+            return minConcurrent;
+        }
+
+        public void setMinConcurrent(int minConcurrent) {
+            this.minConcurrent = minConcurrent;
+        }
+
+        public Duration getLatencyTarget() {
+            return latencyTarget;
+        }
+
+        public void setLatencyTarget(Duration latencyTarget) {
+            this.latencyTarget = latencyTarget;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.viraj.sample.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket per client, refilled at {@code rate} tokens a second up to {@code burst}.
+ * <p>
+ * Each bucket is kept as a single timestamp, the time at which it would be full again, and
+ * updated with compare-and-set, so callers never lock; the client map is Caffeine's concurrent
+ * map. A bucket left alone for burst / rate seconds is full, so it is dropped then and recreated
+ * full on the client's next request.
+ */
+class ClientRateLimiter {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final Ticker ticker;
+    private final Cache<String, AtomicLong> fullAt;
+
+    ClientRateLimiter(double rate, int burst, long maxClients, Ticker ticker) {
+        if (rate <= 0 || burst <= 0) {
+            throw new IllegalStateException("employee.admission.client-rate and client-burst must be positive");
+        }
+        this.nanosPerToken = (long) (1_000_000_000L / rate);
+        this.burstNanos = nanosPerToken * burst;
+        this.ticker = ticker;
+        this.fullAt = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofNanos(burstNanos))
+                .maximumSize(maxClients)
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Takes a token from the client's bucket. Returns 0 when there was one, otherwise the nanos
+     * until there will be.
+     */
+    long tryAcquire(String client) {
+        AtomicLong bucket = fullAt.get(client, key -> new AtomicLong(Long.MIN_VALUE));
+        long now = ticker.read();
+        while (true) {
+            long current = bucket.get();
+            // A time in the past means the bucket has been full since then.
+            long next = Math.max(current, now) + nanosPerToken;
+            if (next - now > burstNanos) {
+                return next - now - burstNanos;
+            }
+            if (bucket.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    long clients() {
+        return fullAt.estimatedSize();
+    }
+}
@@ -0,0 +1,80 @@
+package com.viraj.sample.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps the requests one endpoint has in progress. An adaptive limit moves between min and max:
+ * it grows by one per limit's worth of requests that finish within the latency target, and
+ * shrinks by a tenth when one takes longer. Only requests started after the last decrease can
+ * shrink it again, so a burst of slow requests that were already running counts once.
+ */
+class ConcurrencyLimiter {
+
+    static final double BACKOFF = 0.9;
+
+    private final String name;
+    private final boolean adaptive;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private boolean decreased;
+    private long lastDecreaseNanos;
+
+    ConcurrencyLimiter(String name, int maxLimit, boolean adaptive, int minLimit, long latencyTargetNanos) {
+        if (maxLimit <= 0 || (adaptive && (minLimit <= 0 || minLimit > maxLimit))) {
+            throw new IllegalStateException("Concurrency limits of " + name + " must be positive, min <= max");
+        }
+        this.name = name;
+        this.adaptive = adaptive;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTargetNanos = latencyTargetNanos;
+        this.limit = maxLimit;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getLimit() {
+        return (int) limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release(long startNanos, long endNanos) {
+        int running = inFlight.getAndDecrement();
+        if (adaptive) {
+            adjust(startNanos, endNanos, running);
+        }
+    }
+
+    private synchronized void adjust(long startNanos, long endNanos, int running) {
+        if (endNanos - startNanos > latencyTargetNanos) {
+            if (!decreased || startNanos - lastDecreaseNanos > 0) {
+                limit = Math.max(minLimit, limit * BACKOFF);
+                decreased = true;
+                lastDecreaseNanos = endNanos;
+            }
+        } else if (running * 2 >= limit) {
+            // Only grow while the limit is actually being used.
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.viraj.sample.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.viraj.sample.entity.Employee;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+@Component
+public class EmployeeCache implements MeterBinder {
+
+    private final Cache<Long, Optional<Employee>> cache;
+    // Bumped by every invalidation of an id hashing to the slot, so a load can tell whether a
+    // write to its id happened meanwhile. Slots are shared by ids far apart, which only costs the
+    // occasional load that is not cached.
+    static final int GENERATION_SLOTS = 4096;
+
+    private final SingleFlight<Long, Optional<Employee>> loads = new SingleFlight<>();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_SLOTS);
+
+    @Autowired
+    public EmployeeCache(EmployeeCacheProperties properties) {
+        this(properties, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    EmployeeCache(EmployeeCacheProperties properties, Ticker ticker, Executor executor) {
+        long timeToLive = properties.getTimeToLive().toNanos();
+        long negativeTimeToLive = properties.getNegativeTimeToLive().toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new Expiry<Long, Optional<Employee>>() {
+                    @Override
+                    public long expireAfterCreate(Long employeeId, Optional<Employee> employee, long currentTime) {
+                        return employee.isPresent() ? timeToLive : negativeTimeToLive;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long employeeId, Optional<Employee> employee, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(employeeId, employee, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long employeeId, Optional<Employee> employee, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .ticker(ticker)
+                .executor(executor)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<Employee> get(Long employeeId, Function<Long, Optional<Employee>> loader) {
+        Optional<Employee> employee = cache.getIfPresent(employeeId);
+        if (employee != null) {
+            return employee;
+        }
+        // Load outside of the cache so a slow query does not block other keys of the same bin,
+        // but only once per id: concurrent misses wait for the same query.
+        return loads.execute(employeeId, id -> {
+            long generation = generation(id);
+            Optional<Employee> loaded = loader.apply(id);
+            putIfUnchanged(id, loaded, generation);
+            return loaded;
+        });
+    }
+
+    /**
+     * Looks up many employees at once. The ones not cached are read with a single call of
+     * {@code loader}, which returns those of the given ids that exist; the others are cached as
+     * missing. The result is in the order of {@code employeeIds}.
+     */
+    public Map<Long, Optional<Employee>> getAll(Collection<Long> employeeIds,
+                                                Function<List<Long>, Iterable<Employee>> loader) {
+        Map<Long, Optional<Employee>> employees = new LinkedHashMap<>();
+        List<Long> uncachedIds = new ArrayList<>();
+        for (Long employeeId : employeeIds) {
+            Optional<Employee> cached = cache.getIfPresent(employeeId);
+            employees.put(employeeId, cached);
+            if (cached == null) {
+                uncachedIds.add(employeeId);
+            }
+        }
+        if (uncachedIds.isEmpty()) {
+            return employees;
+        }
+        long[] generationsBefore = new long[uncachedIds.size()];
+        for (int i = 0; i < uncachedIds.size(); i++) {
+            generationsBefore[i] = generation(uncachedIds.get(i));
+        }
+        for (Employee employee : loader.apply(uncachedIds)) {
+            employees.put(employee.getEmployeeId(), Optional.of(employee));
+        }
+        for (int i = 0; i < uncachedIds.size(); i++) {
+            Long employeeId = uncachedIds.get(i);
+            Optional<Employee> loaded = employees.get(employeeId);
+            if (loaded == null) {
+                loaded = Optional.empty();
+                employees.put(employeeId, loaded);
+            }
+            putIfUnchanged(employeeId, loaded, generationsBefore[i]);
+        }
+        return employees;
+    }
+
+    public Optional<Employee> getIfPresent(Long employeeId) {
+        return cache.getIfPresent(employeeId);
+    }
+
+    public void invalidate(Long employeeId) {
+        // Bump first: a load checking its generation after this cannot put its result back.
+        generations.incrementAndGet(slot(employeeId));
+        loads.forget(employeeId);
+        cache.invalidate(employeeId);
+    }
+
+    public void invalidateAll(Iterable<Long> employeeIds) {
+        employeeIds.forEach(employeeId -> generations.incrementAndGet(slot(employeeId)));
+        employeeIds.forEach(loads::forget);
+        cache.invalidateAll(employeeIds);
+    }
+
+    private long generation(Long employeeId) {
+        return generations.get(slot(employeeId));
+    }
+
+    /**
+     * Caches a loaded employee unless its id was invalidated since {@code generation} was read,
+     * in which case a write may have made it stale. Checked under the lock of the cache entry, so
+     * an invalidation either happens first and is seen, or happens after and removes the entry.
+     */
+    private void putIfUnchanged(Long employeeId, Optional<Employee> loaded, long generation) {
+        cache.asMap().compute(employeeId, (id, current) -> generation(id) == generation ? loaded : current);
+    }
+
+    private static int slot(Long employeeId) {
+        return Long.hashCode(employeeId) & (GENERATION_SLOTS - 1);
+    }
+
+    public Map<String, Number> getStatistics() {
+        CacheStats stats = cache.stats();
+        Map<String, Number> statistics = new LinkedHashMap<>();
+        statistics.put("size", cache.estimatedSize());
+        statistics.put("hitCount", stats.hitCount());
+        statistics.put("missCount", stats.missCount());
+        statistics.put("hitRate", stats.hitRate());
+        statistics.put("evictionCount", stats.evictionCount());
+        return statistics;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "employee");
+    }
+
+    Cache<Long, Optional<Employee>> getCache() {
+        return cache;
+    }
+}
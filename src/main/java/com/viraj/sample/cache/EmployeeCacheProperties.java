@@ -0,0 +1,39 @@
+package com.viraj.sample.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "employee.cache")
+public class EmployeeCacheProperties {
+
+    private long maximumSize = 10_000;
+    private Duration timeToLive = Duration.ofMinutes(5);
+    private Duration negativeTimeToLive = Duration.ofSeconds(5);
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    public void setTimeToLive(Duration timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    public Duration getNegativeTimeToLive() {
+        return negativeTimeToLive;
+    }
+
+    public void setNegativeTimeToLive(Duration negativeTimeToLive) {
+        this.negativeTimeToLive = negativeTimeToLive;
+    }
+}
@@ -0,0 +1,41 @@
+package com.viraj.sample.config;
+
+import com.viraj.sample.metrics.SqlStatementCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Runs the blocking work behind the /employee/async endpoints. It has as many threads as the
+     * connection pool has connections, and a bounded queue; when the queue is full new work is
+     * rejected instead of piling up. The statements a task prepares count towards the request that
+     * submitted it.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService employeeExecutor(
+            @Value("${employee.async.pool-size:${spring.datasource.hikari.maximum-pool-size:10}}") int poolSize,
+            @Value("${employee.async.queue-capacity:100}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("employee-async-"),
+                new ThreadPoolExecutor.AbortPolicy()) {
+            // submit() and invokeAll() end up here as well.
+            @Override
+            public void execute(Runnable command) {
+                super.execute(SqlStatementCounter.countForCurrentRequest(command));
+            }
+        };
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "employee.async");
+    }
+}
@@ -0,0 +1,100 @@
+package com.viraj.sample.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.viraj.sample.diagnostics.SqlDiagnostics;
+import com.viraj.sample.diagnostics.SqlRequestInterceptor;
+import com.viraj.sample.json.EmployeeJsonHttpMessageConverter;
+import com.viraj.sample.metrics.SqlStatementMetricsInterceptor;
+import com.viraj.sample.replica.ReadYourWritesInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Autowired
+    private ObjectProvider<ReadYourWritesInterceptor> readYourWritesInterceptor;
+
+    @Autowired
+    private ObjectProvider<SqlDiagnostics> sqlDiagnostics;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Web slice tests run without metrics support.
+        meterRegistry.ifAvailable(meters -> registry.addInterceptor(new SqlStatementMetricsInterceptor(meters)));
+        // The same URL answers in several encodings, so caches have to key on Accept as well.
+        registry.addInterceptor(new HandlerInterceptorAdapter() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/employee/**");
+        // Only there when reads go to a replica.
+        readYourWritesInterceptor.ifAvailable(interceptor -> registry.addInterceptor(interceptor)
+                .addPathPatterns("/employee/**"));
+        sqlDiagnostics.ifAvailable(diagnostics -> registry.addInterceptor(new SqlRequestInterceptor()));
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Employees are written by the specialized writer, ahead of the generic Jackson converter.
+        for (int i = 0; i < converters.size(); i++) {
+            // Exact class: Spring Data adds a read-only subclass for projections.
+            if (converters.get(i).getClass() == MappingJackson2HttpMessageConverter.class) {
+                converters.add(i, new EmployeeJsonHttpMessageConverter((MappingJackson2HttpMessageConverter) converters.get(i)));
+                return;
+            }
+        }
+    }
+
+    // Binary alternatives to JSON for clients that ask for them in Accept. The mappers get the same
+    // customizations as the JSON ObjectMapper, so every encoding carries the same fields and date format.
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+            ApplicationContext applicationContext, List<Jackson2ObjectMapperBuilderCustomizer> customizers) {
+        return new MappingJackson2CborHttpMessageConverter(
+                objectMapper(new CBORFactory(), applicationContext, customizers));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+            ApplicationContext applicationContext, List<Jackson2ObjectMapperBuilderCustomizer> customizers) {
+        return new MappingJackson2SmileHttpMessageConverter(
+                objectMapper(new SmileFactory(), applicationContext, customizers));
+    }
+
+    // The Jackson2ObjectMapperBuilder bean is shared with the JSON ObjectMapper, so each binary mapper
+    // gets its own builder instead of changing the factory of that one.
+    private static ObjectMapper objectMapper(JsonFactory factory, ApplicationContext applicationContext,
+                                             List<Jackson2ObjectMapperBuilderCustomizer> customizers) {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder().applicationContext(applicationContext);
+        customizers.forEach(customizer -> customizer.customize(builder));
+        return builder.factory(factory).build();
+    }
+}
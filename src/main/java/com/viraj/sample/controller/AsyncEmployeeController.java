@@ -0,0 +1,110 @@
+package com.viraj.sample.controller;
+
+import com.viraj.sample.dto.EmployeePatch;
+import com.viraj.sample.entity.Employee;
+import com.viraj.sample.service.AsyncEmployeeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+@RestController
+@RequestMapping("/employee/async/")
+public class AsyncEmployeeController {
+
+    static final String RETRY_AFTER_SECONDS = "1";
+
+    @Autowired
+    private AsyncEmployeeService asyncEmployeeService;
+
+    @PostMapping("/save")
+    public CompletableFuture<ResponseEntity<Employee>> saveEmployee(@RequestBody Employee employee) {
+        if (employee == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        return asyncEmployeeService.saveEmployee(employee)
+                .thenApply(savedEmployee -> ResponseEntity.status(HttpStatus.CREATED).body(savedEmployee));
+    }
+
+    @PutMapping("/update")
+    public CompletableFuture<ResponseEntity<Employee>> updateEmployee(@RequestBody Employee employee) {
+        if (employee == null || employee.getEmployeeId() <= 0) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        return asyncEmployeeService.updateEmployee(employee).thenApply(ResponseEntity::ok);
+    }
+
+    @PatchMapping("/update/{employeeId}")
+    public CompletableFuture<ResponseEntity<Void>> patchEmployee(@PathVariable(name = "employeeId") Long employeeId,
+                                                                 @RequestBody EmployeePatch patch) {
+        if (employeeId == null || employeeId <= 0 || patch == null || patch.isEmpty()) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        return asyncEmployeeService.patchEmployee(employeeId, patch).thenApply(updated -> updated
+                ? ResponseEntity.noContent().<Void>build()
+                : ResponseEntity.notFound().<Void>build());
+    }
+
+    @GetMapping("/getall")
+    public CompletableFuture<ResponseEntity<List<Employee>>> getEmployees(
+            @RequestParam(name = "limit", defaultValue = "" + EmployeeController.DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(name = "after", required = false) Long after) {
+        return asyncEmployeeService.getEmployeePage(after, limit).thenApply(page -> {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.hasNext()) {
+                response.header(EmployeeController.NEXT_CURSOR_HEADER, String.valueOf(page.getNextCursor()));
+            }
+            return response.body(page.getEmployees());
+        });
+    }
+
+    @GetMapping("/getone/{employeeId}")
+    public CompletableFuture<ResponseEntity<Employee>> getEmployee(@PathVariable(name = "employeeId") Long employeeId) {
+        if (employeeId == null || employeeId <= 0) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        return asyncEmployeeService.getEmployee(employeeId).thenApply(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/delete/{employeeId}")
+    public CompletableFuture<ResponseEntity<Void>> deleteEmployee(@PathVariable(name = "employeeId") Long employeeId) {
+        if (employeeId == null || employeeId <= 0) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        return asyncEmployeeService.deleteEmployee(employeeId).thenApply(deleted -> ResponseEntity.noContent().build());
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<String> handleRejectedExecutionException(RejectedExecutionException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body("Too many requests in progress, try again later");
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<String> handleNoSuchElementException(NoSuchElementException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<String> handleException(Exception ex) {
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ex.getMessage());
+    }
+}
@@ -0,0 +1,23 @@
+package com.viraj.sample.controller;
+
+import com.viraj.sample.cache.EmployeeCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/employee/cache/")
+public class CacheController {
+
+    @Autowired
+    private EmployeeCache employeeCache;
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Number>> getCacheStatistics() {
+        return ResponseEntity.ok(employeeCache.getStatistics());
+    }
+}
@@ -1,21 +1,59 @@
 package com.viraj.sample.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.viraj.sample.dto.EmployeeChanges;
+import com.viraj.sample.dto.EmployeeLookup;
+import com.viraj.sample.dto.EmployeeNameCursor;
+import com.viraj.sample.dto.EmployeeNamePage;
+import com.viraj.sample.dto.EmployeePage;
+import com.viraj.sample.dto.EmployeePatch;
+import com.viraj.sample.dto.EmployeeSummary;
 import com.viraj.sample.entity.Employee;
 import com.viraj.sample.service.EmployeeService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/employee/")
 public class EmployeeController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int DEFAULT_SEARCH_LIMIT = 20;
+    static final String RETRY_AFTER_SECONDS = "1";
+    static final String NDJSON_VALUE = "application/x-ndjson";
+    static final Set<String> EMPLOYEE_FIELDS = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList("employeeId", "employeeName", "employeeDescription", "version")));
+    static final Set<String> SUMMARY_FIELDS = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList("employeeId", "employeeName")));
+
     @Autowired
     private EmployeeService employeeService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping(path = "/hello")
     public String getMessage() {
         return "Hello boot";
@@ -30,6 +68,15 @@ public class EmployeeController {
         return ResponseEntity.status(HttpStatus.CREATED).body(savedEmployee);
     }
 
+    @PostMapping("/saveall")
+    public ResponseEntity<List<Employee>> saveAllEmployees(@RequestBody List<Employee> employees) {
+        if (employees == null || employees.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<Employee> savedEmployees = employeeService.saveAll(employees);
+        return ResponseEntity.status(HttpStatus.CREATED).body(savedEmployees);
+    }
+
     @PutMapping("/update")
     public ResponseEntity<Employee> updateEmployee(@RequestBody Employee employee) {
         if (employee == null || employee.getEmployeeId() <= 0) {
@@ -39,19 +86,123 @@ public class EmployeeController {
         return ResponseEntity.ok(updatedEmployee);
     }
 
+    @PatchMapping("/update/{employeeId}")
+    public ResponseEntity<Void> patchEmployee(@PathVariable(name = "employeeId") Long employeeId,
+                                              @RequestBody EmployeePatch patch) {
+        if (employeeId == null || employeeId <= 0 || patch == null || patch.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        boolean updated = employeeService.patchEmployee(employeeId, patch);
+        return updated ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+
     @GetMapping("/getall")
-    public ResponseEntity<List<Employee>> getAllEmployees() {
-        List<Employee> employees = employeeService.getAllEmployees();
-        return ResponseEntity.ok(employees);
+    public ResponseEntity<List<?>> getAllEmployees(@RequestParam(name = "limit", required = false) Integer limit,
+                                                   @RequestParam(name = "after", required = false) Long after,
+                                                   @RequestParam(name = "fields", required = false) String fields,
+                                                   @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        boolean summary = isSummary(fields);
+        // Read the change version before the rows: a write in between only makes the next poll miss.
+        String eTag = collectionETag(employeeService.getChangeVersion(), limit, after, summary);
+        if (matchesETag(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        if (limit == null && after == null) {
+            List<?> employees = summary ? employeeService.getAllEmployeeSummaries() : employeeService.getAllEmployees();
+            return ResponseEntity.ok().eTag(eTag).body(employees);
+        }
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        EmployeePage<?> page = summary
+                ? employeeService.getEmployeeSummaryPage(after, pageSize)
+                : employeeService.getEmployeePage(after, pageSize);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(eTag);
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(page.getNextCursor()));
+        }
+        return response.body(page.getEmployees());
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<EmployeeChanges> getChanges(@RequestParam(name = "since", defaultValue = "0") long since,
+                                                      @RequestParam(name = "limit", defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        EmployeeChanges changes = employeeService.getChanges(since, limit);
+        return ResponseEntity.ok(changes);
+    }
+
+    @GetMapping(path = "/export", produces = NDJSON_VALUE)
+    public void exportEmployees(HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON_VALUE);
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            employeeService.exportEmployees(employee -> {
+                try {
+                    writer.writeValue(generator, employee);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
     }
 
     @GetMapping("/getone/{employeeId}")
-    public ResponseEntity<Employee> getEmployee(@PathVariable(name = "employeeId") Long employeeId) {
+    public ResponseEntity<?> getEmployee(@PathVariable(name = "employeeId") Long employeeId,
+                                         @RequestParam(name = "fields", required = false) String fields,
+                                         @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         if (employeeId == null || employeeId <= 0) {
             return ResponseEntity.badRequest().build();
         }
+        if (isSummary(fields)) {
+            // A summary has no version, so it is read first: a write in between leaves the ETag
+            // older than the body, and the next poll gets the body again.
+            Optional<Long> version = employeeService.getEmployeeVersion(employeeId);
+            if (version.isPresent() && ifNoneMatch != null && matchesETag(ifNoneMatch, employeeETag(employeeId, version.get()))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(employeeETag(employeeId, version.get())).build();
+            }
+            EmployeeSummary summary = employeeService.getEmployeeSummary(employeeId);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            version.ifPresent(v -> response.eTag(employeeETag(employeeId, v)));
+            return response.body(summary);
+        }
+        if (ifNoneMatch != null) {
+            // Only the version is needed to answer an unchanged poll.
+            Optional<Long> version = employeeService.getEmployeeVersion(employeeId);
+            if (version.isPresent() && matchesETag(ifNoneMatch, employeeETag(employeeId, version.get()))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(employeeETag(employeeId, version.get())).build();
+            }
+        }
         Employee employee = employeeService.getEmployee(employeeId);
-        return ResponseEntity.ok(employee);
+        return ResponseEntity.ok().eTag(employeeETag(employeeId, employee.getVersion())).body(employee);
+    }
+
+    @GetMapping("/getbyname")
+    public ResponseEntity<List<Employee>> getEmployeesByName(@RequestParam(name = "prefix") String prefix,
+                                                             @RequestParam(name = "limit", defaultValue = "" + DEFAULT_SEARCH_LIMIT) int limit,
+                                                             @RequestParam(name = "after", required = false) String after) {
+        EmployeeNameCursor cursor = after == null ? null : EmployeeNameCursor.fromToken(after);
+        EmployeeNamePage page = employeeService.getEmployeesByNamePrefix(prefix, cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor().toToken());
+        }
+        return response.body(page.getEmployees());
+    }
+
+    @PostMapping("/getmany")
+    public ResponseEntity<EmployeeLookup> getEmployees(@RequestBody List<Long> employeeIds) {
+        if (employeeIds == null || employeeIds.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        EmployeeLookup lookup = employeeService.getEmployees(employeeIds);
+        return ResponseEntity.ok(lookup);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<Employee>> searchEmployees(@RequestParam(name = "q") String query,
+                                                          @RequestParam(name = "limit", defaultValue = "" + DEFAULT_SEARCH_LIMIT) int limit) {
+        List<Employee> employees = employeeService.searchEmployees(query, limit);
+        return ResponseEntity.ok(employees);
     }
 
     @DeleteMapping("/delete/{employeeId}")
@@ -59,15 +210,91 @@ public class EmployeeController {
         if (employeeId == null || employeeId <= 0) {
             return ResponseEntity.badRequest().build();
         }
-        employeeService.deleteEmployee(employeeId);
+        try {
+            employeeService.deleteEmployee(employeeId);
+        } catch (NoSuchElementException ex) {
+            return ResponseEntity.notFound().build();
+        }
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/deletemany")
+    public ResponseEntity<Map<String, Integer>> deleteEmployees(@RequestBody List<Long> employeeIds) {
+        if (employeeIds == null || employeeIds.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        int deleted = employeeService.deleteEmployees(employeeIds);
+        return ResponseEntity.ok(Collections.singletonMap("deleted", deleted));
+    }
+
+    /**
+     * Tells whether the requested comma separated fields are all in {@link EmployeeSummary}. The
+     * response holds the fields of the narrowest projection that covers the request.
+     */
+    static boolean isSummary(String fields) {
+        if (fields == null || fields.trim().isEmpty()) {
+            return false;
+        }
+        boolean summary = true;
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!EMPLOYEE_FIELDS.contains(name)) {
+                throw new IllegalArgumentException("Unknown field: " + name);
+            }
+            summary &= SUMMARY_FIELDS.contains(name);
+        }
+        return summary;
+    }
+
+    static String employeeETag(long employeeId, long version) {
+        return "\"" + employeeId + "-" + version + "\"";
+    }
+
+    static String collectionETag(long changeVersion, Integer limit, Long after, boolean summary) {
+        return "\"c" + changeVersion + "-" + Integer.toHexString(Objects.hash(limit, after, summary)) + "\"";
+    }
+
+    /**
+     * Weak comparison of an If-None-Match header with an ETag, as RFC 7232 asks for GET requests.
+     */
+    static boolean matchesETag(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException ex) {
         return ResponseEntity.badRequest().body(ex.getMessage());
     }
 
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<String> handleRejectedExecutionException(RejectedExecutionException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(ex.getMessage());
+    }
+
+    @ExceptionHandler(UnsupportedOperationException.class)
+    public ResponseEntity<String> handleUnsupportedOperationException(UnsupportedOperationException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleException(Exception ex) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ex.getMessage());
@@ -0,0 +1,70 @@
+package com.viraj.sample.controller;
+
+import com.viraj.sample.dto.EmployeeImportStatus;
+import com.viraj.sample.entity.EmployeeImportJob;
+import com.viraj.sample.importer.EmployeeImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+
+@RestController
+@RequestMapping("/employee/import/")
+public class EmployeeImportController {
+
+    static final String CSV_VALUE = "text/csv";
+
+    @Autowired
+    private EmployeeImportService employeeImportService;
+
+    /**
+     * Streams the CSV body into import job {@code jobId}. Sending the same file to the same job
+     * again resumes it after a failure; once it completed, that is a no-op.
+     */
+    @PutMapping(path = "/{jobId}", consumes = {CSV_VALUE, MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<EmployeeImportStatus> importEmployees(@PathVariable(name = "jobId") String jobId,
+                                                                HttpServletRequest request) throws IOException {
+        Charset charset = request.getCharacterEncoding() == null
+                ? StandardCharsets.UTF_8
+                : Charset.forName(request.getCharacterEncoding());
+        EmployeeImportStatus status = employeeImportService.importEmployees(jobId,
+                new InputStreamReader(request.getInputStream(), charset));
+        if (EmployeeImportJob.Status.FAILED.name().equals(status.getStatus())) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(status);
+        }
+        return ResponseEntity.ok(status);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<EmployeeImportStatus> getStatus(@PathVariable(name = "jobId") String jobId) {
+        return ResponseEntity.ok(employeeImportService.getStatus(jobId));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<String> handleNoSuchElementException(NoSuchElementException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<String> handleIllegalStateException(IllegalStateException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(UnsupportedOperationException.class)
+    public ResponseEntity<String> handleUnsupportedOperationException(UnsupportedOperationException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).body(ex.getMessage());
+    }
+}
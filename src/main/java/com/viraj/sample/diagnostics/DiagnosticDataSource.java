@@ -0,0 +1,246 @@
+package com.viraj.sample.diagnostics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Times the statements run through the wrapped datasource and reports them to {@link SqlDiagnostics}.
+ * The rows of a query are counted while the caller reads them, and only for executions that are
+ * recorded; others just have their duration measured. Bind parameters are never looked at.
+ * <p>
+ * Connections and statements are JDK proxies. Against an in-memory H2 database they add under a
+ * microsecond to a statement that is not recorded (SqlDiagnosticsBenchmark), so there are no
+ * hand-written wrappers for the whole JDBC API.
+ */
+public class DiagnosticDataSource extends DelegatingDataSource {
+
+    private final SqlDiagnostics diagnostics;
+
+    public DiagnosticDataSource(DataSource targetDataSource, SqlDiagnostics diagnostics) {
+        super(targetDataSource);
+        this.diagnostics = diagnostics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, new ConnectionHandler(connection));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(DiagnosticDataSource.class.getClassLoader(), new Class<?>[]{type},
+                handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Handles what every proxy here must: identity, and unwrapping to the real object.
+     */
+    private abstract static class Handler implements InvocationHandler {
+
+        final Object target;
+
+        Handler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    break;
+                case "isWrapperFor":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return true;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            return handle(proxy, method, args);
+        }
+
+        abstract Object handle(Object proxy, Method method, Object[] args) throws Throwable;
+    }
+
+    private class ConnectionHandler extends Handler {
+
+        ConnectionHandler(Connection connection) {
+            super(connection);
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = DiagnosticDataSource.invoke(target, method, args);
+            switch (method.getName()) {
+                case "prepareStatement":
+                    return proxy(PreparedStatement.class, new StatementHandler(result, (String) args[0]));
+                case "prepareCall":
+                    return proxy(CallableStatement.class, new StatementHandler(result, (String) args[0]));
+                case "createStatement":
+                    return proxy(Statement.class, new StatementHandler(result, null));
+                default:
+                    return result;
+            }
+        }
+    }
+
+    private class StatementHandler extends Handler {
+
+        private final String preparedSql;
+        private ResultHandler pendingResult;
+
+        StatementHandler(Object statement, String preparedSql) {
+            super(statement);
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                if ("close".equals(name)) {
+                    recordPendingResult();
+                }
+                Object result = DiagnosticDataSource.invoke(target, method, args);
+                if ("getResultSet".equals(name) && result != null && pendingResult != null) {
+                    return pendingResult.wrap((ResultSet) result);
+                }
+                return result;
+            }
+            // Statement.execute* take the sql as their first argument, PreparedStatement.execute* none.
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+            recordPendingResult();
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = DiagnosticDataSource.invoke(target, method, args);
+            } catch (Throwable e) {
+                long elapsed = System.nanoTime() - start;
+                if (diagnostics.shouldRecord(elapsed)) {
+                    diagnostics.record(sql, elapsed, -1);
+                }
+                throw e;
+            }
+            long elapsed = System.nanoTime() - start;
+            if (!diagnostics.shouldRecord(elapsed)) {
+                return result;
+            }
+            if (result instanceof ResultSet) {
+                pendingResult = new ResultHandler(sql, elapsed);
+                return pendingResult.wrap((ResultSet) result);
+            }
+            if (result instanceof Boolean) {
+                // execute(): a result set is fetched separately, an update count is known already.
+                if ((Boolean) result) {
+                    pendingResult = new ResultHandler(sql, elapsed);
+                } else {
+                    diagnostics.record(sql, elapsed, ((Statement) target).getUpdateCount());
+                }
+                return result;
+            }
+            diagnostics.record(sql, elapsed, rows(result));
+            return result;
+        }
+
+        private void recordPendingResult() {
+            if (pendingResult != null) {
+                pendingResult.record();
+                pendingResult = null;
+            }
+        }
+    }
+
+    private static long rows(Object result) {
+        if (result instanceof Number) {
+            return ((Number) result).longValue();
+        }
+        long rows = 0;
+        if (result instanceof int[]) {
+            for (int count : (int[]) result) {
+                rows += Math.max(count, 0);
+            }
+        } else if (result instanceof long[]) {
+            for (long count : (long[]) result) {
+                rows += Math.max(count, 0);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Counts the rows read from a recorded query and records it once the result set or its
+     * statement is closed.
+     */
+    private class ResultHandler extends Handler {
+
+        private final String sql;
+        private final long elapsed;
+        private ResultSet resultSet;
+        private long rows;
+        private boolean recorded;
+
+        ResultHandler(String sql, long elapsed) {
+            super(null);
+            this.sql = sql;
+            this.elapsed = elapsed;
+        }
+
+        ResultSet wrap(ResultSet resultSet) {
+            this.resultSet = resultSet;
+            return proxy(ResultSet.class, this);
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("close".equals(method.getName())) {
+                record();
+            }
+            Object result = DiagnosticDataSource.invoke(resultSet, method, args);
+            if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                rows++;
+            }
+            return result;
+        }
+
+        void record() {
+            if (!recorded) {
+                recorded = true;
+                diagnostics.record(sql, elapsed, rows);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.viraj.sample.diagnostics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the last {@code capacity} values added. Writers claim a sequence number and store into
+ * its slot without locking; once the buffer is full the oldest values are overwritten. Each slot
+ * remembers its sequence number, so readers can tell an overwritten slot from the one they want.
+ */
+class RingBuffer<T> {
+
+    private final AtomicReferenceArray<Slot<T>> slots;
+    private final int mask;
+    private final AtomicLong next = new AtomicLong();
+
+    RingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    void add(T value) {
+        long sequence = next.getAndIncrement();
+        slots.set((int) (sequence & mask), new Slot<>(sequence, value));
+    }
+
+    /**
+     * Hands the values from sequence {@code from} on to {@code consumer}, oldest first, and
+     * returns the sequence to continue from. Values overwritten before they were read are
+     * skipped and counted by {@code dropped}; a slot claimed but not yet written ends the drain.
+     */
+    long drain(long from, Consumer<T> consumer, Consumer<Long> dropped) {
+        long end = next.get();
+        long sequence = Math.max(from, end - capacity());
+        if (sequence > from) {
+            dropped.accept(sequence - from);
+        }
+        for (; sequence < end; sequence++) {
+            Slot<T> slot = slots.get((int) (sequence & mask));
+            if (slot == null || slot.sequence < sequence) {
+                break;
+            }
+            if (slot.sequence > sequence) {
+                dropped.accept(1L);
+            } else {
+                consumer.accept(slot.value);
+            }
+        }
+        return sequence;
+    }
+
+    /**
+     * The values still held, newest first.
+     */
+    List<T> latest() {
+        long end = next.get();
+        List<T> values = new ArrayList<>();
+        for (long sequence = end - 1; sequence >= Math.max(0, end - capacity()); sequence--) {
+            Slot<T> slot = slots.get((int) (sequence & mask));
+            if (slot != null && slot.sequence == sequence) {
+                values.add(slot.value);
+            }
+        }
+        return values;
+    }
+
+    private static final class Slot<T> {
+
+        private final long sequence;
+        private final T value;
+
+        Slot(long sequence, T value) {
+            this.sequence = sequence;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.viraj.sample.diagnostics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * The latest slow statements, newest first, at /actuator/slowsql.
+ */
+@Component
+@Endpoint(id = "slowsql")
+@ConditionalOnProperty(prefix = "employee.sql-diagnostics", name = "enabled", havingValue = "true")
+public class SlowSqlEndpoint {
+
+    private final SqlDiagnostics diagnostics;
+
+    public SlowSqlEndpoint(SqlDiagnostics diagnostics) {
+        this.diagnostics = diagnostics;
+    }
+
+    @ReadOperation
+    public List<SqlStatement> slowStatements() {
+        return diagnostics.getSlowStatements();
+    }
+}
@@ -0,0 +1,161 @@
+package com.viraj.sample.diagnostics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records SQL executions for diagnosis without logging on the request thread. Every execution is
+ * timed; those slower than slow-threshold, and a sample-rate share of the others, go into a ring
+ * buffer that a background thread drains to the log. The slow ones are also kept for the
+ * slowsql actuator endpoint. If the log falls behind, the oldest records are dropped rather than
+ * holding up queries.
+ */
+@Component
+@ConditionalOnProperty(prefix = "employee.sql-diagnostics", name = "enabled", havingValue = "true")
+public class SqlDiagnostics implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlDiagnostics.class);
+    private static final ThreadLocal<String> REQUEST = new ThreadLocal<>();
+
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+    private final RingBuffer<SqlStatement> recorded;
+    private final RingBuffer<SqlStatement> slowStatements;
+    private final ScheduledExecutorService drainer;
+    private long drained;
+
+    private Timer statementTimer;
+    private Counter sampledCounter;
+    private Counter slowCounter;
+    private Counter droppedCounter;
+
+    @Autowired
+    public SqlDiagnostics(SqlDiagnosticsProperties properties) {
+        this(properties, true);
+    }
+
+    SqlDiagnostics(SqlDiagnosticsProperties properties, boolean drainInBackground) {
+        if (properties.getSampleRate() < 0 || properties.getSampleRate() > 1) {
+            throw new IllegalStateException("employee.sql-diagnostics.sample-rate must be between 0 and 1");
+        }
+        this.slowThresholdNanos = properties.getSlowThreshold().toNanos();
+        this.sampleRate = properties.getSampleRate();
+        this.recorded = new RingBuffer<>(properties.getBufferSize());
+        this.slowStatements = new RingBuffer<>(properties.getSlowStatements());
+        if (drainInBackground) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("employee-sql-log-");
+            threadFactory.setDaemon(true);
+            this.drainer = Executors.newSingleThreadScheduledExecutor(threadFactory);
+            long interval = properties.getDrainInterval().toMillis();
+            this.drainer.scheduleWithFixedDelay(this::drain, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            this.drainer = null;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (drainer != null) {
+            drainer.shutdown();
+        }
+        drain();
+    }
+
+    /**
+     * Names the request running on this thread, so its statements can be traced back to it.
+     */
+    public static void setRequest(String request) {
+        REQUEST.set(request);
+    }
+
+    public static void clearRequest() {
+        REQUEST.remove();
+    }
+
+    /**
+     * Called after every execution with its duration. Tells whether it is to be recorded, in which
+     * case {@link #record} follows once the number of rows is known.
+     */
+    boolean shouldRecord(long durationNanos) {
+        if (statementTimer != null) {
+            statementTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+        }
+        return durationNanos >= slowThresholdNanos
+                || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    void record(String sql, long durationNanos, long rows) {
+        boolean slow = durationNanos >= slowThresholdNanos;
+        SqlStatement statement = new SqlStatement(System.currentTimeMillis(), sql, durationNanos, rows, slow,
+                REQUEST.get());
+        recorded.add(statement);
+        if (slow) {
+            slowStatements.add(statement);
+        }
+        Counter counter = slow ? slowCounter : sampledCounter;
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    /**
+     * The slow statements still held, newest first.
+     */
+    public List<SqlStatement> getSlowStatements() {
+        return slowStatements.latest();
+    }
+
+    synchronized void drain() {
+        drained = recorded.drain(drained, SqlDiagnostics::write, dropped -> {
+            if (droppedCounter != null) {
+                droppedCounter.increment(dropped);
+            }
+        });
+    }
+
+    private static void write(SqlStatement statement) {
+        if (statement.isSlow() ? log.isWarnEnabled() : log.isInfoEnabled()) {
+            String message = String.format("%s SQL %.1f ms, %d rows%s: %s", statement.isSlow() ? "Slow" : "Sampled",
+                    statement.getDurationMillis(), statement.getRows(),
+                    statement.getRequest() == null ? "" : " [" + statement.getRequest() + "]", statement.getSql());
+            if (statement.isSlow()) {
+                log.warn(message);
+            } else {
+                log.info(message);
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        statementTimer = Timer.builder("employee.sql.duration")
+                .description("Execution time of SQL statements")
+                .register(registry);
+        sampledCounter = Counter.builder("employee.sql.recorded")
+                .description("SQL executions recorded for the log")
+                .tag("reason", "sampled")
+                .register(registry);
+        slowCounter = Counter.builder("employee.sql.recorded")
+                .description("SQL executions recorded for the log")
+                .tag("reason", "slow")
+                .register(registry);
+        droppedCounter = Counter.builder("employee.sql.dropped")
+                .description("Recorded SQL executions overwritten before they were logged")
+                .register(registry);
+    }
+}
@@ -0,0 +1,31 @@
+package com.viraj.sample.diagnostics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts every DataSource bean behind a {@link DiagnosticDataSource}. The shard pools are not beans,
+ * so sharded storage is not covered.
+ */
+@Component
+@ConditionalOnProperty(prefix = "employee.sql-diagnostics", name = "enabled", havingValue = "true")
+public class SqlDiagnosticsDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SqlDiagnostics> diagnostics;
+
+    public SqlDiagnosticsDataSourcePostProcessor(ObjectProvider<SqlDiagnostics> diagnostics) {
+        this.diagnostics = diagnostics;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource && !(bean instanceof DiagnosticDataSource)) {
+            return new DiagnosticDataSource((DataSource) bean, diagnostics.getObject());
+        }
+        return bean;
+    }
+}
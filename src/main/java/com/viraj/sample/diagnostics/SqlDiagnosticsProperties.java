@@ -0,0 +1,66 @@
+package com.viraj.sample.diagnostics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "employee.sql-diagnostics")
+public class SqlDiagnosticsProperties {
+
+    private boolean enabled = false;
+    private Duration slowThreshold = Duration.ofMillis(200);
+    private double sampleRate = 0.01;
+    private int bufferSize = 4096;
+    private int slowStatements = 100;
+    private Duration drainInterval = Duration.ofSeconds(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getSlowThreshold() {
+        return slowThreshold;
+    }
+
+    public void setSlowThreshold(Duration slowThreshold) {
+        this.slowThreshold = slowThreshold;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public int getSlowStatements() {
+        return slowStatements;
+    }
+
+    public void setSlowStatements(int slowStatements) {
+        this.slowStatements = slowStatements;
+    }
+
+    public Duration getDrainInterval() {
+        return drainInterval;
+    }
+
+    public void setDrainInterval(Duration drainInterval) {
+        this.drainInterval = drainInterval;
+    }
+}
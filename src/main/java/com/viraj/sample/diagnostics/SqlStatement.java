@@ -0,0 +1,77 @@
+package com.viraj.sample.diagnostics;
+
+import java.time.Instant;
+import java.util.regex.Pattern;
+
+/**
+ * One recorded execution of a SQL statement. Bind parameters are never kept; {@link #getSql()}
+ * gives the statement's shape, with literals and IN lists folded, so executions of the same
+ * statement look the same.
+ */
+public class SqlStatement {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final long timestamp;
+    private final String sql;
+    private final long durationNanos;
+    private final long rows;
+    private final boolean slow;
+    private final String request;
+
+    SqlStatement(long timestamp, String sql, long durationNanos, long rows, boolean slow, String request) {
+        this.timestamp = timestamp;
+        this.sql = sql;
+        this.durationNanos = durationNanos;
+        this.rows = rows;
+        this.slow = slow;
+        this.request = request;
+    }
+
+    public Instant getTimestamp() {
+        return Instant.ofEpochMilli(timestamp);
+    }
+
+    public String getSql() {
+        return shape(sql);
+    }
+
+    public double getDurationMillis() {
+        return durationNanos / 1e6;
+    }
+
+    /**
+     * Rows read or changed, or -1 when unknown (the statement failed, or returned neither).
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    public boolean isSlow() {
+        return slow;
+    }
+
+    /**
+     * The request whose thread ran the statement, like {@code GET /employee/getone/{employeeId}}.
+     */
+    public String getRequest() {
+        return request;
+    }
+
+    /**
+     * Folds string and number literals to ?, IN lists to (...) and runs of whitespace to one
+     * space. Only done when a statement is logged or shown, never while it runs.
+     */
+    static String shape(String sql) {
+        if (sql == null) {
+            return null;
+        }
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
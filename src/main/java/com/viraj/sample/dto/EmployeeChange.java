@@ -0,0 +1,49 @@
+package com.viraj.sample.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.viraj.sample.entity.Employee;
+import com.viraj.sample.entity.EmployeeTombstone;
+
+/**
+ * Latest state of one employee in the changes feed: the employee itself, or only its id when it
+ * was deleted.
+ */
+public class EmployeeChange {
+
+    private final long changeSeq;
+    private final long employeeId;
+    private final boolean deleted;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final Employee employee;
+
+    public EmployeeChange(long changeSeq, long employeeId, boolean deleted, Employee employee) {
+        this.changeSeq = changeSeq;
+        this.employeeId = employeeId;
+        this.deleted = deleted;
+        this.employee = employee;
+    }
+
+    public static EmployeeChange of(Employee employee) {
+        return new EmployeeChange(employee.getChangeSeq(), employee.getEmployeeId(), false, employee);
+    }
+
+    public static EmployeeChange of(EmployeeTombstone tombstone) {
+        return new EmployeeChange(tombstone.getChangeSeq(), tombstone.getEmployeeId(), true, null);
+    }
+
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public long getEmployeeId() {
+        return employeeId;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public Employee getEmployee() {
+        return employee;
+    }
+}
@@ -0,0 +1,31 @@
+package com.viraj.sample.dto;
+
+import java.util.List;
+
+public class EmployeeChanges {
+
+    private final List<EmployeeChange> changes;
+    private final long lastChangeSeq;
+    private final boolean hasMore;
+
+    public EmployeeChanges(List<EmployeeChange> changes, long lastChangeSeq, boolean hasMore) {
+        this.changes = changes;
+        this.lastChangeSeq = lastChangeSeq;
+        this.hasMore = hasMore;
+    }
+
+    public List<EmployeeChange> getChanges() {
+        return changes;
+    }
+
+    /**
+     * Value to pass as {@code since} on the next call.
+     */
+    public long getLastChangeSeq() {
+        return lastChangeSeq;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
@@ -0,0 +1,91 @@
+package com.viraj.sample.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public class EmployeeImportStatus {
+
+    private final String jobId;
+    private final String status;
+    private final long rowsRead;
+    private final long rowsImported;
+    private final long rowsRejected;
+    private final long chunksCommitted;
+    private final double rowsPerSecond;
+    private final Instant startedAt;
+    private final Instant finishedAt;
+    private final String error;
+    private final List<String> rejectedRows;
+
+    public EmployeeImportStatus(String jobId, String status, long rowsRead, long rowsImported, long rowsRejected,
+                                long chunksCommitted, double rowsPerSecond, Instant startedAt, Instant finishedAt,
+                                String error, List<String> rejectedRows) {
+        this.jobId = jobId;
+        this.status = status;
+        this.rowsRead = rowsRead;
+        this.rowsImported = rowsImported;
+        this.rowsRejected = rowsRejected;
+        this.chunksCommitted = chunksCommitted;
+        this.rowsPerSecond = rowsPerSecond;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.error = error;
+        this.rejectedRows = rejectedRows;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * Data rows read from the file by the latest run, header excluded.
+     */
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    /**
+     * Employees saved by all runs of the job.
+     */
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public long getChunksCommitted() {
+        return chunksCommitted;
+    }
+
+    /**
+     * Employees saved per second by the latest run.
+     */
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Why rows were rejected, for the first few of them, with their line numbers.
+     */
+    public List<String> getRejectedRows() {
+        return rejectedRows;
+    }
+}
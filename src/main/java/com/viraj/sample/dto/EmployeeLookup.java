@@ -0,0 +1,25 @@
+package com.viraj.sample.dto;
+
+import com.viraj.sample.entity.Employee;
+
+import java.util.List;
+import java.util.Map;
+
+public class EmployeeLookup {
+
+    private final Map<Long, Employee> employees;
+    private final List<Long> missingIds;
+
+    public EmployeeLookup(Map<Long, Employee> employees, List<Long> missingIds) {
+        this.employees = employees;
+        this.missingIds = missingIds;
+    }
+
+    public Map<Long, Employee> getEmployees() {
+        return employees;
+    }
+
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+}
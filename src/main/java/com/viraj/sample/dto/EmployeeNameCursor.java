@@ -0,0 +1,49 @@
+package com.viraj.sample.dto;
+
+import com.viraj.sample.entity.Employee;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position after the last employee of a page ordered by (name, id). Clients get it as an opaque
+ * token and send it back to read the next page.
+ */
+public class EmployeeNameCursor {
+
+    private final String employeeName;
+    private final long employeeId;
+
+    public EmployeeNameCursor(String employeeName, long employeeId) {
+        this.employeeName = employeeName;
+        this.employeeId = employeeId;
+    }
+
+    public static EmployeeNameCursor of(Employee employee) {
+        return new EmployeeNameCursor(employee.getEmployeeName(), employee.getEmployeeId());
+    }
+
+    public static EmployeeNameCursor fromToken(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(':');
+            long employeeId = Long.parseLong(value.substring(0, separator));
+            return new EmployeeNameCursor(value.substring(separator + 1), employeeId);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+
+    public String toToken() {
+        String value = employeeId + ":" + employeeName;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getEmployeeName() {
+        return employeeName;
+    }
+
+    public long getEmployeeId() {
+        return employeeId;
+    }
+}
@@ -0,0 +1,28 @@
+package com.viraj.sample.dto;
+
+import com.viraj.sample.entity.Employee;
+
+import java.util.List;
+
+public class EmployeeNamePage {
+
+    private final List<Employee> employees;
+    private final EmployeeNameCursor nextCursor;
+
+    public EmployeeNamePage(List<Employee> employees, EmployeeNameCursor nextCursor) {
+        this.employees = employees;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    public EmployeeNameCursor getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,26 @@
+package com.viraj.sample.dto;
+
+import java.util.List;
+
+public class EmployeePage<T> {
+
+    private final List<T> employees;
+    private final Long nextCursor;
+
+    public EmployeePage(List<T> employees, Long nextCursor) {
+        this.employees = employees;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getEmployees() {
+        return employees;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
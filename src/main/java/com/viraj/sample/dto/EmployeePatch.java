@@ -0,0 +1,52 @@
+package com.viraj.sample.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Fields to change on an employee. Fields left null keep their current value. When a version is
+ * given the change only applies if the employee still has that version.
+ */
+public class EmployeePatch {
+
+    private String employeeName;
+    private String employeeDescription;
+    private Long version;
+
+    public EmployeePatch() {
+    }
+
+    public EmployeePatch(String employeeName, String employeeDescription, Long version) {
+        this.employeeName = employeeName;
+        this.employeeDescription = employeeDescription;
+        this.version = version;
+    }
+
+    public String getEmployeeName() {
+        return employeeName;
+    }
+
+    public void setEmployeeName(String employeeName) {
+        this.employeeName = employeeName;
+    }
+
+    public String getEmployeeDescription() {
+        return employeeDescription;
+    }
+
+    public void setEmployeeDescription(String employeeDescription) {
+        this.employeeDescription = employeeDescription;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return employeeName == null && employeeDescription == null;
+    }
+}
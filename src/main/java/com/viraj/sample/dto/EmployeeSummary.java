@@ -0,0 +1,30 @@
+package com.viraj.sample.dto;
+
+import com.viraj.sample.entity.Employee;
+
+/**
+ * Id and name of an employee, loaded with a constructor expression so list views do not read
+ * EMPLOYEE_DESCRIPTION or build managed entities.
+ */
+public class EmployeeSummary {
+
+    private final long employeeId;
+    private final String employeeName;
+
+    public EmployeeSummary(long employeeId, String employeeName) {
+        this.employeeId = employeeId;
+        this.employeeName = employeeName;
+    }
+
+    public static EmployeeSummary of(Employee employee) {
+        return new EmployeeSummary(employee.getEmployeeId(), employee.getEmployeeName());
+    }
+
+    public long getEmployeeId() {
+        return employeeId;
+    }
+
+    public String getEmployeeName() {
+        return employeeName;
+    }
+}
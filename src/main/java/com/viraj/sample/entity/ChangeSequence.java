@@ -0,0 +1,34 @@
+package com.viraj.sample.entity;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+@Entity
+@Table(name = "CHANGE_SEQUENCE")
+public class ChangeSequence {
+
+    @Id
+    @Column(name = "SEQUENCE_NAME")
+    private String sequenceName;
+
+    @Column(name = "NEXT_VALUE", nullable = false)
+    private long nextValue;
+
+    public ChangeSequence() {
+    }
+
+    public ChangeSequence(String sequenceName, long nextValue) {
+        this.sequenceName = sequenceName;
+        this.nextValue = nextValue;
+    }
+
+    public String getSequenceName() {
+        return sequenceName;
+    }
+
+    public long getNextValue() {
+        return nextValue;
+    }
+}
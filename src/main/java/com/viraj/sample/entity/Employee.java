@@ -1,17 +1,27 @@
 package com.viraj.sample.entity;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import javax.persistence.*;
+import java.time.Instant;
 
 @Data
 @Entity
-@Table(name = "EMPLOYEE")
+@Table(name = "EMPLOYEE", indexes = {
+        @Index(name = "IDX_EMPLOYEE_NAME_ID", columnList = "EMPLOYEE_NAME, EMPLOYEE_ID"),
+        @Index(name = "IDX_EMPLOYEE_CHANGE_SEQ", columnList = "CHANGE_SEQ")})
 public class Employee {
 
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
     @Column(name = "EMPLOYEE_ID")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "EMPLOYEE_ID_GENERATOR")
+    @TableGenerator(name = "EMPLOYEE_ID_GENERATOR", table = "ID_GENERATOR", pkColumnName = "GENERATOR_NAME",
+            valueColumnName = "NEXT_VALUE", pkColumnValue = "EMPLOYEE_ID", allocationSize = ID_ALLOCATION_SIZE)
     private long employeeId;
 
     @Column(name = "EMPLOYEE_NAME")
@@ -20,6 +30,25 @@ public class Employee {
     @Column(name = "EMPLOYEE_DESCRIPTION")
     private String employeeDescription;
 
+    @Version
+    @Column(name = "EMPLOYEE_VERSION", columnDefinition = "bigint default 0 not null")
+    private long version;
+
+    @CreationTimestamp
+    @Column(name = "CREATED_AT", updatable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "UPDATED_AT")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant updatedAt;
+
+    // Assigned by EmployeeChangeRepository on every write. Rows written before it existed get one on startup.
+    @Column(name = "CHANGE_SEQ", columnDefinition = "bigint default 0 not null")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private long changeSeq;
+
     public Employee() {
     }
 
@@ -52,12 +81,48 @@ public class Employee {
         this.employeeDescription = employeeDescription;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
     @Override
     public String toString() {
         return "Employee{" +
                 "employeeId=" + employeeId +
                 ", employeeName='" + employeeName + '\'' +
                 ", employeeDescription='" + employeeDescription + '\'' +
+                ", version=" + version +
+                ", createdAt=" + createdAt +
+                ", updatedAt=" + updatedAt +
+                ", changeSeq=" + changeSeq +
                 '}';
     }
 }
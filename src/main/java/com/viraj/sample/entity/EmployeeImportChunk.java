@@ -0,0 +1,82 @@
+package com.viraj.sample.entity;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Written in the same transaction as the employees of one import chunk, so a resumed import knows
+ * exactly which chunks are already in.
+ */
+@Entity
+@Table(name = "EMPLOYEE_IMPORT_CHUNK")
+@IdClass(EmployeeImportChunk.Key.class)
+public class EmployeeImportChunk {
+
+    @Id
+    @Column(name = "JOB_ID", length = 64)
+    private String jobId;
+
+    @Id
+    @Column(name = "CHUNK_NO")
+    private int chunkNo;
+
+    @Column(name = "ROW_COUNT", nullable = false)
+    private int rowCount;
+
+    public EmployeeImportChunk() {
+    }
+
+    public EmployeeImportChunk(String jobId, int chunkNo, int rowCount) {
+        this.jobId = jobId;
+        this.chunkNo = chunkNo;
+        this.rowCount = rowCount;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public int getChunkNo() {
+        return chunkNo;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public static class Key implements Serializable {
+
+        private String jobId;
+        private int chunkNo;
+
+        public Key() {
+        }
+
+        public Key(String jobId, int chunkNo) {
+            this.jobId = jobId;
+            this.chunkNo = chunkNo;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return chunkNo == key.chunkNo && Objects.equals(jobId, key.jobId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(jobId, chunkNo);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.viraj.sample.entity;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+import java.time.Instant;
+
+@Entity
+@Table(name = "EMPLOYEE_IMPORT_JOB")
+public class EmployeeImportJob {
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    @Id
+    @Column(name = "JOB_ID", length = 64)
+    private String jobId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "STATUS", length = 16, nullable = false)
+    private Status status;
+
+    // Fixed when the job is created: chunk numbers only mean the same rows with the same size.
+    @Column(name = "CHUNK_SIZE", nullable = false)
+    private int chunkSize;
+
+    @Column(name = "ROWS_READ", nullable = false)
+    private long rowsRead;
+
+    @Column(name = "ROWS_REJECTED", nullable = false)
+    private long rowsRejected;
+
+    @Column(name = "ROWS_PER_SECOND", nullable = false)
+    private double rowsPerSecond;
+
+    @Column(name = "STARTED_AT")
+    private Instant startedAt;
+
+    @Column(name = "FINISHED_AT")
+    private Instant finishedAt;
+
+    @Column(name = "ERROR", length = 1000)
+    private String error;
+
+    @Lob
+    @Column(name = "REJECTED_ROWS")
+    private String rejectedRows;
+
+    public EmployeeImportJob() {
+    }
+
+    public EmployeeImportJob(String jobId, int chunkSize) {
+        this.jobId = jobId;
+        this.chunkSize = chunkSize;
+        this.status = Status.RUNNING;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public void setRowsRejected(long rowsRejected) {
+        this.rowsRejected = rowsRejected;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    /**
+     * The reported row errors of the latest run, one per line.
+     */
+    public String getRejectedRows() {
+        return rejectedRows;
+    }
+
+    public void setRejectedRows(String rejectedRows) {
+        this.rejectedRows = rejectedRows;
+    }
+}
@@ -0,0 +1,44 @@
+package com.viraj.sample.entity;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.time.Instant;
+
+@Entity
+@Table(name = "EMPLOYEE_TOMBSTONE", indexes = @Index(name = "IDX_EMPLOYEE_TOMBSTONE_CHANGE_SEQ", columnList = "CHANGE_SEQ"))
+public class EmployeeTombstone {
+
+    @Id
+    @Column(name = "EMPLOYEE_ID")
+    private long employeeId;
+
+    @Column(name = "CHANGE_SEQ", nullable = false)
+    private long changeSeq;
+
+    @Column(name = "DELETED_AT", nullable = false)
+    private Instant deletedAt;
+
+    public EmployeeTombstone() {
+    }
+
+    public EmployeeTombstone(long employeeId, long changeSeq, Instant deletedAt) {
+        this.employeeId = employeeId;
+        this.changeSeq = changeSeq;
+        this.deletedAt = deletedAt;
+    }
+
+    public long getEmployeeId() {
+        return employeeId;
+    }
+
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+}
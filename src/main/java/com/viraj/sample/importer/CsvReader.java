@@ -0,0 +1,105 @@
+package com.viraj.sample.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV one record at a time: comma separated, fields optionally in double quotes,
+ * quotes inside them doubled, and line breaks (LF or CRLF) allowed inside quoted fields.
+ * A record may hold at most {@code maxRecordLength} characters, so a missing closing quote
+ * cannot pull the rest of the file into memory.
+ */
+class CsvReader {
+
+    private static final int END = -1;
+
+    private final BufferedReader reader;
+    private final int maxRecordLength;
+    private final StringBuilder field = new StringBuilder();
+    private long lineNumber = 1;
+    private long recordLineNumber;
+    private int recordLength;
+
+    CsvReader(Reader reader, int maxRecordLength) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * Line the last record started on, counting from 1.
+     */
+    long getRecordLineNumber() {
+        return recordLineNumber;
+    }
+
+    /**
+     * Returns the next record, or null at the end of the input.
+     *
+     * @throws IllegalArgumentException if the record is too long or a quoted field is not closed
+     */
+    List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == END) {
+            return null;
+        }
+        recordLineNumber = lineNumber;
+        recordLength = 0;
+        List<String> fields = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean afterQuote = false;
+        while (true) {
+            if (quoted) {
+                if (c == END) {
+                    throw new IllegalArgumentException("Line " + recordLineNumber + ": quoted field is not closed");
+                }
+                if (c == '"') {
+                    quoted = false;
+                    afterQuote = true;
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    append(c);
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                afterQuote = false;
+            } else if (c == '\n' || c == END) {
+                if (c == '\n') {
+                    lineNumber++;
+                }
+                int length = field.length();
+                if (length > 0 && field.charAt(length - 1) == '\r' && !afterQuote) {
+                    field.setLength(length - 1);
+                }
+                fields.add(field.toString());
+                return fields;
+            } else if (c == '"' && (field.length() == 0 || afterQuote)) {
+                // Opens a quoted field, or right after one closed, is an escaped quote.
+                if (afterQuote) {
+                    append(c);
+                }
+                quoted = true;
+                afterQuote = false;
+            } else if (c == '\r' && afterQuote) {
+                // The CR of a CRLF after a closing quote.
+            } else {
+                append(c);
+            }
+            c = reader.read();
+        }
+    }
+
+    private void append(int c) {
+        if (++recordLength > maxRecordLength) {
+            throw new IllegalArgumentException("Line " + recordLineNumber + ": record is longer than "
+                    + maxRecordLength + " characters");
+        }
+        field.append((char) c);
+    }
+}
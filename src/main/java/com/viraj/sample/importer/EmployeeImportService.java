@@ -0,0 +1,401 @@
+package com.viraj.sample.importer;
+
+import com.viraj.sample.cache.EmployeeCache;
+import com.viraj.sample.dto.EmployeeImportStatus;
+import com.viraj.sample.entity.Employee;
+import com.viraj.sample.entity.EmployeeImportJob;
+import com.viraj.sample.repository.EmployeeImportChunkRepository;
+import com.viraj.sample.repository.EmployeeImportJobRepository;
+import com.viraj.sample.search.EmployeeSearchIndex;
+import com.viraj.sample.shard.ShardingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Loads employees from CSV. The calling thread parses the stream and cuts the valid rows into
+ * chunks; a pool of workers saves the chunks in parallel, each in its own transaction. At most
+ * two chunks per worker wait to be saved, after that the parser blocks, so heap use depends on
+ * the chunk size and not on the size of the file.
+ * <p>
+ * A job is resumed by sending the same file under the same job id: the rows are cut into the
+ * same chunks again and the chunks that were committed before are skipped.
+ */
+@Service
+public class EmployeeImportService implements MeterBinder {
+
+    static final String EMPLOYEE_NAME = "employeeName";
+    static final String EMPLOYEE_DESCRIPTION = "employeeDescription";
+    static final int MAX_VALUE_LENGTH = 255;
+    static final int MAX_ERROR_LENGTH = 1000;
+    static final String INTERRUPTED = "INTERRUPTED";
+
+    private static final Pattern JOB_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+    private final EmployeeImportProperties properties;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ImportRun> runs = new ConcurrentHashMap<>();
+
+    @Autowired
+    EmployeeImportJobRepository employeeImportJobRepository;
+
+    @Autowired
+    EmployeeImportChunkRepository employeeImportChunkRepository;
+
+    @Autowired
+    EmployeeImportWriter employeeImportWriter;
+
+    @Autowired
+    EmployeeCache employeeCache;
+
+    @Autowired
+    EmployeeSearchIndex employeeSearchIndex;
+
+    @Autowired
+    ShardingProperties shardingProperties;
+
+    private Counter importedRows;
+    private Counter rejectedRows;
+    private Timer chunkTimer;
+
+    @Autowired
+    public EmployeeImportService(EmployeeImportProperties properties) {
+        if (properties.getChunkSize() <= 0 || properties.getWorkers() <= 0) {
+            throw new IllegalStateException("employee.import.chunk-size and workers must be positive");
+        }
+        this.properties = properties;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("employee-import-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(properties.getWorkers(), properties.getWorkers(), 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Runs the import job {@code jobId} over the CSV and returns once every chunk is committed or
+     * the job failed. The header names the columns, employeeName and optionally
+     * employeeDescription; rows with the wrong number of fields or overlong values are rejected
+     * and reported, the others are saved.
+     */
+    public EmployeeImportStatus importEmployees(String jobId, Reader csv) {
+        if (jobId == null || !JOB_ID.matcher(jobId).matches()) {
+            throw new IllegalArgumentException("Job ID must be 1 to 64 letters, digits, '-' or '_'");
+        }
+        if (csv == null) {
+            throw new IllegalArgumentException("CSV cannot be null");
+        }
+        if (shardingProperties.isEnabled()) {
+            throw new UnsupportedOperationException("CSV import is not available with sharding");
+        }
+        CsvReader reader = new CsvReader(csv, properties.getMaxRecordLength());
+        Columns columns = readHeader(reader);
+        ImportRun run = new ImportRun(jobId, 2 * properties.getWorkers());
+        if (runs.putIfAbsent(jobId, run) != null) {
+            throw new IllegalStateException("Import " + jobId + " is already running");
+        }
+        try {
+            EmployeeImportJob job = employeeImportJobRepository.findById(jobId)
+                    .orElseGet(() -> new EmployeeImportJob(jobId, properties.getChunkSize()));
+            if (job.getStatus() == EmployeeImportJob.Status.COMPLETED) {
+                return toStatus(job);
+            }
+            Set<Integer> committedChunks = new HashSet<>(employeeImportChunkRepository.findChunkNosByJobId(jobId));
+            run.start(job, committedChunks.size(), employeeImportChunkRepository.sumRowCountByJobId(jobId));
+            job.setStatus(EmployeeImportJob.Status.RUNNING);
+            job.setStartedAt(Instant.now());
+            job.setFinishedAt(null);
+            job.setError(null);
+            employeeImportJobRepository.save(job);
+
+            try {
+                load(run, reader, columns, committedChunks);
+            } catch (IOException | RuntimeException e) {
+                run.fail(e);
+            }
+            run.awaitChunks();
+            finish(job, run);
+            employeeImportJobRepository.save(job);
+            return toStatus(job, run);
+        } finally {
+            runs.remove(jobId, run);
+        }
+    }
+
+    /**
+     * Live progress while the job runs here, otherwise what was recorded when it last finished.
+     * A job recorded as running that no longer runs (the application stopped) is INTERRUPTED.
+     */
+    public EmployeeImportStatus getStatus(String jobId) {
+        ImportRun run = runs.get(jobId);
+        if (run != null && run.job != null) {
+            return toStatus(run.job, run);
+        }
+        EmployeeImportJob job = employeeImportJobRepository.findById(jobId)
+                .orElseThrow(() -> new NoSuchElementException("No import job " + jobId));
+        return toStatus(job);
+    }
+
+    private static Columns readHeader(CsvReader reader) {
+        List<String> header;
+        try {
+            header = reader.readRecord();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read the CSV header: " + e.getMessage(), e);
+        }
+        if (header == null) {
+            throw new IllegalArgumentException("CSV is empty");
+        }
+        int nameIndex = -1;
+        int descriptionIndex = -1;
+        for (int i = 0; i < header.size(); i++) {
+            String column = header.get(i).trim();
+            if (i == 0 && column.startsWith(BYTE_ORDER_MARK)) {
+                column = column.substring(1);
+            }
+            if (column.equals(EMPLOYEE_NAME) && nameIndex < 0) {
+                nameIndex = i;
+            } else if (column.equals(EMPLOYEE_DESCRIPTION) && descriptionIndex < 0) {
+                descriptionIndex = i;
+            } else {
+                throw new IllegalArgumentException("Unknown or repeated column: " + column);
+            }
+        }
+        if (nameIndex < 0) {
+            throw new IllegalArgumentException("Column " + EMPLOYEE_NAME + " is required");
+        }
+        return new Columns(header.size(), nameIndex, descriptionIndex);
+    }
+
+    private void load(ImportRun run, CsvReader reader, Columns columns, Set<Integer> committedChunks)
+            throws IOException {
+        int chunkSize = run.job.getChunkSize();
+        List<Employee> chunk = new ArrayList<>(chunkSize);
+        int chunkNo = 0;
+        List<String> record;
+        while (run.failure == null && (record = reader.readRecord()) != null) {
+            if (record.size() == 1 && record.get(0).isEmpty()) {
+                continue;
+            }
+            run.rowsRead.incrementAndGet();
+            Employee employee = toEmployee(record, columns, reader.getRecordLineNumber(), run);
+            if (employee == null) {
+                continue;
+            }
+            chunk.add(employee);
+            if (chunk.size() == chunkSize) {
+                submit(run, chunkNo++, chunk, committedChunks);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (run.failure == null && !chunk.isEmpty()) {
+            submit(run, chunkNo, chunk, committedChunks);
+        }
+    }
+
+    private Employee toEmployee(List<String> record, Columns columns, long lineNumber, ImportRun run) {
+        if (record.size() != columns.count) {
+            reject(run, "Line " + lineNumber + ": expected " + columns.count + " fields but found " + record.size());
+            return null;
+        }
+        String name = record.get(columns.nameIndex);
+        String description = columns.descriptionIndex < 0 ? null : record.get(columns.descriptionIndex);
+        if (name.length() > MAX_VALUE_LENGTH || (description != null && description.length() > MAX_VALUE_LENGTH)) {
+            reject(run, "Line " + lineNumber + ": values can be at most " + MAX_VALUE_LENGTH + " characters");
+            return null;
+        }
+        return new Employee(name, description);
+    }
+
+    private void reject(ImportRun run, String error) {
+        if (run.rowsRejected.incrementAndGet() <= properties.getMaxReportedErrors()) {
+            run.rejectedRows.add(error);
+        }
+        if (rejectedRows != null) {
+            rejectedRows.increment();
+        }
+    }
+
+    private void submit(ImportRun run, int chunkNo, List<Employee> chunk, Set<Integer> committedChunks) {
+        if (committedChunks.contains(chunkNo)) {
+            return;
+        }
+        run.permits.acquireUninterruptibly();
+        try {
+            executor.execute(() -> saveChunk(run, chunkNo, chunk));
+        } catch (RejectedExecutionException e) {
+            run.permits.release();
+            throw e;
+        }
+    }
+
+    private void saveChunk(ImportRun run, int chunkNo, List<Employee> chunk) {
+        long start = System.nanoTime();
+        try {
+            if (run.failure != null) {
+                return;
+            }
+            List<Employee> savedEmployees = employeeImportWriter.saveChunk(run.jobId, chunkNo, chunk);
+            employeeCache.invalidateAll(savedEmployees.stream().map(Employee::getEmployeeId).collect(Collectors.toList()));
+            savedEmployees.forEach(employeeSearchIndex::index);
+            run.rowsImported.addAndGet(savedEmployees.size());
+            run.chunksCommitted.incrementAndGet();
+            if (importedRows != null) {
+                importedRows.increment(savedEmployees.size());
+                chunkTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        } catch (RuntimeException e) {
+            run.fail(e);
+        } finally {
+            run.permits.release();
+        }
+    }
+
+    private static void finish(EmployeeImportJob job, ImportRun run) {
+        job.setStatus(run.failure == null ? EmployeeImportJob.Status.COMPLETED : EmployeeImportJob.Status.FAILED);
+        job.setFinishedAt(Instant.now());
+        job.setRowsRead(run.rowsRead.get());
+        job.setRowsRejected(run.rowsRejected.get());
+        job.setRowsPerSecond(run.rowsPerSecond());
+        if (run.failure != null) {
+            String error = run.failure.getMessage() != null ? run.failure.getMessage() : run.failure.toString();
+            job.setError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        }
+        job.setRejectedRows(String.join("\n", run.rejectedRows));
+    }
+
+    private EmployeeImportStatus toStatus(EmployeeImportJob job) {
+        String status = job.getStatus() == EmployeeImportJob.Status.RUNNING ? INTERRUPTED : job.getStatus().name();
+        List<String> rejected = job.getRejectedRows() == null || job.getRejectedRows().isEmpty()
+                ? Collections.emptyList()
+                : Arrays.asList(job.getRejectedRows().split("\n"));
+        return new EmployeeImportStatus(job.getJobId(), status, job.getRowsRead(),
+                employeeImportChunkRepository.sumRowCountByJobId(job.getJobId()), job.getRowsRejected(),
+                employeeImportChunkRepository.countByJobId(job.getJobId()), job.getRowsPerSecond(),
+                job.getStartedAt(), job.getFinishedAt(), job.getError(), rejected);
+    }
+
+    private static EmployeeImportStatus toStatus(EmployeeImportJob job, ImportRun run) {
+        boolean finished = job.getFinishedAt() != null;
+        return new EmployeeImportStatus(job.getJobId(), job.getStatus().name(), run.rowsRead.get(),
+                run.previouslyImported + run.rowsImported.get(), run.rowsRejected.get(),
+                run.previousChunks + run.chunksCommitted.get(),
+                finished ? job.getRowsPerSecond() : run.rowsPerSecond(), job.getStartedAt(), job.getFinishedAt(),
+                job.getError(), new ArrayList<>(run.rejectedRows));
+    }
+
+    int runningJobs() {
+        return runs.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        importedRows = Counter.builder("employee.import.rows")
+                .description("CSV rows imported or rejected")
+                .tag("outcome", "imported")
+                .register(registry);
+        rejectedRows = Counter.builder("employee.import.rows")
+                .description("CSV rows imported or rejected")
+                .tag("outcome", "rejected")
+                .register(registry);
+        chunkTimer = Timer.builder("employee.import.chunk")
+                .description("Time to save one chunk of imported employees")
+                .register(registry);
+        Gauge.builder("employee.import.jobs", this, EmployeeImportService::runningJobs)
+                .description("Import jobs running")
+                .register(registry);
+        new ExecutorServiceMetrics(executor, "employee.import", Collections.emptyList()).bindTo(registry);
+    }
+
+    private static final class Columns {
+
+        private final int count;
+        private final int nameIndex;
+        private final int descriptionIndex;
+
+        Columns(int count, int nameIndex, int descriptionIndex) {
+            this.count = count;
+            this.nameIndex = nameIndex;
+            this.descriptionIndex = descriptionIndex;
+        }
+    }
+
+    private static final class ImportRun {
+
+        private final String jobId;
+        private final int maxPendingChunks;
+        private final Semaphore permits;
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong rowsRejected = new AtomicLong();
+        private final AtomicLong rowsImported = new AtomicLong();
+        private final AtomicLong chunksCommitted = new AtomicLong();
+        private final List<String> rejectedRows = Collections.synchronizedList(new ArrayList<>());
+        private final long startNanos = System.nanoTime();
+        private volatile EmployeeImportJob job;
+        private volatile Exception failure;
+        private long previousChunks;
+        private long previouslyImported;
+
+        ImportRun(String jobId, int maxPendingChunks) {
+            this.jobId = jobId;
+            this.maxPendingChunks = maxPendingChunks;
+            this.permits = new Semaphore(maxPendingChunks);
+        }
+
+        void start(EmployeeImportJob job, long previousChunks, long previouslyImported) {
+            this.previousChunks = previousChunks;
+            this.previouslyImported = previouslyImported;
+            this.job = job;
+        }
+
+        void fail(Exception e) {
+            // The first failure is the one worth reporting.
+            if (failure == null) {
+                failure = e;
+            }
+        }
+
+        void awaitChunks() {
+            permits.acquireUninterruptibly(maxPendingChunks);
+            permits.release(maxPendingChunks);
+        }
+
+        double rowsPerSecond() {
+            double seconds = (System.nanoTime() - startNanos) / 1e9;
+            return seconds > 0 ? rowsImported.get() / seconds : 0;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.viraj.sample.importer;
+
+import com.viraj.sample.entity.Employee;
+import com.viraj.sample.entity.EmployeeImportChunk;
+import com.viraj.sample.service.EmployeeBatchWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+@Component
+public class EmployeeImportWriter {
+
+    @Autowired
+    EmployeeBatchWriter employeeBatchWriter;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    /**
+     * Saves the employees and marks the chunk as done in one transaction. The chunk row is
+     * persisted rather than merged, so if another run already committed the chunk its key clashes
+     * and the whole chunk rolls back.
+     */
+    @Transactional
+    public List<Employee> saveChunk(String jobId, int chunkNo, List<Employee> employees) {
+        entityManager.persist(new EmployeeImportChunk(jobId, chunkNo, employees.size()));
+        return employeeBatchWriter.saveChunk(employees);
+    }
+}
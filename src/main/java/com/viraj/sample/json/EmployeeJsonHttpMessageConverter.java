@@ -0,0 +1,88 @@
+package com.viraj.sample.json;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.viraj.sample.entity.Employee;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * Writes Employee and collections of employees with EmployeeJsonWriter. Anything else, such as a
+ * list of summaries, is handed to the Jackson converter it was created from. Reading is left to
+ * Jackson as well.
+ */
+public class EmployeeJsonHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    private final MappingJackson2HttpMessageConverter jacksonConverter;
+    private final boolean specialized;
+
+    public EmployeeJsonHttpMessageConverter(MappingJackson2HttpMessageConverter jacksonConverter) {
+        super(StandardCharsets.UTF_8, MediaType.APPLICATION_JSON);
+        this.jacksonConverter = jacksonConverter;
+        this.specialized = matchesWriter(jacksonConverter.getObjectMapper());
+    }
+
+    // EmployeeJsonWriter only reproduces the default Boot settings; any other setting goes through Jackson.
+    private static boolean matchesWriter(ObjectMapper objectMapper) {
+        return !objectMapper.isEnabled(SerializationFeature.INDENT_OUTPUT)
+                && !objectMapper.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                && writesNulls(objectMapper.getSerializationConfig().getDefaultPropertyInclusion().getValueInclusion())
+                && writesNulls(objectMapper.getSerializationConfig().getDefaultPropertyInclusion().getContentInclusion())
+                && objectMapper.getPropertyNamingStrategy() == null
+                && !objectMapper.getFactory().isEnabled(JsonGenerator.Feature.ESCAPE_NON_ASCII);
+    }
+
+    // USE_DEFAULTS is what an unconfigured mapper reports, and it means ALWAYS.
+    private static boolean writesNulls(JsonInclude.Include inclusion) {
+        return inclusion == JsonInclude.Include.ALWAYS || inclusion == JsonInclude.Include.USE_DEFAULTS;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Employee.class == clazz || Collection.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Employees are read by the Jackson converter", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        if (specialized && value instanceof Employee) {
+            EmployeeJsonWriter.write((Employee) value, outputMessage.getBody());
+        } else if (specialized && value instanceof Collection && startsWithEmployee((Collection<?>) value)) {
+            EmployeeJsonWriter.writeAll((Collection<?>) value, jacksonConverter.getObjectMapper(),
+                    outputMessage.getBody());
+        } else {
+            jacksonConverter.write(value, outputMessage.getHeaders().getContentType(), outputMessage);
+        }
+    }
+
+    // Only the first element decides: lists such as the snapshot's build each element when it is
+    // read, so they must not be walked twice. Odd elements further on are checked while writing.
+    private static boolean startsWithEmployee(Collection<?> values) {
+        Iterator<?> iterator = values.iterator();
+        if (!iterator.hasNext()) {
+            return true;
+        }
+        Object first = iterator.next();
+        return first != null && first.getClass() == Employee.class;
+    }
+}
@@ -0,0 +1,306 @@
+package com.viraj.sample.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.viraj.sample.entity.Employee;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Writes employees as JSON without going through Jackson's bean serializers. The output is
+ * byte for byte what the Spring Boot ObjectMapper writes for Employee: the same property order,
+ * nulls written out, ISO-8601 instants and Jackson's string escaping. Bytes are collected in a
+ * buffer that each thread keeps and reuses, and only that buffer is handed to the stream.
+ */
+public final class EmployeeJsonWriter {
+
+    static final int BUFFER_SIZE = 8192;
+
+    private static final byte[] EMPLOYEE_ID = ascii("{\"employeeId\":");
+    private static final byte[] EMPLOYEE_NAME = ascii(",\"employeeName\":");
+    private static final byte[] EMPLOYEE_DESCRIPTION = ascii(",\"employeeDescription\":");
+    private static final byte[] VERSION = ascii(",\"version\":");
+    private static final byte[] CREATED_AT = ascii(",\"createdAt\":");
+    private static final byte[] UPDATED_AT = ascii(",\"updatedAt\":");
+    private static final byte[] CHANGE_SEQ = ascii(",\"changeSeq\":");
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] MIN_LONG = ascii(Long.toString(Long.MIN_VALUE));
+    private static final byte[] HEX = ascii("0123456789ABCDEF");
+    // Longest output of a single write call below: an escaped char, a long or an instant.
+    private static final int MAX_TOKEN = 48;
+
+    // 0: written as is, -1: \\u00XX, otherwise the character that follows the backslash
+    private static final int[] ESCAPES = new int[128];
+
+    static {
+        for (int c = 0; c < 32; c++) {
+            ESCAPES[c] = -1;
+        }
+        ESCAPES['"'] = '"';
+        ESCAPES['\\'] = '\\';
+        ESCAPES['\b'] = 'b';
+        ESCAPES['\t'] = 't';
+        ESCAPES['\f'] = 'f';
+        ESCAPES['\n'] = 'n';
+        ESCAPES['\r'] = 'r';
+    }
+
+    private static final ThreadLocal<EmployeeJsonWriter> WRITERS = ThreadLocal.withInitial(EmployeeJsonWriter::new);
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private OutputStream out;
+
+    private EmployeeJsonWriter() {
+    }
+
+    public static void write(Employee employee, OutputStream out) throws IOException {
+        EmployeeJsonWriter writer = WRITERS.get().start(out);
+        try {
+            writer.writeEmployee(employee);
+            writer.flush();
+        } finally {
+            writer.out = null;
+        }
+    }
+
+    /**
+     * Writes the employees as a JSON array. Elements must not be null.
+     */
+    public static void writeAll(Collection<? extends Employee> employees, OutputStream out) throws IOException {
+        EmployeeJsonWriter writer = WRITERS.get().start(out);
+        try {
+            writer.writeByte('[');
+            boolean first = true;
+            for (Employee employee : employees) {
+                if (!first) {
+                    writer.writeByte(',');
+                }
+                writer.writeEmployee(employee);
+                first = false;
+            }
+            writer.writeByte(']');
+            writer.flush();
+        } finally {
+            writer.out = null;
+        }
+    }
+
+    /**
+     * Writes the values as a JSON array in a single pass. Employees are written directly; any
+     * other element, null included, is written by the given ObjectMapper.
+     */
+    public static void writeAll(Collection<?> values, ObjectMapper others, OutputStream out) throws IOException {
+        EmployeeJsonWriter writer = WRITERS.get().start(out);
+        try {
+            writer.writeByte('[');
+            boolean first = true;
+            for (Object value : values) {
+                if (!first) {
+                    writer.writeByte(',');
+                }
+                if (value != null && value.getClass() == Employee.class) {
+                    writer.writeEmployee((Employee) value);
+                } else {
+                    writer.writeBytes(others.writeValueAsBytes(value));
+                }
+                first = false;
+            }
+            writer.writeByte(']');
+            writer.flush();
+        } finally {
+            writer.out = null;
+        }
+    }
+
+    private EmployeeJsonWriter start(OutputStream out) {
+        this.out = out;
+        this.position = 0;
+        return this;
+    }
+
+    private void writeEmployee(Employee employee) throws IOException {
+        writeBytes(EMPLOYEE_ID);
+        writeLong(employee.getEmployeeId());
+        writeBytes(EMPLOYEE_NAME);
+        writeString(employee.getEmployeeName());
+        writeBytes(EMPLOYEE_DESCRIPTION);
+        writeString(employee.getEmployeeDescription());
+        writeBytes(VERSION);
+        writeLong(employee.getVersion());
+        writeBytes(CREATED_AT);
+        writeInstant(employee.getCreatedAt());
+        writeBytes(UPDATED_AT);
+        writeInstant(employee.getUpdatedAt());
+        writeBytes(CHANGE_SEQ);
+        writeLong(employee.getChangeSeq());
+        writeByte('}');
+    }
+
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            writeBytes(NULL);
+            return;
+        }
+        writeByte('"');
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            ensure(MAX_TOKEN);
+            char c = value.charAt(i);
+            if (c < 128) {
+                int escape = ESCAPES[c];
+                if (escape == 0) {
+                    buffer[position++] = (byte) c;
+                } else if (escape > 0) {
+                    buffer[position++] = '\\';
+                    buffer[position++] = (byte) escape;
+                } else {
+                    writeUnicodeEscape(c);
+                }
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (!Character.isSurrogate(c)) {
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else {
+                // Like Jackson, surrogates (paired or not) are written as escapes instead of UTF-8.
+                writeUnicodeEscape(c);
+            }
+        }
+        writeByte('"');
+    }
+
+    private void writeUnicodeEscape(char c) {
+        buffer[position++] = '\\';
+        buffer[position++] = 'u';
+        buffer[position++] = HEX[c >> 12];
+        buffer[position++] = HEX[(c >> 8) & 0xF];
+        buffer[position++] = HEX[(c >> 4) & 0xF];
+        buffer[position++] = HEX[c & 0xF];
+    }
+
+    private void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeBytes(MIN_LONG);
+            return;
+        }
+        ensure(MAX_TOKEN);
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        writeDigits(value, digits(value));
+    }
+
+    /**
+     * Same text as DateTimeFormatter.ISO_INSTANT, which Jackson uses for Instant: the fraction is
+     * left out when it is zero and otherwise written in groups of three digits.
+     */
+    private void writeInstant(Instant instant) throws IOException {
+        if (instant == null) {
+            writeBytes(NULL);
+            return;
+        }
+        long epochSecond = instant.getEpochSecond();
+        long epochDay = Math.floorDiv(epochSecond, 86_400);
+        int secondOfDay = (int) Math.floorMod(epochSecond, 86_400);
+        // Civil date from days since 1970-01-01 (proleptic Gregorian calendar).
+        long days = epochDay + 719_468;
+        long era = Math.floorDiv(days, 146_097);
+        long dayOfEra = days - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+        int month = (int) (shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        if (year < 0 || year > 9999) {
+            // ISO_INSTANT adds a sign and more digits; rare enough to take the slow way.
+            writeByte('"');
+            writeBytes(ascii(instant.toString()));
+            writeByte('"');
+            return;
+        }
+        ensure(MAX_TOKEN);
+        buffer[position++] = '"';
+        writeDigits(year, 4);
+        buffer[position++] = '-';
+        writeDigits(month, 2);
+        buffer[position++] = '-';
+        writeDigits(day, 2);
+        buffer[position++] = 'T';
+        writeDigits(secondOfDay / 3600, 2);
+        buffer[position++] = ':';
+        writeDigits(secondOfDay / 60 % 60, 2);
+        buffer[position++] = ':';
+        writeDigits(secondOfDay % 60, 2);
+        int nano = instant.getNano();
+        if (nano > 0) {
+            buffer[position++] = '.';
+            if (nano % 1_000_000 == 0) {
+                writeDigits(nano / 1_000_000, 3);
+            } else if (nano % 1000 == 0) {
+                writeDigits(nano / 1000, 6);
+            } else {
+                writeDigits(nano, 9);
+            }
+        }
+        buffer[position++] = 'Z';
+        buffer[position++] = '"';
+    }
+
+    // Writes a non-negative value as exactly count digits; the caller has made room for them.
+    private void writeDigits(long value, int count) {
+        for (int i = position + count - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position += count;
+    }
+
+    private static int digits(long value) {
+        int count = 1;
+        while (value >= 10) {
+            value /= 10;
+            count++;
+        }
+        return count;
+    }
+
+    private void writeByte(char c) throws IOException {
+        ensure(1);
+        buffer[position++] = (byte) c;
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.length - position) {
+            flush();
+            if (bytes.length > buffer.length) {
+                out.write(bytes);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void ensure(int count) throws IOException {
+        if (buffer.length - position < count) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
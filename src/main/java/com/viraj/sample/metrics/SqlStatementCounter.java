@@ -0,0 +1,57 @@
+package com.viraj.sample.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread, so the
+ * number of statements per request can be recorded.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    /**
+     * Request attribute collecting the statements of work the request handed to other threads.
+     */
+    static final String OTHER_THREADS_ATTRIBUTE = SqlStatementCounter.class.getName() + ".OTHER_THREADS";
+
+    private static final ThreadLocal<int[]> STATEMENTS = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get()[0]++;
+        return sql;
+    }
+
+    public static void reset() {
+        STATEMENTS.get()[0] = 0;
+    }
+
+    public static int getCount() {
+        return STATEMENTS.get()[0];
+    }
+
+    /**
+     * Wraps a task the current request hands to another thread, so the statements it prepares
+     * there count towards the request. Tasks submitted outside a request are returned as they are.
+     */
+    public static Runnable countForCurrentRequest(Runnable task) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Object otherThreads = attributes == null ? null
+                : attributes.getAttribute(OTHER_THREADS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (!(otherThreads instanceof AtomicInteger)) {
+            return task;
+        }
+        AtomicInteger requestStatements = (AtomicInteger) otherThreads;
+        return () -> {
+            reset();
+            try {
+                task.run();
+            } finally {
+                requestStatements.addAndGet(getCount());
+            }
+        };
+    }
+}
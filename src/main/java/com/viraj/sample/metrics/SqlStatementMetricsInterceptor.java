@@ -0,0 +1,60 @@
+package com.viraj.sample.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records the statements of each request: those of the servlet thread plus, for async requests,
+ * those of the tasks it handed to the employee executor ({@link SqlStatementCounter#countForCurrentRequest}).
+ */
+public class SqlStatementMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    static final String METRIC_NAME = "employee.sql.statements";
+
+    private final MeterRegistry meterRegistry;
+
+    public SqlStatementMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Also called again when an async request is dispatched back; the attribute survives that.
+        SqlStatementCounter.reset();
+        if (request.getAttribute(SqlStatementCounter.OTHER_THREADS_ATTRIBUTE) == null) {
+            request.setAttribute(SqlStatementCounter.OTHER_THREADS_ATTRIBUTE, new AtomicInteger());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        // The servlet thread moves on to other requests; keep what it ran for this one.
+        otherThreads(request).addAndGet(SqlStatementCounter.getCount());
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(METRIC_NAME)
+                .description("SQL statements prepared while handling a request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri == null ? "UNKNOWN" : uri.toString())
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(SqlStatementCounter.getCount() + otherThreads(request).get());
+    }
+
+    private static AtomicInteger otherThreads(HttpServletRequest request) {
+        Object otherThreads = request.getAttribute(SqlStatementCounter.OTHER_THREADS_ATTRIBUTE);
+        return otherThreads instanceof AtomicInteger ? (AtomicInteger) otherThreads : new AtomicInteger();
+    }
+}
@@ -0,0 +1,89 @@
+package com.viraj.sample.replica;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Keeps a client on the primary for a while after a write of it succeeded, so it reads its own
+ * writes even if the replica lags behind. Clients are told apart by address, or by the X-Client-Id
+ * header when it is trusted. Write requests themselves always use the primary.
+ */
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    static final String CLIENT_ID_HEADER = "X-Client-Id";
+    static final long MAX_CLIENTS = 100_000;
+
+    private static final Set<String> READ_METHODS = new HashSet<>(Arrays.asList("GET", "HEAD", "OPTIONS"));
+    // POST only because the ids do not fit in a URL.
+    private static final Set<String> READ_ONLY_POSTS = new HashSet<>(Arrays.asList("/employee/getmany"));
+
+    private final Cache<String, Boolean> recentWriters;
+    private final boolean trustClientId;
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    public ReadYourWritesInterceptor(Duration stickyWindow, boolean trustClientId) {
+        this(stickyWindow, trustClientId, Ticker.systemTicker());
+    }
+
+    ReadYourWritesInterceptor(Duration stickyWindow, boolean trustClientId, Ticker ticker) {
+        this.trustClientId = trustClientId;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickyWindow)
+                .maximumSize(MAX_CLIENTS)
+                .ticker(ticker)
+                .build();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (isWrite(request) || recentWriters.getIfPresent(clientId(request)) != null) {
+            ReplicaRouting.requirePrimary();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        // The request thread goes back to the pool; the async work carries its own copy.
+        ReplicaRouting.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        ReplicaRouting.clear();
+        // The window starts once the write has committed; rejected or failed writes changed nothing.
+        if (isWrite(request) && ex == null && response.getStatus() >= 200 && response.getStatus() < 300) {
+            recentWriters.put(clientId(request), Boolean.TRUE);
+        }
+    }
+
+    private boolean isWrite(HttpServletRequest request) {
+        if (READ_METHODS.contains(request.getMethod())) {
+            return false;
+        }
+        String path = urlPathHelper.getPathWithinApplication(request);
+        // Spring maps /employee/getmany/ to the same handler.
+        return !READ_ONLY_POSTS.contains(path.endsWith("/") ? path.substring(0, path.length() - 1) : path);
+    }
+
+    /**
+     * Same rule as admission control: anyone can send a new X-Client-Id with every request and
+     * push real writers out of the cache, so it is only used when a gateway in front sets it.
+     */
+    private String clientId(HttpServletRequest request) {
+        String clientId = trustClientId ? request.getHeader(CLIENT_ID_HEADER) : null;
+        return clientId != null ? clientId : request.getRemoteAddr();
+    }
+}
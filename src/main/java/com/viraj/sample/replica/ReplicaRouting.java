@@ -0,0 +1,51 @@
+package com.viraj.sample.replica;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread override that sends read-only transactions to the primary as well, for requests that
+ * must see their client's own writes.
+ */
+public final class ReplicaRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private ReplicaRouting() {
+    }
+
+    public static boolean isPrimaryRequired() {
+        return Boolean.TRUE.equals(PRIMARY_REQUIRED.get());
+    }
+
+    static void requirePrimary() {
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+    }
+
+    static void clear() {
+        PRIMARY_REQUIRED.remove();
+    }
+
+    /**
+     * Runs {@code task} against the primary even inside read-only transactions.
+     */
+    public static <T> T onPrimary(Supplier<T> task) {
+        Boolean previous = PRIMARY_REQUIRED.get();
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_REQUIRED.remove();
+            } else {
+                PRIMARY_REQUIRED.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Wraps {@code task} so it is routed like the calling thread when it runs on another one.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        return isPrimaryRequired() ? () -> onPrimary(task) : task;
+    }
+}
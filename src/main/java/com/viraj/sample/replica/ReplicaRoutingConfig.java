@@ -0,0 +1,83 @@
+package com.viraj.sample.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.io.IOException;
+
+@Configuration
+@ConditionalOnProperty(prefix = "employee.replica", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    /**
+     * The datasource JPA uses. The lazy proxy only fetches a connection at the first statement,
+     * once the transaction is known to be read-only or not.
+     * <p>
+     * The two pools are deliberately not beans of their own: Boot runs its datasource initializer
+     * for every DataSource bean, and that initializer needs this one.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, ReplicaProperties replicaProperties,
+                                 Environment environment, MeterRegistry meterRegistry) {
+        // The pool Boot would otherwise build, including the spring.datasource.hikari settings.
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("employee-primary");
+        primary.setMetricRegistry(meterRegistry);
+
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("employee-replica");
+        replica.setJdbcUrl(replicaProperties.getUrl());
+        replica.setUsername(replicaProperties.getUsername());
+        replica.setPassword(replicaProperties.getPassword());
+        replica.setMaximumPoolSize(replicaProperties.getMaximumPoolSize());
+        replica.setReadOnly(true);
+        replica.setMetricRegistry(meterRegistry);
+
+        routingDataSource = new ReplicaRoutingDataSource(primary, replica, meterRegistry);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * Spring's JPA vendor adapter makes sessions hold their connection until they close. With
+     * open-in-view a request's session lives for the whole request, so every transaction after the
+     * first would reuse the first one's connection: a read on the replica would keep later reads
+     * that require the primary on the replica. Releasing it after each transaction routes each one
+     * afresh.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandling() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public ReadYourWritesInterceptor readYourWritesInterceptor(ReplicaProperties properties) {
+        return new ReadYourWritesInterceptor(properties.getStickyWindow(), properties.isTrustClientId());
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (routingDataSource != null) {
+            routingDataSource.close();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.viraj.sample.replica;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hands out replica connections inside read-only transactions and primary connections otherwise.
+ * It has to sit behind a LazyConnectionDataSourceProxy: the transaction is only marked read-only
+ * after the transaction manager asked for its connection.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, MeterRegistry meterRegistry) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        targets.put(REPLICA, replica);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        this.primary = primary;
+        this.replica = replica;
+        this.primaryConnections = connections(meterRegistry, PRIMARY);
+        this.replicaConnections = connections(meterRegistry, REPLICA);
+    }
+
+    private static Counter connections(MeterRegistry meterRegistry, String pool) {
+        return Counter.builder("employee.datasource.connections")
+                .description("Connections handed out by the read/write routing datasource")
+                .tag("pool", pool)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !ReplicaRouting.isPrimaryRequired()) {
+            replicaConnections.increment();
+            return REPLICA;
+        }
+        primaryConnections.increment();
+        return PRIMARY;
+    }
+
+    /**
+     * Closes both pools.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (replica instanceof Closeable) {
+                ((Closeable) replica).close();
+            }
+        } finally {
+            if (primary instanceof Closeable) {
+                ((Closeable) primary).close();
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.viraj.sample.repository;
+
+import java.util.Collection;
+
+/**
+ * Writes that stamp each changed employee with the next value of the EMPLOYEE change sequence,
+ * and leave a tombstone for each deleted one, so the changes feed can be read by sequence.
+ * {@code T} is the entity type: save and saveAll have to match the CrudRepository signatures
+ * exactly to take their place.
+ */
+public interface EmployeeChangeRepository<T> {
+
+    <S extends T> S save(S employee);
+
+    <S extends T> Iterable<S> saveAll(Iterable<S> employees);
+
+    int patchEmployee(long employeeId, String employeeName, String employeeDescription, Long version);
+
+    int deleteEmployeeById(long employeeId);
+
+    int deleteEmployeesByIdIn(Collection<Long> employeeIds);
+
+    /**
+     * Stamps up to {@code limit} employees written before the change sequence existed (they have
+     * 0) with fresh values, so the feed returns them. Returns how many there were.
+     */
+    int assignMissingChangeSeqs(int limit);
+
+    /**
+     * Highest change sequence value handed out to a committed transaction.
+     */
+    long getLastChangeSeq();
+}
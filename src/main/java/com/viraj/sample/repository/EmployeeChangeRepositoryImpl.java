@@ -0,0 +1,207 @@
+package com.viraj.sample.repository;
+
+import com.viraj.sample.entity.Employee;
+import com.viraj.sample.entity.EmployeeTombstone;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class EmployeeChangeRepositoryImpl implements EmployeeChangeRepository<Employee> {
+
+    static final String SEQUENCE_NAME = "EMPLOYEE";
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public <S extends Employee> S save(S employee) {
+        S savedEmployee = persistOrMerge(employee, findCurrent(employee));
+        setChangeSeq(savedEmployee, allocate(1));
+        return savedEmployee;
+    }
+
+    @Override
+    @Transactional
+    public <S extends Employee> Iterable<S> saveAll(Iterable<S> employees) {
+        List<S> toSave = new ArrayList<>();
+        employees.forEach(toSave::add);
+        List<S> savedEmployees = new ArrayList<>(toSave.size());
+        for (S employee : toSave) {
+            savedEmployees.add(persistOrMerge(employee, findCurrent(employee)));
+        }
+        long changeSeq = allocate(savedEmployees.size());
+        for (S savedEmployee : savedEmployees) {
+            setChangeSeq(savedEmployee, changeSeq++);
+        }
+        return savedEmployees;
+    }
+
+    @Override
+    @Transactional
+    public int patchEmployee(long employeeId, String employeeName, String employeeDescription, Long version) {
+        long changeSeq = allocate(1);
+        int updated = entityManager.createQuery("update Employee e "
+                + "set e.employeeName = coalesce(:employeeName, e.employeeName), "
+                + "e.employeeDescription = coalesce(:employeeDescription, e.employeeDescription), "
+                + "e.version = e.version + 1, e.updatedAt = :updatedAt, e.changeSeq = :changeSeq "
+                + "where e.employeeId = :employeeId and (:version is null or e.version = :version)")
+                .setParameter("employeeName", employeeName)
+                .setParameter("employeeDescription", employeeDescription)
+                .setParameter("updatedAt", Instant.now())
+                .setParameter("changeSeq", changeSeq)
+                .setParameter("employeeId", employeeId)
+                .setParameter("version", version)
+                .executeUpdate();
+        entityManager.clear();
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public int deleteEmployeeById(long employeeId) {
+        // Allocate before touching EMPLOYEE so every write takes its locks in the same order.
+        long changeSeq = allocate(1);
+        int deleted = entityManager.createQuery("delete from Employee e where e.employeeId = :employeeId")
+                .setParameter("employeeId", employeeId)
+                .executeUpdate();
+        if (deleted > 0) {
+            entityManager.persist(new EmployeeTombstone(employeeId, changeSeq, Instant.now()));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return deleted;
+    }
+
+    @Override
+    @Transactional
+    public int deleteEmployeesByIdIn(Collection<Long> employeeIds) {
+        long changeSeq = allocate(employeeIds.size());
+        List<Long> existingIds = entityManager.createQuery(
+                "select e.employeeId from Employee e where e.employeeId in :employeeIds", Long.class)
+                .setParameter("employeeIds", employeeIds)
+                .getResultList();
+        if (existingIds.isEmpty()) {
+            return 0;
+        }
+        int deleted = entityManager.createQuery("delete from Employee e where e.employeeId in :employeeIds")
+                .setParameter("employeeIds", existingIds)
+                .executeUpdate();
+        Instant deletedAt = Instant.now();
+        for (Long employeeId : existingIds) {
+            entityManager.persist(new EmployeeTombstone(employeeId, changeSeq++, deletedAt));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return deleted;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getLastChangeSeq() {
+        List<Long> nextValue = entityManager.createQuery(
+                "select s.nextValue from ChangeSequence s where s.sequenceName = :sequenceName", Long.class)
+                .setParameter("sequenceName", SEQUENCE_NAME)
+                .getResultList();
+        return nextValue.isEmpty() ? 0L : nextValue.get(0) - 1;
+    }
+
+    @Override
+    @Transactional
+    public int assignMissingChangeSeqs(int limit) {
+        List<Long> employeeIds = entityManager.createQuery(
+                "select e.employeeId from Employee e where e.changeSeq = 0 order by e.employeeId", Long.class)
+                .setMaxResults(limit)
+                .getResultList();
+        if (employeeIds.isEmpty()) {
+            return 0;
+        }
+        long changeSeq = allocate(employeeIds.size());
+        List<Object[]> rows = new ArrayList<>(employeeIds.size());
+        for (Long employeeId : employeeIds) {
+            rows.add(new Object[]{changeSeq++, employeeId});
+        }
+        // A write since the query above has stamped the row already.
+        jdbcTemplate.batchUpdate("update EMPLOYEE set CHANGE_SEQ = ? where EMPLOYEE_ID = ? and CHANGE_SEQ = 0", rows);
+        return employeeIds.size();
+    }
+
+    /**
+     * Reserves {@code count} consecutive values and returns the first one. The UPDATE keeps the
+     * sequence row locked until the transaction ends, so transactions commit in sequence order and
+     * a reader that has seen value N has seen every change up to N. Every write is serialized on
+     * that lock from here to its commit, so callers do their reads, and persist new employees,
+     * before allocating: persist takes ids from the TABLE generator, which fetches a new block on
+     * a second pooled connection, and that must not be waited for while other writers hold
+     * connections queued behind the lock. Values
+     * reserved for rows that turn out not to exist are skipped, so the sequence has gaps.
+     */
+    private long allocate(int count) {
+        if (incrementSequence(count) == 0) {
+            try {
+                // First write ever: start the sequence at 1.
+                jdbcTemplate.update("insert into CHANGE_SEQUENCE (SEQUENCE_NAME, NEXT_VALUE) values (?, ?)",
+                        SEQUENCE_NAME, 1L + count);
+                return 1L;
+            } catch (DuplicateKeyException e) {
+                // A concurrent first write created the row; the update now waits for it like any other.
+                incrementSequence(count);
+            }
+        }
+        return getLastChangeSeq() + 1 - count;
+    }
+
+    private int incrementSequence(int count) {
+        return entityManager.createQuery("update ChangeSequence s set s.nextValue = s.nextValue + :count "
+                + "where s.sequenceName = :sequenceName")
+                .setParameter("count", (long) count)
+                .setParameter("sequenceName", SEQUENCE_NAME)
+                .executeUpdate();
+    }
+
+    /**
+     * Loads the stored row of an employee being saved, so merging it later needs no query.
+     */
+    private Employee findCurrent(Employee employee) {
+        return employee.getEmployeeId() == 0 ? null : entityManager.find(Employee.class, employee.getEmployeeId());
+    }
+
+    /**
+     * Stamps a managed employee. One persisted in this transaction is not inserted yet, but
+     * Hibernate took the values to insert at persist time, so they are stamped as well; otherwise
+     * the flush would insert 0 and follow it with an UPDATE that also bumps the version.
+     */
+    private void setChangeSeq(Employee employee, long changeSeq) {
+        employee.setChangeSeq(changeSeq);
+        EntityEntry entry = entityManager.unwrap(SessionImplementor.class).getPersistenceContext().getEntry(employee);
+        if (!entry.isExistsInDatabase()) {
+            entry.getLoadedState()[entry.getPersister().getEntityMetamodel().getPropertyIndex("changeSeq")] = changeSeq;
+        }
+    }
+
+    private <S extends Employee> S persistOrMerge(S employee, Employee current) {
+        if (employee.getEmployeeId() == 0) {
+            entityManager.persist(employee);
+            return employee;
+        }
+        if (current == null) {
+            return entityManager.merge(employee);
+        }
+        // CREATED_AT is not updatable and clients do not send it, so keep the stored value.
+        employee.setCreatedAt(current.getCreatedAt());
+        return entityManager.merge(employee);
+    }
+}
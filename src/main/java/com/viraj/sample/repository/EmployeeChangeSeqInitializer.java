@@ -0,0 +1,36 @@
+package com.viraj.sample.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gives the employees written before the change sequence existed a value of their own, so a feed
+ * reader starting at 0 gets every employee. Runs before the web server accepts requests, a chunk
+ * per transaction; once every row has a value it is a single query.
+ */
+@Component
+public class EmployeeChangeSeqInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeChangeSeqInitializer.class);
+
+    static final int CHUNK_SIZE = 1000;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void initialize() {
+        long assigned = 0;
+        int chunk;
+        while ((chunk = employeeRepository.assignMissingChangeSeqs(CHUNK_SIZE)) > 0) {
+            assigned += chunk;
+        }
+        if (assigned > 0) {
+            log.info("Assigned change sequence values to {} employees written before the changes feed", assigned);
+        }
+    }
+}
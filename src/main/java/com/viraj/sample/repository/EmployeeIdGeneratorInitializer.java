@@ -0,0 +1,55 @@
+package com.viraj.sample.repository;
+
+import com.viraj.sample.entity.Employee;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the EMPLOYEE_ID generator past the ids already in use. Employees written while ids came
+ * from an identity column, or imported by other means, are not known to ID_GENERATOR, and
+ * Hibernate creates its row at the initial value; new ids would then clash with existing ones.
+ * Runs before the web server accepts requests.
+ */
+@Component
+public class EmployeeIdGeneratorInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeIdGeneratorInitializer.class);
+
+    static final String GENERATOR_NAME = "EMPLOYEE_ID";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void initialize() {
+        Long maxId = jdbcTemplate.queryForObject("select max(EMPLOYEE_ID) from EMPLOYEE", Long.class);
+        if (maxId == null) {
+            return;
+        }
+        // The pooled optimizer hands out up to allocation-size ids below the stored value.
+        long floor = maxId + Employee.ID_ALLOCATION_SIZE;
+        String update = "update ID_GENERATOR set NEXT_VALUE = ? where GENERATOR_NAME = ? "
+                + "and (NEXT_VALUE is null or NEXT_VALUE < ?)";
+        int updated = jdbcTemplate.update(update, floor, GENERATOR_NAME, floor);
+        if (updated == 0 && jdbcTemplate.queryForObject(
+                "select count(*) from ID_GENERATOR where GENERATOR_NAME = ?", Integer.class, GENERATOR_NAME) == 0) {
+            try {
+                jdbcTemplate.update("insert into ID_GENERATOR (GENERATOR_NAME, NEXT_VALUE) values (?, ?)",
+                        GENERATOR_NAME, floor);
+                updated = 1;
+            } catch (DuplicateKeyException e) {
+                // Another instance created the row meanwhile.
+                updated = jdbcTemplate.update(update, floor, GENERATOR_NAME, floor);
+            }
+        }
+        if (updated > 0) {
+            log.info("Moved the employee id generator past the existing employee ids (max {})", maxId);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.viraj.sample.repository;
+
+import com.viraj.sample.entity.EmployeeImportChunk;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface EmployeeImportChunkRepository extends CrudRepository<EmployeeImportChunk, EmployeeImportChunk.Key> {
+
+    @Transactional(readOnly = true)
+    @Query("select c.chunkNo from EmployeeImportChunk c where c.jobId = :jobId")
+    List<Integer> findChunkNosByJobId(@Param("jobId") String jobId);
+
+    @Transactional(readOnly = true)
+    @Query("select coalesce(sum(c.rowCount), 0) from EmployeeImportChunk c where c.jobId = :jobId")
+    long sumRowCountByJobId(@Param("jobId") String jobId);
+
+    @Transactional(readOnly = true)
+    long countByJobId(String jobId);
+}
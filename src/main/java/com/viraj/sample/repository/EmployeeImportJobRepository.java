@@ -0,0 +1,9 @@
+package com.viraj.sample.repository;
+
+import com.viraj.sample.entity.EmployeeImportJob;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EmployeeImportJobRepository extends CrudRepository<EmployeeImportJob, String> {
+}
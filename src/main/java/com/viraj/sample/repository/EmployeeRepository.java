@@ -1,9 +1,66 @@
 package com.viraj.sample.repository;
 
+import com.viraj.sample.dto.EmployeeSummary;
 import com.viraj.sample.entity.Employee;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
-public interface EmployeeRepository extends   CrudRepository <Employee,Long>{
+public interface EmployeeRepository extends PagingAndSortingRepository<Employee, Long>, EmployeeChangeRepository<Employee> {
+
+    @Transactional(readOnly = true)
+    List<Employee> findByEmployeeIdGreaterThanOrderByEmployeeIdAsc(long employeeId, Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query("select new com.viraj.sample.dto.EmployeeSummary(e.employeeId, e.employeeName) from Employee e "
+            + "order by e.employeeId asc")
+    List<EmployeeSummary> findAllSummaries();
+
+    @Transactional(readOnly = true)
+    @Query("select new com.viraj.sample.dto.EmployeeSummary(e.employeeId, e.employeeName) from Employee e "
+            + "where e.employeeId > :employeeId order by e.employeeId asc")
+    List<EmployeeSummary> findSummariesAfter(@Param("employeeId") long employeeId, Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query("select e.version from Employee e where e.employeeId = :employeeId")
+    Optional<Long> findVersionById(@Param("employeeId") long employeeId);
+
+    @Transactional(readOnly = true)
+    @Query("select new com.viraj.sample.dto.EmployeeSummary(e.employeeId, e.employeeName) from Employee e "
+            + "where e.employeeId = :employeeId")
+    Optional<EmployeeSummary> findSummaryById(@Param("employeeId") long employeeId);
+
+    @Transactional(readOnly = true)
+    @Query("select e from Employee e where e.employeeName like :pattern escape '!' "
+            + "order by e.employeeName asc, e.employeeId asc")
+    List<Employee> findByNameLike(@Param("pattern") String pattern, Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query("select e from Employee e where e.employeeName like :pattern escape '!' "
+            + "and (e.employeeName > :afterName or (e.employeeName = :afterName and e.employeeId > :afterId)) "
+            + "order by e.employeeName asc, e.employeeId asc")
+    List<Employee> findByNameLikeAfter(@Param("pattern") String pattern,
+                                       @Param("afterName") String afterName,
+                                       @Param("afterId") long afterId,
+                                       Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READONLY, value = "true")})
+    Stream<Employee> streamAllByOrderByEmployeeIdAsc();
+
+    @Transactional(readOnly = true)
+    List<Employee> findByChangeSeqGreaterThanOrderByChangeSeqAsc(long changeSeq, Pageable pageable);
 }
@@ -0,0 +1,16 @@
+package com.viraj.sample.repository;
+
+import com.viraj.sample.entity.EmployeeTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface EmployeeTombstoneRepository extends CrudRepository<EmployeeTombstone, Long> {
+
+    @Transactional(readOnly = true)
+    List<EmployeeTombstone> findByChangeSeqGreaterThanOrderByChangeSeqAsc(long changeSeq, Pageable pageable);
+}
@@ -0,0 +1,254 @@
+package com.viraj.sample.search;
+
+import com.viraj.sample.entity.Employee;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over the name and description of every employee, kept in memory so ranking
+ * never reaches the database. Every query word has to match the start of a word of the employee;
+ * results are ranked by tf-idf, with words of the name counting twice. Only ids and term
+ * frequencies are kept: callers load the employees behind the ids themselves.
+ */
+@Component
+public class EmployeeSearchIndex {
+
+    static final int NAME_WEIGHT = 2;
+    static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Comparator<Hit> BY_RELEVANCE = Comparator.comparingDouble((Hit hit) -> hit.score)
+            .thenComparing(hit -> -hit.employeeId);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // term -> employee id -> weighted number of occurrences
+    private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    // Ids deleted while load() is running, so the scan does not bring them back.
+    private Set<Long> removedWhileLoading;
+
+    public void index(Employee employee) {
+        Document document = new Document(employee);
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.get(employee.getEmployeeId());
+            if (previous != null && previous.version > employee.getVersion()) {
+                return;
+            }
+            removeDocument(employee.getEmployeeId(), previous);
+            addDocument(employee.getEmployeeId(), document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long employeeId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(employeeId, documents.get(employeeId));
+            if (removedWhileLoading != null) {
+                removedWhileLoading.add(employeeId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Fills the index from a scan of the table. Writes that happen during the scan win over the
+     * rows the scan returns.
+     */
+    public void load(EmployeeSource source) {
+        lock.writeLock().lock();
+        try {
+            removedWhileLoading = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            source.forEach(employee -> {
+                Document document = new Document(employee);
+                lock.writeLock().lock();
+                try {
+                    if (!removedWhileLoading.contains(employee.getEmployeeId())
+                            && !documents.containsKey(employee.getEmployeeId())) {
+                        addDocument(employee.getEmployeeId(), document);
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            });
+        } finally {
+            lock.writeLock().lock();
+            try {
+                removedWhileLoading = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the ids of the best matches, best first.
+     */
+    public List<Long> search(String query, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(tokenize(query));
+        if (queryTerms.isEmpty()) {
+            throw new IllegalArgumentException("Query must contain at least one word");
+        }
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String queryTerm : queryTerms) {
+                Map<Long, Double> termScores = scoreTerm(queryTerm, scores);
+                if (termScores.isEmpty()) {
+                    return Collections.emptyList();
+                }
+                scores = termScores;
+            }
+
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, BY_RELEVANCE);
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                Document document = documents.get(entry.getKey());
+                top.add(new Hit(entry.getKey(), entry.getValue() / Math.sqrt(document.length)));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<Long> employeeIds = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                employeeIds.add(top.poll().employeeId);
+            }
+            Collections.reverse(employeeIds);
+            return employeeIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scores the employees having a word that starts with the query term. When an employee has
+     * several such words only the best one counts. Only employees in {@code candidates} are kept
+     * when it is not null; their previous score is added.
+     */
+    private Map<Long, Double> scoreTerm(String queryTerm, Map<Long, Double> candidates) {
+        Map<Long, Double> termScores = new HashMap<>();
+        int documentCount = documents.size();
+        for (Map.Entry<String, Map<Long, Integer>> term
+                : postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).entrySet()) {
+            Map<Long, Integer> frequencies = term.getValue();
+            // Partial matches count less the more of the word they leave out.
+            double weight = Math.log(1.0 + (double) documentCount / frequencies.size())
+                    * queryTerm.length() / term.getKey().length();
+            for (Map.Entry<Long, Integer> frequency : frequencies.entrySet()) {
+                if (candidates != null && !candidates.containsKey(frequency.getKey())) {
+                    continue;
+                }
+                termScores.merge(frequency.getKey(), frequency.getValue() * weight, Math::max);
+            }
+        }
+        if (candidates != null) {
+            termScores.replaceAll((employeeId, score) -> score + candidates.get(employeeId));
+        }
+        return termScores;
+    }
+
+    private void addDocument(long employeeId, Document document) {
+        documents.put(employeeId, document);
+        document.frequencies.forEach((term, frequency) ->
+                postings.computeIfAbsent(term, key -> new HashMap<>()).put(employeeId, frequency));
+    }
+
+    private void removeDocument(long employeeId, Document document) {
+        if (document == null) {
+            return;
+        }
+        documents.remove(employeeId);
+        for (String term : document.frequencies.keySet()) {
+            Map<Long, Integer> frequencies = postings.get(term);
+            frequencies.remove(employeeId);
+            if (frequencies.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    public interface EmployeeSource {
+        void forEach(Consumer<Employee> consumer);
+    }
+
+    private static final class Document {
+
+        // Kept so a late write of an older version does not replace a newer one.
+        private final long version;
+        private final Map<String, Integer> frequencies = new HashMap<>();
+        private final int length;
+
+        private Document(Employee employee) {
+            this.version = employee.getVersion();
+            int length = 0;
+            for (String token : tokenize(employee.getEmployeeName())) {
+                frequencies.merge(token, NAME_WEIGHT, Integer::sum);
+                length++;
+            }
+            for (String token : tokenize(employee.getEmployeeDescription())) {
+                frequencies.merge(token, DESCRIPTION_WEIGHT, Integer::sum);
+                length++;
+            }
+            this.length = Math.max(length, 1);
+        }
+    }
+
+    private static final class Hit {
+
+        private final long employeeId;
+        private final double score;
+
+        private Hit(long employeeId, double score) {
+            this.employeeId = employeeId;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.viraj.sample.search;
+
+import com.viraj.sample.service.EmployeeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EmployeeSearchIndexLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeSearchIndexLoader.class);
+
+    @Autowired
+    EmployeeService employeeService;
+
+    @Autowired
+    EmployeeSearchIndex employeeSearchIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        employeeSearchIndex.load(employeeService::exportEmployees);
+        log.info("Indexed {} employees for search in {} ms", employeeSearchIndex.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+}
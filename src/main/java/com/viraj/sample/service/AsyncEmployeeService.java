@@ -0,0 +1,17 @@
+package com.viraj.sample.service;
+
+import com.viraj.sample.dto.EmployeePage;
+import com.viraj.sample.dto.EmployeePatch;
+import com.viraj.sample.entity.Employee;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncEmployeeService {
+
+    CompletableFuture<Employee> saveEmployee(Employee employee);
+    CompletableFuture<Employee> updateEmployee(Employee employee);
+    CompletableFuture<Boolean> patchEmployee(Long employeeId, EmployeePatch patch);
+    CompletableFuture<EmployeePage<Employee>> getEmployeePage(Long afterEmployeeId, int limit);
+    CompletableFuture<Employee> getEmployee(Long employeeId);
+    CompletableFuture<Void> deleteEmployee(Long employeeId);
+}
@@ -0,0 +1,55 @@
+package com.viraj.sample.service;
+
+import com.viraj.sample.dto.EmployeePage;
+import com.viraj.sample.dto.EmployeePatch;
+import com.viraj.sample.entity.Employee;
+import com.viraj.sample.replica.ReplicaRouting;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+@Service
+public class AsyncEmployeeServiceImpl implements AsyncEmployeeService {
+
+    @Autowired
+    EmployeeService employeeService;
+
+    @Autowired
+    @Qualifier("employeeExecutor")
+    Executor employeeExecutor;
+
+    @Override
+    public CompletableFuture<Employee> saveEmployee(Employee employee) {
+        return CompletableFuture.supplyAsync(() -> employeeService.saveEmployee(employee), employeeExecutor);
+    }
+
+    @Override
+    public CompletableFuture<Employee> updateEmployee(Employee employee) {
+        return CompletableFuture.supplyAsync(() -> employeeService.updateEmployee(employee), employeeExecutor);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> patchEmployee(Long employeeId, EmployeePatch patch) {
+        return CompletableFuture.supplyAsync(() -> employeeService.patchEmployee(employeeId, patch), employeeExecutor);
+    }
+
+    @Override
+    public CompletableFuture<EmployeePage<Employee>> getEmployeePage(Long afterEmployeeId, int limit) {
+        // Keep the caller's read-your-writes routing on the executor thread.
+        return CompletableFuture.supplyAsync(
+                ReplicaRouting.propagate(() -> employeeService.getEmployeePage(afterEmployeeId, limit)), employeeExecutor);
+    }
+
+    @Override
+    public CompletableFuture<Employee> getEmployee(Long employeeId) {
+        return CompletableFuture.supplyAsync(() -> employeeService.getEmployee(employeeId), employeeExecutor);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteEmployee(Long employeeId) {
+        return CompletableFuture.runAsync(() -> employeeService.deleteEmployee(employeeId), employeeExecutor);
+    }
+}
@@ -0,0 +1,30 @@
+package com.viraj.sample.service;
+
+import com.viraj.sample.entity.Employee;
+import com.viraj.sample.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+@Component
+public class EmployeeBatchWriter {
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Transactional
+    public List<Employee> saveChunk(List<Employee> employees) {
+        List<Employee> savedEmployees = (List<Employee>) employeeRepository.saveAll(employees);
+        // Send the JDBC batches now and drop the chunk from the persistence context.
+        entityManager.flush();
+        entityManager.clear();
+        return savedEmployees;
+    }
+}
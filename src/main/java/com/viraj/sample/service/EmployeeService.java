@@ -1,14 +1,37 @@
 package com.viraj.sample.service;
 
+import com.viraj.sample.dto.EmployeeChanges;
+import com.viraj.sample.dto.EmployeeLookup;
+import com.viraj.sample.dto.EmployeeNameCursor;
+import com.viraj.sample.dto.EmployeeNamePage;
+import com.viraj.sample.dto.EmployeePage;
+import com.viraj.sample.dto.EmployeePatch;
+import com.viraj.sample.dto.EmployeeSummary;
 import com.viraj.sample.entity.Employee;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
 
     Employee saveEmployee(Employee employee);
+    List<Employee> saveAll(List<Employee> employees);
     Employee updateEmployee(Employee employee);
+    boolean patchEmployee(Long employeeId, EmployeePatch patch);
     List<Employee> getAllEmployees();
+    EmployeePage<Employee> getEmployeePage(Long afterEmployeeId, int limit);
+    List<EmployeeSummary> getAllEmployeeSummaries();
+    EmployeePage<EmployeeSummary> getEmployeeSummaryPage(Long afterEmployeeId, int limit);
     Employee getEmployee(Long employeeId);
+    Optional<Long> getEmployeeVersion(Long employeeId);
+    long getChangeVersion();
+    EmployeeSummary getEmployeeSummary(Long employeeId);
+    EmployeeNamePage getEmployeesByNamePrefix(String prefix, EmployeeNameCursor after, int limit);
+    EmployeeLookup getEmployees(List<Long> employeeIds);
+    List<Employee> searchEmployees(String query, int limit);
+    EmployeeChanges getChanges(long sinceChangeSeq, int limit);
+    void exportEmployees(Consumer<Employee> consumer);
     void deleteEmployee(Long employeeId);
+    int deleteEmployees(List<Long> employeeIds);
 }
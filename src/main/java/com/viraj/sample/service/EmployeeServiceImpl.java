@@ -1,26 +1,111 @@
 package com.viraj.sample.service;
 
+import com.viraj.sample.cache.EmployeeCache;
+import com.viraj.sample.dto.EmployeeChange;
+import com.viraj.sample.dto.EmployeeChanges;
+import com.viraj.sample.dto.EmployeeLookup;
+import com.viraj.sample.dto.EmployeeNameCursor;
+import com.viraj.sample.dto.EmployeeNamePage;
+import com.viraj.sample.dto.EmployeePage;
+import com.viraj.sample.dto.EmployeePatch;
+import com.viraj.sample.dto.EmployeeSummary;
 import com.viraj.sample.entity.Employee;
+import com.viraj.sample.entity.EmployeeTombstone;
+import com.viraj.sample.replica.ReplicaRouting;
 import com.viraj.sample.repository.EmployeeRepository;
+import com.viraj.sample.repository.EmployeeTombstoneRepository;
+import com.viraj.sample.search.EmployeeSearchIndex;
+import com.viraj.sample.snapshot.EmployeeSnapshot;
+import com.viraj.sample.snapshot.EmployeeSnapshotStore;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class EmployeeServiceImpl implements EmployeeService {
 
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int SAVE_CHUNK_SIZE = 1000;
+    static final int MAX_LOOKUP_IDS = 1000;
+    static final int LOOKUP_CHUNK_SIZE = 500;
+    static final int MAX_DELETE_IDS = 1000;
+    static final int DELETE_CHUNK_SIZE = 500;
+    static final int MAX_SEARCH_RESULTS = 100;
+
     @Autowired
     EmployeeRepository employeeRepository;
 
+    @Autowired
+    EmployeeBatchWriter employeeBatchWriter;
+
+    @Autowired
+    EmployeeCache employeeCache;
+
+    @Autowired
+    EmployeeSearchIndex employeeSearchIndex;
+
+    @Autowired
+    EmployeeTombstoneRepository employeeTombstoneRepository;
+
+    @Autowired
+    EmployeeWriteCoalescer employeeWriteCoalescer;
+
+    @Autowired
+    EmployeeSnapshotStore employeeSnapshotStore;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
     @Override
     public Employee saveEmployee(Employee employee) {
         if (employee == null) {
             throw new IllegalArgumentException("Employee cannot be null");
         }
-        return employeeRepository.save(employee);
+        Employee savedEmployee = employeeWriteCoalescer.isEnabled()
+                ? employeeWriteCoalescer.save(employee)
+                : employeeRepository.save(employee);
+        // The new id may still be cached as missing.
+        employeeCache.invalidate(savedEmployee.getEmployeeId());
+        employeeSearchIndex.index(savedEmployee);
+        return savedEmployee;
+    }
+
+    @Override
+    public List<Employee> saveAll(List<Employee> employees) {
+        if (employees == null || employees.isEmpty()) {
+            throw new IllegalArgumentException("Employees cannot be empty");
+        }
+        for (Employee employee : employees) {
+            if (employee == null) {
+                throw new IllegalArgumentException("Employee cannot be null");
+            }
+        }
+        List<Employee> savedEmployees = new ArrayList<>(employees.size());
+        for (int from = 0; from < employees.size(); from += SAVE_CHUNK_SIZE) {
+            int to = Math.min(from + SAVE_CHUNK_SIZE, employees.size());
+            savedEmployees.addAll(employeeBatchWriter.saveChunk(employees.subList(from, to)));
+        }
+        employeeCache.invalidateAll(savedEmployees.stream().map(Employee::getEmployeeId).collect(Collectors.toList()));
+        savedEmployees.forEach(employeeSearchIndex::index);
+        return savedEmployees;
     }
 
     @Override
@@ -31,29 +116,318 @@ public class EmployeeServiceImpl implements EmployeeService {
         if (employee.getEmployeeId() <= 0) {
             throw new IllegalArgumentException("Employee ID must be valid");
         }
-        return employeeRepository.save(employee);
+        Employee updatedEmployee = employeeRepository.save(employee);
+        employeeCache.invalidate(employee.getEmployeeId());
+        employeeSearchIndex.index(updatedEmployee);
+        return updatedEmployee;
+    }
+
+    @Override
+    public boolean patchEmployee(Long employeeId, EmployeePatch patch) {
+        if (employeeId == null || employeeId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be valid");
+        }
+        if (patch == null || patch.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to update");
+        }
+        int updated = employeeRepository.patchEmployee(employeeId, patch.getEmployeeName(),
+                patch.getEmployeeDescription(), patch.getVersion());
+        employeeCache.invalidate(employeeId);
+        if (updated > 0) {
+            // Index the row as stored: its version, timestamps and change sequence come from the database.
+            ReplicaRouting.onPrimary(() -> employeeRepository.findById(employeeId)).ifPresent(employeeSearchIndex::index);
+        }
+        // Only a failed versioned update needs the extra lookup to tell a conflict from a missing row.
+        if (updated == 0 && patch.getVersion() != null && employeeRepository.existsById(employeeId)) {
+            throw new ObjectOptimisticLockingFailureException(Employee.class, employeeId);
+        }
+        return updated > 0;
     }
 
 
     @Override
     public List<Employee> getAllEmployees() {
+        EmployeeSnapshot snapshot = employeeSnapshotStore.current();
+        if (snapshot != null) {
+            return snapshot.getAll();
+        }
         return (List<Employee>) employeeRepository.findAll();
     }
 
+    @Override
+    public EmployeePage<Employee> getEmployeePage(Long afterEmployeeId, int limit) {
+        validatePage(afterEmployeeId, limit);
+        long after = afterEmployeeId == null ? 0L : afterEmployeeId;
+        EmployeeSnapshot snapshot = employeeSnapshotStore.current();
+        if (snapshot != null) {
+            return snapshot.getPage(after, limit);
+        }
+        // Fetch one extra row to find out whether another page follows without a count query.
+        List<Employee> employees = employeeRepository.findByEmployeeIdGreaterThanOrderByEmployeeIdAsc(
+                after, PageRequest.of(0, limit + 1));
+        if (employees.size() <= limit) {
+            return new EmployeePage<>(employees, null);
+        }
+        List<Employee> page = employees.subList(0, limit);
+        return new EmployeePage<>(page, page.get(limit - 1).getEmployeeId());
+    }
+
+    @Override
+    public List<EmployeeSummary> getAllEmployeeSummaries() {
+        EmployeeSnapshot snapshot = employeeSnapshotStore.current();
+        if (snapshot != null) {
+            return snapshot.getAllSummaries();
+        }
+        return employeeRepository.findAllSummaries();
+    }
+
+    @Override
+    public EmployeePage<EmployeeSummary> getEmployeeSummaryPage(Long afterEmployeeId, int limit) {
+        validatePage(afterEmployeeId, limit);
+        long after = afterEmployeeId == null ? 0L : afterEmployeeId;
+        EmployeeSnapshot snapshot = employeeSnapshotStore.current();
+        if (snapshot != null) {
+            return snapshot.getSummaryPage(after, limit);
+        }
+        List<EmployeeSummary> summaries = employeeRepository.findSummariesAfter(after, PageRequest.of(0, limit + 1));
+        if (summaries.size() <= limit) {
+            return new EmployeePage<>(summaries, null);
+        }
+        List<EmployeeSummary> page = summaries.subList(0, limit);
+        return new EmployeePage<>(page, page.get(limit - 1).getEmployeeId());
+    }
+
+    private static void validatePage(Long afterEmployeeId, int limit) {
+        if (afterEmployeeId != null && afterEmployeeId < 0) {
+            throw new IllegalArgumentException("Cursor must not be negative");
+        }
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
     @Override
     public Employee getEmployee(Long employeeId) {
         if (employeeId == null || employeeId <= 0) {
             throw new IllegalArgumentException("Employee ID must be valid");
         }
-        Optional<Employee> employee = employeeRepository.findById(employeeId);
+        EmployeeSnapshot snapshot = employeeSnapshotStore.current();
+        // Loads go into the cache, so they read the primary rather than a possibly lagging replica.
+        Optional<Employee> employee = snapshot != null
+                ? snapshot.get(employeeId)
+                : employeeCache.get(employeeId, id -> ReplicaRouting.onPrimary(() -> employeeRepository.findById(id)));
         return employee.orElseThrow(() -> new NoSuchElementException("Employee not found with ID: " + employeeId));
     }
 
+    @Override
+    public Optional<Long> getEmployeeVersion(Long employeeId) {
+        if (employeeId == null || employeeId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be valid");
+        }
+        EmployeeSnapshot snapshot = employeeSnapshotStore.current();
+        if (snapshot != null) {
+            return snapshot.get(employeeId).map(Employee::getVersion);
+        }
+        Optional<Employee> cached = employeeCache.getIfPresent(employeeId);
+        return cached != null ? cached.map(Employee::getVersion) : employeeRepository.findVersionById(employeeId);
+    }
+
+    @Override
+    public long getChangeVersion() {
+        // Collection ETags have to match what the collection reads return.
+        EmployeeSnapshot snapshot = employeeSnapshotStore.current();
+        return snapshot != null ? snapshot.getLastChangeSeq() : employeeRepository.getLastChangeSeq();
+    }
+
+    @Override
+    public EmployeeSummary getEmployeeSummary(Long employeeId) {
+        if (employeeId == null || employeeId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be valid");
+        }
+        EmployeeSnapshot snapshot = employeeSnapshotStore.current();
+        if (snapshot != null) {
+            return snapshot.getSummary(employeeId)
+                    .orElseThrow(() -> new NoSuchElementException("Employee not found with ID: " + employeeId));
+        }
+        Optional<Employee> cached = employeeCache.getIfPresent(employeeId);
+        Optional<EmployeeSummary> summary = cached != null
+                ? cached.map(EmployeeSummary::of)
+                : employeeRepository.findSummaryById(employeeId);
+        return summary.orElseThrow(() -> new NoSuchElementException("Employee not found with ID: " + employeeId));
+    }
+
+    @Override
+    public EmployeeNamePage getEmployeesByNamePrefix(String prefix, EmployeeNameCursor after, int limit) {
+        if (prefix == null || prefix.isEmpty()) {
+            throw new IllegalArgumentException("Prefix cannot be empty");
+        }
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        // A leading constant prefix lets the database use IDX_EMPLOYEE_NAME_ID as a range scan.
+        String pattern = escapeLike(prefix) + "%";
+        PageRequest pageRequest = PageRequest.of(0, limit + 1);
+        List<Employee> employees = after == null
+                ? employeeRepository.findByNameLike(pattern, pageRequest)
+                : employeeRepository.findByNameLikeAfter(pattern, after.getEmployeeName(), after.getEmployeeId(), pageRequest);
+        if (employees.size() <= limit) {
+            return new EmployeeNamePage(employees, null);
+        }
+        List<Employee> page = employees.subList(0, limit);
+        return new EmployeeNamePage(page, EmployeeNameCursor.of(page.get(limit - 1)));
+    }
+
+    static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    @Override
+    public EmployeeLookup getEmployees(List<Long> employeeIds) {
+        if (employeeIds == null || employeeIds.isEmpty()) {
+            throw new IllegalArgumentException("Employee IDs cannot be empty");
+        }
+        Set<Long> distinctIds = new LinkedHashSet<>();
+        for (Long employeeId : employeeIds) {
+            if (employeeId == null || employeeId <= 0) {
+                throw new IllegalArgumentException("Employee ID must be valid");
+            }
+            distinctIds.add(employeeId);
+        }
+        if (distinctIds.size() > MAX_LOOKUP_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_LOOKUP_IDS + " employee IDs can be requested at once");
+        }
+
+        Map<Long, Optional<Employee>> resolved = employeeCache.getAll(distinctIds, uncachedIds -> {
+            List<Employee> found = new ArrayList<>();
+            for (int from = 0; from < uncachedIds.size(); from += LOOKUP_CHUNK_SIZE) {
+                List<Long> chunk = uncachedIds.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, uncachedIds.size()));
+                // Cached as well, so read from the primary.
+                ReplicaRouting.onPrimary(() -> employeeRepository.findAllById(chunk)).forEach(found::add);
+            }
+            return found;
+        });
+
+        Map<Long, Employee> employees = new LinkedHashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long employeeId : distinctIds) {
+            Optional<Employee> employee = resolved.get(employeeId);
+            if (employee.isPresent()) {
+                employees.put(employeeId, employee.get());
+            } else {
+                missingIds.add(employeeId);
+            }
+        }
+        return new EmployeeLookup(employees, missingIds);
+    }
+
+    @Override
+    public List<Employee> searchEmployees(String query, int limit) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new IllegalArgumentException("Query cannot be empty");
+        }
+        if (limit <= 0 || limit > MAX_SEARCH_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+        List<Long> employeeIds = employeeSearchIndex.search(query, limit);
+        if (employeeIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // The index keeps no copy of the rows; an employee deleted since it was ranked is left out.
+        EmployeeSnapshot snapshot = employeeSnapshotStore.current();
+        if (snapshot == null) {
+            return new ArrayList<>(getEmployees(employeeIds).getEmployees().values());
+        }
+        List<Employee> employees = new ArrayList<>(employeeIds.size());
+        for (Long employeeId : employeeIds) {
+            snapshot.get(employeeId).ifPresent(employees::add);
+        }
+        return employees;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeeChanges getChanges(long sinceChangeSeq, int limit) {
+        if (sinceChangeSeq < 0) {
+            throw new IllegalArgumentException("Change sequence must not be negative");
+        }
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        // Everything up to this value is committed. Later changes are left for the next call, so a
+        // commit landing between the two queries below cannot be skipped.
+        long lastChangeSeq = employeeRepository.getLastChangeSeq();
+        PageRequest pageRequest = PageRequest.of(0, limit + 1);
+        List<EmployeeChange> changes = new ArrayList<>();
+        for (Employee employee
+                : employeeRepository.findByChangeSeqGreaterThanOrderByChangeSeqAsc(sinceChangeSeq, pageRequest)) {
+            if (employee.getChangeSeq() <= lastChangeSeq) {
+                changes.add(EmployeeChange.of(employee));
+            }
+        }
+        for (EmployeeTombstone tombstone
+                : employeeTombstoneRepository.findByChangeSeqGreaterThanOrderByChangeSeqAsc(sinceChangeSeq, pageRequest)) {
+            if (tombstone.getChangeSeq() <= lastChangeSeq) {
+                changes.add(EmployeeChange.of(tombstone));
+            }
+        }
+        changes.sort(Comparator.comparingLong(EmployeeChange::getChangeSeq));
+        if (changes.size() > limit) {
+            List<EmployeeChange> page = new ArrayList<>(changes.subList(0, limit));
+            return new EmployeeChanges(page, page.get(limit - 1).getChangeSeq(), true);
+        }
+        return new EmployeeChanges(changes, Math.max(sinceChangeSeq, lastChangeSeq), false);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportEmployees(Consumer<Employee> consumer) {
+        if (consumer == null) {
+            throw new IllegalArgumentException("Consumer cannot be null");
+        }
+        try (Stream<Employee> employees = employeeRepository.streamAllByOrderByEmployeeIdAsc()) {
+            employees.forEach(employee -> {
+                consumer.accept(employee);
+                // Detach right away so the persistence context does not grow with the table.
+                entityManager.detach(employee);
+            });
+        }
+    }
+
     @Override
     public void deleteEmployee(Long employeeId) {
         if (employeeId == null || employeeId <= 0) {
             throw new IllegalArgumentException("Employee ID must be valid");
         }
-        employeeRepository.deleteById(employeeId);
+        int deleted = employeeRepository.deleteEmployeeById(employeeId);
+        employeeCache.invalidate(employeeId);
+        employeeSearchIndex.remove(employeeId);
+        if (deleted == 0) {
+            throw new NoSuchElementException("Employee not found with ID: " + employeeId);
+        }
+    }
+
+    @Override
+    public int deleteEmployees(List<Long> employeeIds) {
+        if (employeeIds == null || employeeIds.isEmpty()) {
+            throw new IllegalArgumentException("Employee IDs cannot be empty");
+        }
+        Set<Long> distinctIds = new LinkedHashSet<>();
+        for (Long employeeId : employeeIds) {
+            if (employeeId == null || employeeId <= 0) {
+                throw new IllegalArgumentException("Employee ID must be valid");
+            }
+            distinctIds.add(employeeId);
+        }
+        if (distinctIds.size() > MAX_DELETE_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_DELETE_IDS + " employee IDs can be deleted at once");
+        }
+        List<Long> ids = new ArrayList<>(distinctIds);
+        int deleted = 0;
+        for (int from = 0; from < ids.size(); from += DELETE_CHUNK_SIZE) {
+            deleted += employeeRepository.deleteEmployeesByIdIn(ids.subList(from, Math.min(from + DELETE_CHUNK_SIZE, ids.size())));
+        }
+        employeeCache.invalidateAll(ids);
+        ids.forEach(employeeSearchIndex::remove);
+        return deleted;
     }
 }
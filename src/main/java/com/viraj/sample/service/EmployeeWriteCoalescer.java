@@ -0,0 +1,301 @@
+package com.viraj.sample.service;
+
+import com.viraj.sample.entity.Employee;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Group commit for single employee saves. Callers queue their employee and wait; one thread takes
+ * up to max-batch-size queued employees, or whatever arrived within max-delay of the first one,
+ * and saves them in one transaction. Every caller gets its own saved employee once the batch has
+ * committed, so nothing is acknowledged before it is durable. If the batch fails, its employees
+ * are saved one by one so only the callers whose row failed get an error.
+ */
+@Component
+public class EmployeeWriteCoalescer implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeWriteCoalescer.class);
+
+    private final EmployeeWriteCoalescerProperties properties;
+    private final EmployeeBatchWriter employeeBatchWriter;
+    private final BlockingQueue<PendingSave> queue;
+    private volatile boolean running;
+    private Thread flusher;
+
+    private DistributionSummary batchSizes;
+    private Timer flushTimer;
+    private Counter fallbacks;
+
+    @Autowired
+    public EmployeeWriteCoalescer(EmployeeWriteCoalescerProperties properties, EmployeeBatchWriter employeeBatchWriter) {
+        this.properties = properties;
+        this.employeeBatchWriter = employeeBatchWriter;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    int queueSize() {
+        return queue.size();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::run, "employee-write-coalescer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+            flusher.join(properties.getMaxWait().toMillis());
+        }
+    }
+
+    /**
+     * Saves the employee with the next batch and waits for that batch to commit. A caller that
+     * waits longer than max-wait gives up, and the employee is then not written at all, so the
+     * save can be retried safely. One whose batch is already being written waits up to another
+     * max-wait for it, and is then told the outcome is unknown.
+     *
+     * @throws RejectedExecutionException when the queue is full or the save timed out
+     */
+    public Employee save(Employee employee) {
+        if (!running) {
+            throw new IllegalStateException("Write coalescing is not running");
+        }
+        PendingSave pending = new PendingSave(employee);
+        if (!queue.offer(pending)) {
+            throw new RejectedExecutionException("Too many saves waiting to be written");
+        }
+        try {
+            try {
+                return pending.result.get(properties.getMaxWait().toNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException ex) {
+                if (pending.cancel()) {
+                    throw new RejectedExecutionException("Timed out waiting for the employee to be saved; it was not saved");
+                }
+            }
+            try {
+                // Its batch is being written: give that up to another max-wait.
+                return pending.result.get(properties.getMaxWait().toNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException ex) {
+                throw new RejectedExecutionException(
+                        "Timed out waiting for the employee to be saved; it may or may not have been saved");
+            }
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the employee to be saved", ex);
+        }
+    }
+
+    private void run() {
+        List<PendingSave> batch = new ArrayList<>(properties.getMaxBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException ex) {
+                // Shutting down: write what is already queued, without waiting for more.
+                queue.drainTo(batch, properties.getMaxBatchSize() - batch.size());
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void collect(List<PendingSave> batch) throws InterruptedException {
+        PendingSave first = queue.poll(1, TimeUnit.SECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + properties.getMaxDelay().toNanos();
+        while (batch.size() < properties.getMaxBatchSize()) {
+            if (queue.drainTo(batch, properties.getMaxBatchSize() - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            PendingSave next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    void flush(List<PendingSave> batch) {
+        // Callers that timed out have been told their employee was not saved.
+        batch.removeIf(pending -> !pending.take());
+        List<PendingSave> remaining = batch;
+        while (!remaining.isEmpty()) {
+            // Two saves of one employee in a batch would be merged into the same managed entity,
+            // and the second would pass the version check because nothing is flushed in between.
+            // Later saves of an id already in the batch go into the next one, so each is checked
+            // against what the earlier one wrote, as separate saves would be.
+            Set<Long> employeeIds = new HashSet<>();
+            List<PendingSave> unique = new ArrayList<>(remaining.size());
+            List<PendingSave> later = new ArrayList<>();
+            for (PendingSave pending : remaining) {
+                if (pending.employeeId == 0 || employeeIds.add(pending.employeeId)) {
+                    unique.add(pending);
+                } else {
+                    later.add(pending);
+                }
+            }
+            write(unique);
+            remaining = later;
+        }
+    }
+
+    private void write(List<PendingSave> batch) {
+        long start = System.nanoTime();
+        List<Employee> employees = new ArrayList<>(batch.size());
+        for (PendingSave pending : batch) {
+            employees.add(pending.employee);
+        }
+        List<Employee> savedEmployees;
+        try {
+            savedEmployees = employeeBatchWriter.saveChunk(employees);
+        } catch (RuntimeException batchFailure) {
+            log.debug("Batch of {} employees failed, saving them one by one", batch.size(), batchFailure);
+            if (fallbacks != null) {
+                fallbacks.increment();
+            }
+            List<Object> results = new ArrayList<>(batch.size());
+            for (PendingSave pending : batch) {
+                try {
+                    results.add(employeeBatchWriter.saveChunk(Collections.singletonList(pending.resetEmployee())).get(0));
+                } catch (RuntimeException ex) {
+                    results.add(ex);
+                }
+            }
+            record(batch.size(), start);
+            for (int i = 0; i < batch.size(); i++) {
+                if (results.get(i) instanceof Employee) {
+                    batch.get(i).result.complete((Employee) results.get(i));
+                } else {
+                    batch.get(i).result.completeExceptionally((RuntimeException) results.get(i));
+                }
+            }
+            return;
+        }
+        // Record before releasing the callers, so the metrics include every acknowledged save.
+        record(batch.size(), start);
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result.complete(savedEmployees.get(i));
+        }
+    }
+
+    private void record(int batchSize, long start) {
+        if (batchSizes != null) {
+            batchSizes.record(batchSize);
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.write.queue", queue, BlockingQueue::size)
+                .description("Saves waiting to be written")
+                .register(registry);
+        flushTimer = Timer.builder("employee.write.flush")
+                .description("Time to write one batch of saves")
+                .register(registry);
+        fallbacks = Counter.builder("employee.write.fallbacks")
+                .description("Batches that failed and were written one row at a time")
+                .register(registry);
+        batchSizes = DistributionSummary.builder("employee.write.batch.size")
+                .description("Saves written per batch")
+                .register(registry);
+    }
+
+    static final class PendingSave {
+
+        private final Employee employee;
+        private final CompletableFuture<Employee> result = new CompletableFuture<>();
+        // Set by whichever comes first: the flusher writing the employee or its caller giving up.
+        private final AtomicBoolean taken = new AtomicBoolean();
+        // What the failed batch may have changed: a new employee got an id and all of them a
+        // change sequence value and timestamps.
+        private final long employeeId;
+        private final long version;
+        private final long changeSeq;
+        private final Instant createdAt;
+        private final Instant updatedAt;
+
+        PendingSave(Employee employee) {
+            this.employee = employee;
+            this.employeeId = employee.getEmployeeId();
+            this.version = employee.getVersion();
+            this.changeSeq = employee.getChangeSeq();
+            this.createdAt = employee.getCreatedAt();
+            this.updatedAt = employee.getUpdatedAt();
+        }
+
+        /**
+         * Claims the save for writing; false if its caller has given up on it.
+         */
+        boolean take() {
+            return taken.compareAndSet(false, true) && !result.isDone();
+        }
+
+        /**
+         * Gives up on the save; false if it is being written already.
+         */
+        boolean cancel() {
+            return taken.compareAndSet(false, true) && result.cancel(false);
+        }
+
+        /**
+         * The employee as the caller passed it in. A new employee retried after a failed batch
+         * gets a fresh id; the one it was given in the batch is not reused.
+         */
+        Employee resetEmployee() {
+            employee.setEmployeeId(employeeId);
+            employee.setVersion(version);
+            employee.setChangeSeq(changeSeq);
+            employee.setCreatedAt(createdAt);
+            employee.setUpdatedAt(updatedAt);
+            return employee;
+        }
+    }
+}
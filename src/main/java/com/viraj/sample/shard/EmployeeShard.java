@@ -0,0 +1,284 @@
+package com.viraj.sample.shard;
+
+import com.viraj.sample.dto.EmployeeNameCursor;
+import com.viraj.sample.dto.EmployeeSummary;
+import com.viraj.sample.entity.Employee;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * Plain JDBC access to the EMPLOYEE table of one shard. Every write runs in its own transaction
+ * on this shard and takes a value of the shard's own change sequence.
+ */
+class EmployeeShard {
+
+    static final String CHANGE_SEQUENCE_NAME = "EMPLOYEE";
+    static final String ID_GENERATOR_NAME = "EMPLOYEE_ID";
+    // Same as hibernate.jdbc.batch_size.
+    static final int BATCH_SIZE = 50;
+
+    private static final String COLUMNS = "EMPLOYEE_ID, EMPLOYEE_NAME, EMPLOYEE_DESCRIPTION, EMPLOYEE_VERSION, "
+            + "CREATED_AT, UPDATED_AT, CHANGE_SEQ";
+    private static final String INSERT = "insert into EMPLOYEE (" + COLUMNS + ") values (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final RowMapper<Employee> EMPLOYEE_MAPPER = (rs, rowNum) -> {
+        Employee employee = new Employee(rs.getString(2), rs.getString(3));
+        employee.setEmployeeId(rs.getLong(1));
+        employee.setVersion(rs.getLong(4));
+        employee.setCreatedAt(toInstant(rs.getTimestamp(5)));
+        employee.setUpdatedAt(toInstant(rs.getTimestamp(6)));
+        employee.setChangeSeq(rs.getLong(7));
+        return employee;
+    };
+    private static final RowMapper<EmployeeSummary> SUMMARY_MAPPER =
+            (rs, rowNum) -> new EmployeeSummary(rs.getLong(1), rs.getString(2));
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    EmployeeShard(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    DataSource getDataSource() {
+        return dataSource;
+    }
+
+    boolean isMySql() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return product.contains("MySQL") || product.contains("MariaDB");
+    }
+
+    /**
+     * Fails unless EMPLOYEE_NAME compares by code point, the order getbyname merges the shards in.
+     * MySQL's binary collations end in _bin; OFF is H2's default, binary comparison.
+     */
+    void checkNameCollation() {
+        List<String> collations = jdbcTemplate.queryForList("select COLLATION_NAME from INFORMATION_SCHEMA.COLUMNS "
+                + "where TABLE_SCHEMA = schema() and upper(TABLE_NAME) = 'EMPLOYEE' "
+                + "and upper(COLUMN_NAME) = 'EMPLOYEE_NAME'", String.class);
+        for (String collation : collations) {
+            if (collation != null && !collation.equalsIgnoreCase("OFF")
+                    && !collation.toLowerCase(Locale.ROOT).endsWith("_bin")) {
+                throw new IllegalStateException("EMPLOYEE.EMPLOYEE_NAME uses collation " + collation
+                        + "; sharding needs a binary one, e.g. ALTER TABLE EMPLOYEE MODIFY EMPLOYEE_NAME "
+                        + "VARCHAR(255) COLLATE utf8mb4_bin");
+            }
+        }
+    }
+
+    /**
+     * Inserts employees that already carry their ids, and fills in version, timestamps and change
+     * sequence the way Hibernate does on persist.
+     */
+    List<Employee> insert(List<Employee> employees) {
+        return transactionTemplate.execute(status -> {
+            long changeSeq = allocate(employees.size());
+            Instant now = Instant.now();
+            for (Employee employee : employees) {
+                employee.setVersion(0L);
+                employee.setCreatedAt(now);
+                employee.setUpdatedAt(now);
+                employee.setChangeSeq(changeSeq++);
+            }
+            jdbcTemplate.batchUpdate(INSERT, employees, BATCH_SIZE, (ps, employee) -> {
+                ps.setLong(1, employee.getEmployeeId());
+                ps.setString(2, employee.getEmployeeName());
+                ps.setString(3, employee.getEmployeeDescription());
+                ps.setLong(4, employee.getVersion());
+                ps.setTimestamp(5, Timestamp.from(employee.getCreatedAt()));
+                ps.setTimestamp(6, Timestamp.from(employee.getUpdatedAt()));
+                ps.setLong(7, employee.getChangeSeq());
+            });
+            return employees;
+        });
+    }
+
+    /**
+     * Overwrites name and description if the stored version still matches, and returns the row as
+     * stored afterwards; empty if the row is missing or has moved on.
+     */
+    Optional<Employee> update(Employee employee) {
+        return transactionTemplate.execute(status -> {
+            long changeSeq = allocate(1);
+            int updated = jdbcTemplate.update("update EMPLOYEE set EMPLOYEE_NAME = ?, EMPLOYEE_DESCRIPTION = ?, "
+                            + "EMPLOYEE_VERSION = EMPLOYEE_VERSION + 1, UPDATED_AT = ?, CHANGE_SEQ = ? "
+                            + "where EMPLOYEE_ID = ? and EMPLOYEE_VERSION = ?",
+                    employee.getEmployeeName(), employee.getEmployeeDescription(), Timestamp.from(Instant.now()),
+                    changeSeq, employee.getEmployeeId(), employee.getVersion());
+            return updated == 0 ? Optional.<Employee>empty() : findById(employee.getEmployeeId());
+        });
+    }
+
+    int patch(long employeeId, String employeeName, String employeeDescription, Long version) {
+        return transactionTemplate.execute(status -> {
+            long changeSeq = allocate(1);
+            String sql = "update EMPLOYEE set EMPLOYEE_NAME = coalesce(?, EMPLOYEE_NAME), "
+                    + "EMPLOYEE_DESCRIPTION = coalesce(?, EMPLOYEE_DESCRIPTION), "
+                    + "EMPLOYEE_VERSION = EMPLOYEE_VERSION + 1, UPDATED_AT = ?, CHANGE_SEQ = ? where EMPLOYEE_ID = ?";
+            Timestamp now = Timestamp.from(Instant.now());
+            return version == null
+                    ? jdbcTemplate.update(sql, employeeName, employeeDescription, now, changeSeq, employeeId)
+                    : jdbcTemplate.update(sql + " and EMPLOYEE_VERSION = ?",
+                            employeeName, employeeDescription, now, changeSeq, employeeId, version);
+        });
+    }
+
+    int delete(Collection<Long> employeeIds) {
+        return transactionTemplate.execute(status -> {
+            // Deletes have no tombstones here, but still move the change sequence so collection ETags change.
+            allocate(1);
+            return namedJdbcTemplate.update("delete from EMPLOYEE where EMPLOYEE_ID in (:employeeIds)",
+                    Collections.singletonMap("employeeIds", employeeIds));
+        });
+    }
+
+    boolean exists(long employeeId) {
+        return !jdbcTemplate.queryForList("select EMPLOYEE_ID from EMPLOYEE where EMPLOYEE_ID = ?",
+                Long.class, employeeId).isEmpty();
+    }
+
+    Optional<Employee> findById(long employeeId) {
+        return first(jdbcTemplate.query("select " + COLUMNS + " from EMPLOYEE where EMPLOYEE_ID = ?",
+                EMPLOYEE_MAPPER, employeeId));
+    }
+
+    Optional<Long> findVersionById(long employeeId) {
+        return first(jdbcTemplate.queryForList("select EMPLOYEE_VERSION from EMPLOYEE where EMPLOYEE_ID = ?",
+                Long.class, employeeId));
+    }
+
+    Optional<EmployeeSummary> findSummaryById(long employeeId) {
+        return first(jdbcTemplate.query("select EMPLOYEE_ID, EMPLOYEE_NAME from EMPLOYEE where EMPLOYEE_ID = ?",
+                SUMMARY_MAPPER, employeeId));
+    }
+
+    List<Employee> findByIds(Collection<Long> employeeIds) {
+        return namedJdbcTemplate.query("select " + COLUMNS + " from EMPLOYEE where EMPLOYEE_ID in (:employeeIds)",
+                Collections.singletonMap("employeeIds", employeeIds), EMPLOYEE_MAPPER);
+    }
+
+    List<Employee> findAll() {
+        return jdbcTemplate.query("select " + COLUMNS + " from EMPLOYEE order by EMPLOYEE_ID", EMPLOYEE_MAPPER);
+    }
+
+    List<EmployeeSummary> findAllSummaries() {
+        return jdbcTemplate.query("select EMPLOYEE_ID, EMPLOYEE_NAME from EMPLOYEE order by EMPLOYEE_ID",
+                SUMMARY_MAPPER);
+    }
+
+    List<Employee> findAfter(long afterEmployeeId, int limit) {
+        return jdbcTemplate.query("select " + COLUMNS + " from EMPLOYEE where EMPLOYEE_ID > ? "
+                + "order by EMPLOYEE_ID limit ?", EMPLOYEE_MAPPER, afterEmployeeId, limit);
+    }
+
+    List<EmployeeSummary> findSummariesAfter(long afterEmployeeId, int limit) {
+        return jdbcTemplate.query("select EMPLOYEE_ID, EMPLOYEE_NAME from EMPLOYEE where EMPLOYEE_ID > ? "
+                + "order by EMPLOYEE_ID limit ?", SUMMARY_MAPPER, afterEmployeeId, limit);
+    }
+
+    List<Employee> findByNameLike(String pattern, EmployeeNameCursor after, int limit) {
+        if (after == null) {
+            return jdbcTemplate.query("select " + COLUMNS + " from EMPLOYEE where EMPLOYEE_NAME like ? escape '!' "
+                    + "order by EMPLOYEE_NAME, EMPLOYEE_ID limit ?", EMPLOYEE_MAPPER, pattern, limit);
+        }
+        return jdbcTemplate.query("select " + COLUMNS + " from EMPLOYEE where EMPLOYEE_NAME like ? escape '!' "
+                        + "and (EMPLOYEE_NAME > ? or (EMPLOYEE_NAME = ? and EMPLOYEE_ID > ?)) "
+                        + "order by EMPLOYEE_NAME, EMPLOYEE_ID limit ?", EMPLOYEE_MAPPER,
+                pattern, after.getEmployeeName(), after.getEmployeeName(), after.getEmployeeId(), limit);
+    }
+
+    /**
+     * Walks the whole table in id order, {@code batchSize} rows per query, so no connection or
+     * result set is held between batches.
+     */
+    Iterator<Employee> iterateAll(int batchSize) {
+        return new Iterator<Employee>() {
+            private List<Employee> batch = findAfter(0L, batchSize);
+            private int position;
+
+            @Override
+            public boolean hasNext() {
+                if (position == batch.size() && batch.size() == batchSize) {
+                    batch = findAfter(batch.get(batchSize - 1).getEmployeeId(), batchSize);
+                    position = 0;
+                }
+                return position < batch.size();
+            }
+
+            @Override
+            public Employee next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return batch.get(position++);
+            }
+        };
+    }
+
+    long getLastChangeSeq() {
+        List<Long> nextValue = jdbcTemplate.queryForList(
+                "select NEXT_VALUE from CHANGE_SEQUENCE where SEQUENCE_NAME = ?", Long.class, CHANGE_SEQUENCE_NAME);
+        return nextValue.isEmpty() ? 0L : nextValue.get(0) - 1;
+    }
+
+    /**
+     * Reserves {@code count} employee ids from this shard's ID_GENERATOR and returns the first.
+     * Only the first shard is asked, so ids are unique across all of them.
+     */
+    long allocateIds(int count) {
+        return transactionTemplate.execute(status ->
+                reserve("ID_GENERATOR", "GENERATOR_NAME", ID_GENERATOR_NAME, count));
+    }
+
+    private long allocate(int count) {
+        return reserve("CHANGE_SEQUENCE", "SEQUENCE_NAME", CHANGE_SEQUENCE_NAME, count);
+    }
+
+    private long reserve(String table, String nameColumn, String name, int count) {
+        String update = "update " + table + " set NEXT_VALUE = NEXT_VALUE + ? where " + nameColumn + " = ?";
+        if (jdbcTemplate.update(update, count, name) == 0) {
+            try {
+                // First use: start at 1.
+                jdbcTemplate.update("insert into " + table + " (" + nameColumn + ", NEXT_VALUE) values (?, ?)",
+                        name, 1L + count);
+                return 1L;
+            } catch (DuplicateKeyException e) {
+                // A concurrent first use created the row; the update now waits for it like any other.
+                jdbcTemplate.update(update, count, name);
+            }
+        }
+        return jdbcTemplate.queryForObject("select NEXT_VALUE from " + table + " where " + nameColumn + " = ?",
+                Long.class, name) - count;
+    }
+
+    private static <T> Optional<T> first(List<T> rows) {
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+}
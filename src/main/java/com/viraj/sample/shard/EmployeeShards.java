@@ -0,0 +1,186 @@
+package com.viraj.sample.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * The datasources employees are spread over. An employee lives on the shard its id hashes to;
+ * ids are handed out in blocks from the first shard so they are unique across all of them.
+ * Adding or removing a shard changes where ids hash to, so existing rows would have to be moved.
+ */
+@Component
+@ConditionalOnProperty(prefix = "employee.sharding", name = "enabled", havingValue = "true")
+public class EmployeeShards {
+
+    private final List<EmployeeShard> shards;
+    private final ThreadPoolExecutor executor;
+    private final int idBlockSize;
+    private long nextId;
+    private long idLimit;
+
+    @Autowired
+    public EmployeeShards(ShardingProperties properties, MeterRegistry meterRegistry) {
+        this(createDataSources(properties, meterRegistry), properties.getMaximumPoolSize(),
+                properties.getIdBlockSize(), properties.isInitializeSchema());
+    }
+
+    EmployeeShards(List<? extends DataSource> dataSources, int connectionsPerShard, int idBlockSize,
+                   boolean initializeSchema) {
+        if (dataSources.isEmpty()) {
+            throw new IllegalStateException("employee.sharding.shards must list at least one datasource");
+        }
+        if (idBlockSize <= 0) {
+            throw new IllegalStateException("employee.sharding.id-block-size must be positive");
+        }
+        List<EmployeeShard> shards = new ArrayList<>(dataSources.size());
+        for (DataSource dataSource : dataSources) {
+            EmployeeShard shard = new EmployeeShard(dataSource);
+            if (initializeSchema) {
+                String schema = shard.isMySql() ? "shard-schema-mysql.sql" : "shard-schema.sql";
+                new ResourceDatabasePopulator(new ClassPathResource(schema)).execute(dataSource);
+            }
+            shard.checkNameCollation();
+            shards.add(shard);
+        }
+        this.shards = Collections.unmodifiableList(shards);
+        this.idBlockSize = idBlockSize;
+        // One thread per connection: more could only wait for the pools.
+        int threads = dataSources.size() * connectionsPerShard;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("employee-shard-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    private static List<DataSource> createDataSources(ShardingProperties properties, MeterRegistry meterRegistry) {
+        List<DataSource> dataSources = new ArrayList<>();
+        for (ShardingProperties.Shard shard : properties.getShards()) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("employee-shard-" + dataSources.size());
+            dataSource.setJdbcUrl(shard.getUrl());
+            dataSource.setUsername(shard.getUsername());
+            dataSource.setPassword(shard.getPassword());
+            dataSource.setMaximumPoolSize(properties.getMaximumPoolSize());
+            dataSource.setMetricRegistry(meterRegistry);
+            dataSources.add(dataSource);
+        }
+        return dataSources;
+    }
+
+    public int size() {
+        return shards.size();
+    }
+
+    List<EmployeeShard> all() {
+        return shards;
+    }
+
+    EmployeeShard shardFor(long employeeId) {
+        return shards.get(shardIndex(employeeId, shards.size()));
+    }
+
+    /**
+     * Ids are allocated in ascending runs, so the bits are mixed (the MurmurHash3 finalizer) before
+     * taking the remainder; otherwise each block of ids would land on the shards in turn.
+     */
+    static int shardIndex(long employeeId, int shardCount) {
+        long hash = employeeId;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return (int) Math.floorMod(hash, (long) shardCount);
+    }
+
+    /**
+     * Returns {@code count} unused ids. Whole blocks are reserved on the first shard, so most calls
+     * do not touch the database.
+     */
+    synchronized long[] allocateIds(int count) {
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            if (nextId == idLimit) {
+                int blockSize = Math.max(idBlockSize, count - i);
+                nextId = shards.get(0).allocateIds(blockSize);
+                idLimit = nextId + blockSize;
+            }
+            ids[i] = nextId++;
+        }
+        return ids;
+    }
+
+    <T> List<T> scatter(Function<EmployeeShard, T> task) {
+        return scatter(shards, task);
+    }
+
+    /**
+     * Runs {@code task} against every given shard at the same time and returns the results in the
+     * same order. The calling thread takes the first shard itself.
+     */
+    <T> List<T> scatter(List<EmployeeShard> targets, Function<EmployeeShard, T> task) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(targets.size());
+        for (int i = 1; i < targets.size(); i++) {
+            EmployeeShard shard = targets.get(i);
+            futures.add(CompletableFuture.supplyAsync(() -> task.apply(shard), executor));
+        }
+        List<T> results = new ArrayList<>(targets.size());
+        if (!targets.isEmpty()) {
+            results.add(task.apply(targets.get(0)));
+        }
+        for (CompletableFuture<T> future : futures) {
+            results.add(join(future));
+        }
+        return results;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+        for (EmployeeShard shard : shards) {
+            if (shard.getDataSource() instanceof Closeable) {
+                try {
+                    ((Closeable) shard.getDataSource()).close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,407 @@
+package com.viraj.sample.shard;
+
+import com.viraj.sample.cache.EmployeeCache;
+import com.viraj.sample.dto.EmployeeChanges;
+import com.viraj.sample.dto.EmployeeLookup;
+import com.viraj.sample.dto.EmployeeNameCursor;
+import com.viraj.sample.dto.EmployeeNamePage;
+import com.viraj.sample.dto.EmployeePage;
+import com.viraj.sample.dto.EmployeePatch;
+import com.viraj.sample.dto.EmployeeSummary;
+import com.viraj.sample.entity.Employee;
+import com.viraj.sample.search.EmployeeSearchIndex;
+import com.viraj.sample.service.EmployeeService;
+import com.viraj.sample.snapshot.EmployeeSnapshotProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * {@link EmployeeService} over {@link EmployeeShards}. Reads and writes of one employee go to the
+ * shard its id hashes to; list reads query every shard in parallel and merge the sorted results.
+ * Writes of several employees commit shard by shard, not atomically.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(prefix = "employee.sharding", name = "enabled", havingValue = "true")
+public class ShardedEmployeeService implements EmployeeService {
+
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int MAX_LOOKUP_IDS = 1000;
+    static final int MAX_DELETE_IDS = 1000;
+    static final int MAX_SEARCH_RESULTS = 100;
+    static final int EXPORT_BATCH_SIZE = 1000;
+
+    private static final Comparator<Employee> BY_ID = Comparator.comparingLong(Employee::getEmployeeId);
+    private static final Comparator<EmployeeSummary> SUMMARY_BY_ID = Comparator.comparingLong(EmployeeSummary::getEmployeeId);
+    // Must order names like the shards do, i.e. the shards need a binary collation on EMPLOYEE_NAME.
+    private static final Comparator<Employee> BY_NAME = Comparator.comparing(Employee::getEmployeeName)
+            .thenComparingLong(Employee::getEmployeeId);
+
+    @Autowired
+    EmployeeShards employeeShards;
+
+    @Autowired
+    EmployeeCache employeeCache;
+
+    @Autowired
+    EmployeeSearchIndex employeeSearchIndex;
+
+    @Autowired
+    EmployeeSnapshotProperties employeeSnapshotProperties;
+
+    /**
+     * The read snapshot is kept current from the change feed, which the shards do not provide.
+     */
+    @PostConstruct
+    void checkSnapshotDisabled() {
+        if (employeeSnapshotProperties.isEnabled()) {
+            throw new IllegalStateException("employee.snapshot.enabled cannot be used with employee.sharding.enabled");
+        }
+    }
+
+    @Override
+    public Employee saveEmployee(Employee employee) {
+        if (employee == null) {
+            throw new IllegalArgumentException("Employee cannot be null");
+        }
+        Employee savedEmployee = write(employee);
+        employeeCache.invalidate(savedEmployee.getEmployeeId());
+        employeeSearchIndex.index(savedEmployee);
+        return savedEmployee;
+    }
+
+    @Override
+    public List<Employee> saveAll(List<Employee> employees) {
+        if (employees == null || employees.isEmpty()) {
+            throw new IllegalArgumentException("Employees cannot be empty");
+        }
+        List<Employee> newEmployees = new ArrayList<>(employees.size());
+        boolean[] isNew = new boolean[employees.size()];
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            if (employee == null) {
+                throw new IllegalArgumentException("Employee cannot be null");
+            }
+            if (employee.getEmployeeId() == 0) {
+                newEmployees.add(employee);
+                isNew[i] = true;
+            }
+        }
+        long[] ids = employeeShards.allocateIds(newEmployees.size());
+        Map<EmployeeShard, List<Employee>> inserts = new LinkedHashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            newEmployees.get(i).setEmployeeId(ids[i]);
+            inserts.computeIfAbsent(employeeShards.shardFor(ids[i]), shard -> new ArrayList<>()).add(newEmployees.get(i));
+        }
+        employeeShards.scatter(new ArrayList<>(inserts.keySet()), shard -> shard.insert(inserts.get(shard)));
+
+        List<Employee> savedEmployees = new ArrayList<>(employees.size());
+        for (int i = 0; i < employees.size(); i++) {
+            // Rows that already have an id are rare here; they go through the update path one by one.
+            savedEmployees.add(isNew[i] ? employees.get(i) : write(employees.get(i)));
+        }
+        savedEmployees.forEach(employee -> employeeCache.invalidate(employee.getEmployeeId()));
+        savedEmployees.forEach(employeeSearchIndex::index);
+        return savedEmployees;
+    }
+
+    @Override
+    public Employee updateEmployee(Employee employee) {
+        if (employee == null) {
+            throw new IllegalArgumentException("Employee cannot be null");
+        }
+        if (employee.getEmployeeId() <= 0) {
+            throw new IllegalArgumentException("Employee ID must be valid");
+        }
+        Employee updatedEmployee = write(employee);
+        employeeCache.invalidate(employee.getEmployeeId());
+        employeeSearchIndex.index(updatedEmployee);
+        return updatedEmployee;
+    }
+
+    /**
+     * Same outcome as a JPA merge: an employee with an id is updated if its version still matches,
+     * and one without an id, or whose row no longer exists, is inserted under a new id.
+     */
+    private Employee write(Employee employee) {
+        if (employee.getEmployeeId() > 0) {
+            EmployeeShard shard = employeeShards.shardFor(employee.getEmployeeId());
+            Optional<Employee> updated = shard.update(employee);
+            if (updated.isPresent()) {
+                return updated.get();
+            }
+            if (shard.exists(employee.getEmployeeId())) {
+                throw new ObjectOptimisticLockingFailureException(Employee.class, employee.getEmployeeId());
+            }
+        }
+        long employeeId = employeeShards.allocateIds(1)[0];
+        employee.setEmployeeId(employeeId);
+        employeeShards.shardFor(employeeId).insert(Collections.singletonList(employee));
+        return employee;
+    }
+
+    @Override
+    public boolean patchEmployee(Long employeeId, EmployeePatch patch) {
+        if (employeeId == null || employeeId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be valid");
+        }
+        if (patch == null || patch.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to update");
+        }
+        EmployeeShard shard = employeeShards.shardFor(employeeId);
+        int updated = shard.patch(employeeId, patch.getEmployeeName(), patch.getEmployeeDescription(), patch.getVersion());
+        employeeCache.invalidate(employeeId);
+        if (updated > 0) {
+            // Index the row as stored: its version, timestamps and change sequence come from the database.
+            shard.findById(employeeId).ifPresent(employeeSearchIndex::index);
+        }
+        if (updated == 0 && patch.getVersion() != null && shard.exists(employeeId)) {
+            throw new ObjectOptimisticLockingFailureException(Employee.class, employeeId);
+        }
+        return updated > 0;
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() {
+        return SortedMerge.merge(employeeShards.scatter(EmployeeShard::findAll), BY_ID, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public EmployeePage<Employee> getEmployeePage(Long afterEmployeeId, int limit) {
+        validatePage(afterEmployeeId, limit);
+        long after = afterEmployeeId == null ? 0L : afterEmployeeId;
+        // Any shard may hold the whole page, so each is asked for limit + 1 rows.
+        List<Employee> employees = SortedMerge.merge(
+                employeeShards.scatter(shard -> shard.findAfter(after, limit + 1)), BY_ID, limit + 1);
+        if (employees.size() <= limit) {
+            return new EmployeePage<>(employees, null);
+        }
+        List<Employee> page = employees.subList(0, limit);
+        return new EmployeePage<>(page, page.get(limit - 1).getEmployeeId());
+    }
+
+    @Override
+    public List<EmployeeSummary> getAllEmployeeSummaries() {
+        return SortedMerge.merge(employeeShards.scatter(EmployeeShard::findAllSummaries), SUMMARY_BY_ID,
+                Integer.MAX_VALUE);
+    }
+
+    @Override
+    public EmployeePage<EmployeeSummary> getEmployeeSummaryPage(Long afterEmployeeId, int limit) {
+        validatePage(afterEmployeeId, limit);
+        long after = afterEmployeeId == null ? 0L : afterEmployeeId;
+        List<EmployeeSummary> summaries = SortedMerge.merge(
+                employeeShards.scatter(shard -> shard.findSummariesAfter(after, limit + 1)), SUMMARY_BY_ID, limit + 1);
+        if (summaries.size() <= limit) {
+            return new EmployeePage<>(summaries, null);
+        }
+        List<EmployeeSummary> page = summaries.subList(0, limit);
+        return new EmployeePage<>(page, page.get(limit - 1).getEmployeeId());
+    }
+
+    private static void validatePage(Long afterEmployeeId, int limit) {
+        if (afterEmployeeId != null && afterEmployeeId < 0) {
+            throw new IllegalArgumentException("Cursor must not be negative");
+        }
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    @Override
+    public Employee getEmployee(Long employeeId) {
+        if (employeeId == null || employeeId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be valid");
+        }
+        return employeeCache.get(employeeId, id -> employeeShards.shardFor(id).findById(id))
+                .orElseThrow(() -> new NoSuchElementException("Employee not found with ID: " + employeeId));
+    }
+
+    @Override
+    public Optional<Long> getEmployeeVersion(Long employeeId) {
+        if (employeeId == null || employeeId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be valid");
+        }
+        Optional<Employee> cached = employeeCache.getIfPresent(employeeId);
+        return cached != null
+                ? cached.map(Employee::getVersion)
+                : employeeShards.shardFor(employeeId).findVersionById(employeeId);
+    }
+
+    @Override
+    public long getChangeVersion() {
+        // Every shard sequence only grows, so their sum changes whenever any shard is written.
+        long changeVersion = 0L;
+        for (Long lastChangeSeq : employeeShards.scatter(EmployeeShard::getLastChangeSeq)) {
+            changeVersion += lastChangeSeq;
+        }
+        return changeVersion;
+    }
+
+    @Override
+    public EmployeeSummary getEmployeeSummary(Long employeeId) {
+        if (employeeId == null || employeeId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be valid");
+        }
+        Optional<Employee> cached = employeeCache.getIfPresent(employeeId);
+        Optional<EmployeeSummary> summary = cached != null
+                ? cached.map(EmployeeSummary::of)
+                : employeeShards.shardFor(employeeId).findSummaryById(employeeId);
+        return summary.orElseThrow(() -> new NoSuchElementException("Employee not found with ID: " + employeeId));
+    }
+
+    @Override
+    public EmployeeNamePage getEmployeesByNamePrefix(String prefix, EmployeeNameCursor after, int limit) {
+        if (prefix == null || prefix.isEmpty()) {
+            throw new IllegalArgumentException("Prefix cannot be empty");
+        }
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        String pattern = escapeLike(prefix) + "%";
+        List<Employee> employees = SortedMerge.merge(
+                employeeShards.scatter(shard -> shard.findByNameLike(pattern, after, limit + 1)), BY_NAME, limit + 1);
+        if (employees.size() <= limit) {
+            return new EmployeeNamePage(employees, null);
+        }
+        List<Employee> page = employees.subList(0, limit);
+        return new EmployeeNamePage(page, EmployeeNameCursor.of(page.get(limit - 1)));
+    }
+
+    static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    @Override
+    public EmployeeLookup getEmployees(List<Long> employeeIds) {
+        Set<Long> distinctIds = distinctIds(employeeIds);
+        if (distinctIds.size() > MAX_LOOKUP_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_LOOKUP_IDS + " employee IDs can be requested at once");
+        }
+
+        Map<Long, Optional<Employee>> resolved = employeeCache.getAll(distinctIds, uncachedIds -> {
+            Map<EmployeeShard, List<Long>> byShard = new LinkedHashMap<>();
+            for (Long employeeId : uncachedIds) {
+                byShard.computeIfAbsent(employeeShards.shardFor(employeeId), shard -> new ArrayList<>()).add(employeeId);
+            }
+            List<Employee> found = new ArrayList<>();
+            employeeShards.scatter(new ArrayList<>(byShard.keySet()), shard -> shard.findByIds(byShard.get(shard)))
+                    .forEach(found::addAll);
+            return found;
+        });
+
+        Map<Long, Employee> employees = new LinkedHashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long employeeId : distinctIds) {
+            Optional<Employee> employee = resolved.get(employeeId);
+            if (employee.isPresent()) {
+                employees.put(employeeId, employee.get());
+            } else {
+                missingIds.add(employeeId);
+            }
+        }
+        return new EmployeeLookup(employees, missingIds);
+    }
+
+    @Override
+    public List<Employee> searchEmployees(String query, int limit) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new IllegalArgumentException("Query cannot be empty");
+        }
+        if (limit <= 0 || limit > MAX_SEARCH_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+        List<Long> employeeIds = employeeSearchIndex.search(query, limit);
+        if (employeeIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // The index keeps no copy of the rows; an employee deleted since it was ranked is left out.
+        return new ArrayList<>(getEmployees(employeeIds).getEmployees().values());
+    }
+
+    /**
+     * Each shard numbers its changes on its own, and deletes leave no tombstones, so there is no
+     * single ordered feed to hand out.
+     */
+    @Override
+    public EmployeeChanges getChanges(long sinceChangeSeq, int limit) {
+        throw new UnsupportedOperationException("The change feed is not available when employees are sharded");
+    }
+
+    @Override
+    public void exportEmployees(Consumer<Employee> consumer) {
+        if (consumer == null) {
+            throw new IllegalArgumentException("Consumer cannot be null");
+        }
+        List<Iterator<Employee>> shards = new ArrayList<>(employeeShards.size());
+        for (EmployeeShard shard : employeeShards.all()) {
+            shards.add(shard.iterateAll(EXPORT_BATCH_SIZE));
+        }
+        SortedMerge.merge(shards, BY_ID).forEachRemaining(consumer);
+    }
+
+    @Override
+    public void deleteEmployee(Long employeeId) {
+        if (employeeId == null || employeeId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be valid");
+        }
+        int deleted = employeeShards.shardFor(employeeId).delete(Collections.singletonList(employeeId));
+        employeeCache.invalidate(employeeId);
+        employeeSearchIndex.remove(employeeId);
+        if (deleted == 0) {
+            throw new NoSuchElementException("Employee not found with ID: " + employeeId);
+        }
+    }
+
+    @Override
+    public int deleteEmployees(List<Long> employeeIds) {
+        Set<Long> distinctIds = distinctIds(employeeIds);
+        if (distinctIds.size() > MAX_DELETE_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_DELETE_IDS + " employee IDs can be deleted at once");
+        }
+        Map<EmployeeShard, List<Long>> byShard = new LinkedHashMap<>();
+        for (Long employeeId : distinctIds) {
+            byShard.computeIfAbsent(employeeShards.shardFor(employeeId), shard -> new ArrayList<>()).add(employeeId);
+        }
+        int deleted = 0;
+        for (int count : employeeShards.scatter(new ArrayList<>(byShard.keySet()),
+                shard -> shard.delete(byShard.get(shard)))) {
+            deleted += count;
+        }
+        List<Long> ids = new ArrayList<>(distinctIds);
+        employeeCache.invalidateAll(ids);
+        ids.forEach(employeeSearchIndex::remove);
+        return deleted;
+    }
+
+    private static Set<Long> distinctIds(List<Long> employeeIds) {
+        if (employeeIds == null || employeeIds.isEmpty()) {
+            throw new IllegalArgumentException("Employee IDs cannot be empty");
+        }
+        Set<Long> distinctIds = new LinkedHashSet<>();
+        for (Long employeeId : employeeIds) {
+            if (employeeId == null || employeeId <= 0) {
+                throw new IllegalArgumentException("Employee ID must be valid");
+            }
+            distinctIds.add(employeeId);
+        }
+        return distinctIds;
+    }
+}
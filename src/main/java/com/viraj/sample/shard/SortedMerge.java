@@ -0,0 +1,79 @@
+package com.viraj.sample.shard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * K-way merge of per-shard results that are each already sorted. A heap holds the head of every
+ * source, so merging n elements from k sources costs O(n log k) and the sources are consumed
+ * lazily.
+ */
+final class SortedMerge {
+
+    private SortedMerge() {
+    }
+
+    static <T> List<T> merge(List<List<T>> sources, Comparator<? super T> comparator, int limit) {
+        List<Iterator<T>> iterators = new ArrayList<>(sources.size());
+        int total = 0;
+        for (List<T> source : sources) {
+            iterators.add(source.iterator());
+            total += source.size();
+        }
+        Iterator<T> merged = merge(iterators, comparator);
+        List<T> result = new ArrayList<>(Math.min(total, limit));
+        while (result.size() < limit && merged.hasNext()) {
+            result.add(merged.next());
+        }
+        return result;
+    }
+
+    static <T> Iterator<T> merge(List<Iterator<T>> sources, Comparator<? super T> comparator) {
+        // Ties go to the earlier source so the output does not depend on heap order.
+        PriorityQueue<Head<T>> heads = new PriorityQueue<>(Math.max(1, sources.size()),
+                Comparator.<Head<T>, T>comparing(head -> head.value, comparator).thenComparingInt(head -> head.source));
+        for (int i = 0; i < sources.size(); i++) {
+            Iterator<T> source = sources.get(i);
+            if (source.hasNext()) {
+                heads.add(new Head<>(source.next(), source, i));
+            }
+        }
+        return new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                Head<T> head = heads.poll();
+                if (head == null) {
+                    throw new NoSuchElementException();
+                }
+                T value = head.value;
+                if (head.iterator.hasNext()) {
+                    head.value = head.iterator.next();
+                    heads.add(head);
+                }
+                return value;
+            }
+        };
+    }
+
+    private static final class Head<T> {
+
+        private T value;
+        private final Iterator<T> iterator;
+        private final int source;
+
+        Head(T value, Iterator<T> iterator, int source) {
+            this.value = value;
+            this.iterator = iterator;
+            this.source = source;
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.viraj.sample.snapshot;
+
+import com.viraj.sample.dto.EmployeeChange;
+import com.viraj.sample.dto.EmployeePage;
+import com.viraj.sample.dto.EmployeeSummary;
+import com.viraj.sample.entity.Employee;
+
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Immutable, column-oriented copy of the employee table. Rows are stored as parallel primitive
+ * arrays sorted by id and looked up by binary search; names and descriptions are kept once in a
+ * dictionary and referenced by index, so repeated values cost four bytes per row. Employees are
+ * only materialized when they are returned. The lookup from string to index is only needed while
+ * rows are encoded, so it lives in the builder and is not kept with the snapshot.
+ * <p>
+ * Applying changes shares the dictionary with the snapshot it starts from and copies unchanged rows
+ * array range by array range, so a refresh costs a few array copies instead of re-encoding every row.
+ * Strings the changes bring in are appended without looking for them among the existing ones; the
+ * duplicates this leaves go when the dictionary is compacted.
+ */
+public final class EmployeeSnapshot {
+
+    private static final int NULL_STRING = -1;
+    private static final long NULL_INSTANT = Long.MIN_VALUE;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    // Strings of deleted and renamed rows stay in the shared dictionary; once it holds more than
+    // twice the strings the rows can reference it is rebuilt from the live rows.
+    private static final int STRINGS_PER_ROW = 2;
+    private static final int MIN_COMPACT_STRINGS = 1024;
+
+    private final long[] ids;
+    private final long[] versions;
+    private final long[] changeSeqs;
+    private final long[] createdAt;
+    private final long[] updatedAt;
+    private final int[] names;
+    private final int[] descriptions;
+    private final Dictionary dictionary;
+    // The dictionary array as of the build; later snapshots only append past stringCount.
+    private final String[] strings;
+    private final int stringCount;
+    private final long lastChangeSeq;
+
+    private EmployeeSnapshot(Builder builder) {
+        int size = builder.size;
+        // Arrays filled exactly are taken as is; a builder reused after build() grows into new ones.
+        this.ids = trim(builder.ids, size);
+        this.versions = trim(builder.versions, size);
+        this.changeSeqs = trim(builder.changeSeqs, size);
+        this.createdAt = trim(builder.createdAt, size);
+        this.updatedAt = trim(builder.updatedAt, size);
+        this.names = trim(builder.names, size);
+        this.descriptions = trim(builder.descriptions, size);
+        this.dictionary = builder.dictionary;
+        synchronized (dictionary) {
+            this.strings = dictionary.strings;
+            this.stringCount = dictionary.size;
+        }
+        this.lastChangeSeq = builder.lastChangeSeq;
+    }
+
+    public static Builder builder(long lastChangeSeq) {
+        return new Builder(lastChangeSeq, new Dictionary(), 16);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Change sequence of the last change contained in the snapshot.
+     */
+    public long getLastChangeSeq() {
+        return lastChangeSeq;
+    }
+
+    public Optional<Employee> get(long employeeId) {
+        int row = Arrays.binarySearch(ids, employeeId);
+        return row < 0 ? Optional.empty() : Optional.of(employee(row));
+    }
+
+    public Optional<EmployeeSummary> getSummary(long employeeId) {
+        int row = Arrays.binarySearch(ids, employeeId);
+        return row < 0 ? Optional.empty() : Optional.of(summary(row));
+    }
+
+    public List<Employee> getAll() {
+        return new AbstractList<Employee>() {
+            @Override
+            public Employee get(int row) {
+                return employee(row);
+            }
+
+            @Override
+            public int size() {
+                return ids.length;
+            }
+        };
+    }
+
+    public List<EmployeeSummary> getAllSummaries() {
+        return new AbstractList<EmployeeSummary>() {
+            @Override
+            public EmployeeSummary get(int row) {
+                return summary(row);
+            }
+
+            @Override
+            public int size() {
+                return ids.length;
+            }
+        };
+    }
+
+    public EmployeePage<Employee> getPage(long afterEmployeeId, int limit) {
+        return page(getAll(), afterEmployeeId, limit);
+    }
+
+    public EmployeePage<EmployeeSummary> getSummaryPage(long afterEmployeeId, int limit) {
+        return page(getAllSummaries(), afterEmployeeId, limit);
+    }
+
+    /**
+     * Returns a new snapshot with the changes applied. Changes must be in change sequence order;
+     * the snapshot itself is left untouched.
+     */
+    public EmployeeSnapshot apply(List<EmployeeChange> changes, long lastChangeSeq) {
+        // employee id -> changed employee, or null when it was deleted
+        TreeMap<Long, Employee> changed = new TreeMap<>();
+        for (EmployeeChange change : changes) {
+            changed.put(change.getEmployeeId(), change.isDeleted() ? null : change.getEmployee());
+        }
+        int size = ids.length;
+        for (Map.Entry<Long, Employee> entry : changed.entrySet()) {
+            boolean present = Arrays.binarySearch(ids, entry.getKey()) >= 0;
+            if (present && entry.getValue() == null) {
+                size--;
+            } else if (!present && entry.getValue() != null) {
+                size++;
+            }
+        }
+        boolean compact = stringCount > Math.max(MIN_COMPACT_STRINGS, 2 * STRINGS_PER_ROW * size);
+        Builder builder = new Builder(lastChangeSeq, compact ? new Dictionary() : dictionary, Math.max(size, 1));
+        int row = 0;
+        for (Map.Entry<Long, Employee> entry : changed.entrySet()) {
+            int next = Arrays.binarySearch(ids, row, ids.length, entry.getKey());
+            int end = next < 0 ? -next - 1 : next;
+            builder.copy(this, row, end);
+            row = next < 0 ? end : end + 1;
+            if (entry.getValue() != null) {
+                builder.add(entry.getValue(), next < 0 ? null : this, next);
+            }
+        }
+        builder.copy(this, row, ids.length);
+        return builder.build();
+    }
+
+    /**
+     * Approximate heap used by the snapshot: the row arrays, the dictionary array and its strings
+     * (a 24 byte String and a 16 byte char array header each). Strings appended by snapshots
+     * applied from this one are not counted.
+     */
+    public long estimatedBytes() {
+        long bytes = 16L * 10 + 5L * 8 * ids.length + 2L * 4 * ids.length + 4L * strings.length;
+        for (int code = 0; code < stringCount; code++) {
+            bytes += 40 + 2L * strings[code].length();
+        }
+        return bytes;
+    }
+
+    private Employee employee(int row) {
+        Employee employee = new Employee(string(names[row]), string(descriptions[row]));
+        employee.setEmployeeId(ids[row]);
+        employee.setVersion(versions[row]);
+        employee.setCreatedAt(instant(createdAt[row]));
+        employee.setUpdatedAt(instant(updatedAt[row]));
+        employee.setChangeSeq(changeSeqs[row]);
+        return employee;
+    }
+
+    private EmployeeSummary summary(int row) {
+        return new EmployeeSummary(ids[row], string(names[row]));
+    }
+
+    private String string(int code) {
+        return code == NULL_STRING ? null : strings[code];
+    }
+
+    private <T> EmployeePage<T> page(List<T> rows, long afterEmployeeId, int limit) {
+        int from = Arrays.binarySearch(ids, afterEmployeeId);
+        from = from < 0 ? -from - 1 : from + 1;
+        int to = (int) Math.min((long) from + limit, ids.length);
+        List<T> page = new ArrayList<>(rows.subList(from, to));
+        return new EmployeePage<>(page, to < ids.length && !page.isEmpty() ? ids[to - 1] : null);
+    }
+
+    private static long[] trim(long[] array, int size) {
+        return array.length == size ? array : Arrays.copyOf(array, size);
+    }
+
+    private static int[] trim(int[] array, int size) {
+        return array.length == size ? array : Arrays.copyOf(array, size);
+    }
+
+    private static long epochNanos(Instant instant) {
+        return instant == null ? NULL_INSTANT : instant.getEpochSecond() * NANOS_PER_SECOND + instant.getNano();
+    }
+
+    private static Instant instant(long epochNanos) {
+        return epochNanos == NULL_INSTANT ? null
+                : Instant.ofEpochSecond(Math.floorDiv(epochNanos, NANOS_PER_SECOND),
+                Math.floorMod(epochNanos, NANOS_PER_SECOND));
+    }
+
+    /**
+     * Append-only string dictionary, shared by a snapshot and the snapshots applied from it. Codes are
+     * never reassigned, so each snapshot keeps reading the array it was built with while newer ones
+     * append past its end.
+     */
+    private static final class Dictionary {
+
+        private String[] strings = new String[16];
+        private int size;
+
+        synchronized int append(String string) {
+            if (size == strings.length) {
+                strings = Arrays.copyOf(strings, size + (size >> 1));
+            }
+            strings[size] = string;
+            return size++;
+        }
+    }
+
+    /**
+     * Collects rows in ascending id order.
+     */
+    public static final class Builder {
+
+        private final long lastChangeSeq;
+        private final Dictionary dictionary;
+        // Codes of the strings this builder appended, so each is appended once. Dropped with the builder.
+        private final Map<String, Integer> codes = new HashMap<>();
+        private long[] ids;
+        private long[] versions;
+        private long[] changeSeqs;
+        private long[] createdAt;
+        private long[] updatedAt;
+        private int[] names;
+        private int[] descriptions;
+        private int size;
+
+        private Builder(long lastChangeSeq, Dictionary dictionary, int capacity) {
+            this.lastChangeSeq = lastChangeSeq;
+            this.dictionary = dictionary;
+            this.ids = new long[capacity];
+            this.versions = new long[capacity];
+            this.changeSeqs = new long[capacity];
+            this.createdAt = new long[capacity];
+            this.updatedAt = new long[capacity];
+            this.names = new int[capacity];
+            this.descriptions = new int[capacity];
+        }
+
+        public Builder add(Employee employee) {
+            return add(employee, null, 0);
+        }
+
+        /**
+         * Adds an employee that replaces {@code row} of {@code previous} (null for a new one),
+         * keeping the codes of strings that did not change when the dictionary is shared.
+         */
+        private Builder add(Employee employee, EmployeeSnapshot previous, int row) {
+            if (size > 0 && employee.getEmployeeId() <= ids[size - 1]) {
+                throw new IllegalArgumentException("Employees must be added in ascending id order");
+            }
+            boolean shared = previous != null && previous.dictionary == dictionary;
+            int name = shared && Objects.equals(employee.getEmployeeName(), previous.string(previous.names[row]))
+                    ? previous.names[row] : encode(employee.getEmployeeName());
+            int description = shared && Objects.equals(employee.getEmployeeDescription(),
+                    previous.string(previous.descriptions[row]))
+                    ? previous.descriptions[row] : encode(employee.getEmployeeDescription());
+            append(employee.getEmployeeId(), employee.getVersion(), employee.getChangeSeq(),
+                    epochNanos(employee.getCreatedAt()), epochNanos(employee.getUpdatedAt()), name, description);
+            return this;
+        }
+
+        public EmployeeSnapshot build() {
+            return new EmployeeSnapshot(this);
+        }
+
+        /**
+         * Copies rows [from, to) of the snapshot, as whole array ranges when it shares the dictionary.
+         */
+        private void copy(EmployeeSnapshot snapshot, int from, int to) {
+            if (from >= to) {
+                return;
+            }
+            if (snapshot.dictionary != dictionary) {
+                for (int row = from; row < to; row++) {
+                    if (size > 0 && snapshot.ids[row] <= ids[size - 1]) {
+                        throw new IllegalArgumentException("Employees must be added in ascending id order");
+                    }
+                    append(snapshot.ids[row], snapshot.versions[row], snapshot.changeSeqs[row],
+                            snapshot.createdAt[row], snapshot.updatedAt[row],
+                            encode(snapshot.string(snapshot.names[row])),
+                            encode(snapshot.string(snapshot.descriptions[row])));
+                }
+                return;
+            }
+            if (size > 0 && snapshot.ids[from] <= ids[size - 1]) {
+                throw new IllegalArgumentException("Employees must be added in ascending id order");
+            }
+            int length = to - from;
+            ensureCapacity(size + length);
+            System.arraycopy(snapshot.ids, from, ids, size, length);
+            System.arraycopy(snapshot.versions, from, versions, size, length);
+            System.arraycopy(snapshot.changeSeqs, from, changeSeqs, size, length);
+            System.arraycopy(snapshot.createdAt, from, createdAt, size, length);
+            System.arraycopy(snapshot.updatedAt, from, updatedAt, size, length);
+            System.arraycopy(snapshot.names, from, names, size, length);
+            System.arraycopy(snapshot.descriptions, from, descriptions, size, length);
+            size += length;
+        }
+
+        private void append(long employeeId, long version, long changeSeq, long created, long updated,
+                            int name, int description) {
+            ensureCapacity(size + 1);
+            ids[size] = employeeId;
+            versions[size] = version;
+            changeSeqs[size] = changeSeq;
+            createdAt[size] = created;
+            updatedAt[size] = updated;
+            names[size] = name;
+            descriptions[size] = description;
+            size++;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > ids.length) {
+                capacity = Math.max(capacity, ids.length + (ids.length >> 1));
+                ids = Arrays.copyOf(ids, capacity);
+                versions = Arrays.copyOf(versions, capacity);
+                changeSeqs = Arrays.copyOf(changeSeqs, capacity);
+                createdAt = Arrays.copyOf(createdAt, capacity);
+                updatedAt = Arrays.copyOf(updatedAt, capacity);
+                names = Arrays.copyOf(names, capacity);
+                descriptions = Arrays.copyOf(descriptions, capacity);
+            }
+        }
+
+        private int encode(String string) {
+            return string == null ? NULL_STRING : codes.computeIfAbsent(string, dictionary::append);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.viraj.sample.snapshot;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "employee.snapshot")
+public class EmployeeSnapshotProperties {
+
+    private boolean enabled = false;
+    private Duration refreshInterval = Duration.ofSeconds(1);
+    private int refreshBatchSize = 1000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    public int getRefreshBatchSize() {
+        return refreshBatchSize;
+    }
+
+    public void setRefreshBatchSize(int refreshBatchSize) {
+        this.refreshBatchSize = refreshBatchSize;
+    }
+}
@@ -0,0 +1,98 @@
+package com.viraj.sample.snapshot;
+
+import com.viraj.sample.dto.EmployeeChange;
+import com.viraj.sample.dto.EmployeeChanges;
+import com.viraj.sample.service.EmployeeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the snapshot once the application is up and then keeps it current from the change feed,
+ * so a refresh costs one query when nothing changed and never rereads the whole table.
+ */
+@Component
+public class EmployeeSnapshotRefresher {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeSnapshotRefresher.class);
+
+    @Autowired
+    EmployeeService employeeService;
+
+    @Autowired
+    EmployeeSnapshotStore employeeSnapshotStore;
+
+    @Autowired
+    EmployeeSnapshotProperties properties;
+
+    private ScheduledExecutorService scheduler;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("employee-snapshot-"));
+        scheduler.scheduleWithFixedDelay(this::refreshQuietly, 0,
+                properties.getRefreshInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    void load() {
+        long start = System.nanoTime();
+        // Changes committed during the scan are in the feed after this point and get applied again.
+        long changeSeq = employeeService.getChangeVersion();
+        EmployeeSnapshot.Builder builder = EmployeeSnapshot.builder(changeSeq);
+        employeeService.exportEmployees(builder::add);
+        employeeSnapshotStore.replace(builder.build());
+        refresh();
+        EmployeeSnapshot snapshot = employeeSnapshotStore.current();
+        log.info("Loaded {} employees into the read snapshot ({} KB) in {} ms", snapshot.size(),
+                snapshot.estimatedBytes() / 1024, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    void refresh() {
+        EmployeeSnapshot snapshot = employeeSnapshotStore.current();
+        if (snapshot == null) {
+            load();
+            return;
+        }
+        long changeSeq = snapshot.getLastChangeSeq();
+        EmployeeChanges changes;
+        List<EmployeeChange> pending = new ArrayList<>();
+        do {
+            changes = employeeService.getChanges(changeSeq, properties.getRefreshBatchSize());
+            pending.addAll(changes.getChanges());
+            changeSeq = changes.getLastChangeSeq();
+        } while (changes.isHasMore());
+        if (!pending.isEmpty()) {
+            employeeSnapshotStore.replace(snapshot.apply(pending, changeSeq));
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException ex) {
+            // Keep serving the last snapshot; the next run starts from where this one stopped.
+            log.warn("Refreshing the employee snapshot failed", ex);
+        }
+    }
+}
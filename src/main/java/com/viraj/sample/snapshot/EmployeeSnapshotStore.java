@@ -0,0 +1,43 @@
+package com.viraj.sample.snapshot;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the snapshot that reads are served from. Empty until the first load has finished, and
+ * always empty when employee.snapshot.enabled is false.
+ */
+@Component
+public class EmployeeSnapshotStore implements MeterBinder {
+
+    private volatile EmployeeSnapshot snapshot;
+
+    /**
+     * @return the current snapshot, or null when reads have to go to the database
+     */
+    public EmployeeSnapshot current() {
+        return snapshot;
+    }
+
+    void replace(EmployeeSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.snapshot.employees", this, store -> store.snapshot == null ? 0 : store.snapshot.size())
+                .description("Employees in the read snapshot")
+                .register(registry);
+        Gauge.builder("employee.snapshot.bytes", this,
+                store -> store.snapshot == null ? 0 : store.snapshot.estimatedBytes())
+                .description("Approximate heap used by the read snapshot")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("employee.snapshot.change.seq", this,
+                store -> store.snapshot == null ? 0 : store.snapshot.getLastChangeSeq())
+                .description("Last change contained in the read snapshot")
+                .register(registry);
+    }
+}
@@ -0,0 +1,27 @@
+-- Tables of one employee shard; the same layout Hibernate creates for the single database.
+-- Only the first shard's ID_GENERATOR is used. H2 shards need MODE=MySQL for the inline indexes.
+-- MySQL shards get shard-schema-mysql.sql instead.
+CREATE TABLE IF NOT EXISTS EMPLOYEE (
+    EMPLOYEE_ID BIGINT NOT NULL,
+    EMPLOYEE_NAME VARCHAR(255),
+    EMPLOYEE_DESCRIPTION VARCHAR(255),
+    EMPLOYEE_VERSION BIGINT DEFAULT 0 NOT NULL,
+    CREATED_AT DATETIME(6),
+    UPDATED_AT DATETIME(6),
+    CHANGE_SEQ BIGINT DEFAULT 0 NOT NULL,
+    PRIMARY KEY (EMPLOYEE_ID),
+    INDEX IDX_EMPLOYEE_NAME_ID (EMPLOYEE_NAME, EMPLOYEE_ID),
+    INDEX IDX_EMPLOYEE_CHANGE_SEQ (CHANGE_SEQ)
+);
+
+CREATE TABLE IF NOT EXISTS CHANGE_SEQUENCE (
+    SEQUENCE_NAME VARCHAR(255) NOT NULL,
+    NEXT_VALUE BIGINT NOT NULL,
+    PRIMARY KEY (SEQUENCE_NAME)
+);
+
+CREATE TABLE IF NOT EXISTS ID_GENERATOR (
+    GENERATOR_NAME VARCHAR(255) NOT NULL,
+    NEXT_VALUE BIGINT,
+    PRIMARY KEY (GENERATOR_NAME)
+);
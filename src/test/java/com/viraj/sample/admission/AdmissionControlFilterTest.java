@@ -0,0 +1,143 @@
+package com.viraj.sample.admission;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlFilterTest {
+
+    private final AtomicLong time = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setClientRate(1);
+        properties.setClientBurst(2);
+        AdmissionProperties.Endpoint getAll = new AdmissionProperties.Endpoint();
+        getAll.setPattern("/employee/getall");
+        getAll.setMaxConcurrent(1);
+        properties.getEndpoints().add(getAll);
+        Ticker ticker = time::get;
+        filter = new AdmissionControlFilter(properties, ticker);
+        meterRegistry = new SimpleMeterRegistry();
+        filter.bindTo(meterRegistry);
+    }
+
+    private static MockHttpServletRequest request(String uri, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request, FilterChain chain)
+            throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    @Test
+    void testRateLimitedClientGets429() throws Exception {
+        filter(request("/employee/getone/1", "10.0.0.1"), new MockFilterChain());
+        filter(request("/employee/getone/1", "10.0.0.1"), new MockFilterChain());
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = filter(request("/employee/getone/1", "10.0.0.1"), chain);
+
+        assertEquals(429, response.getStatus());
+        assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertNull(chain.getRequest());
+        assertEquals(1.0, meterRegistry.get("employee.admission.rejected")
+                .tag("reason", "rate").tag("endpoint", AdmissionControlFilter.OTHER_ENDPOINTS).counter().count());
+        // Another client is not affected, and the first one gets in again after a second.
+        assertEquals(200, filter(request("/employee/getone/1", "10.0.0.2"), new MockFilterChain()).getStatus());
+        time.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(200, filter(request("/employee/getone/1", "10.0.0.1"), new MockFilterChain()).getStatus());
+    }
+
+    @Test
+    void testRotatingClientIdIsStillRateLimited() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest request = request("/employee/getone/1", "10.0.0.1");
+            request.addHeader(AdmissionControlFilter.CLIENT_ID_HEADER, "client-" + i);
+            filter(request, new MockFilterChain());
+        }
+
+        MockHttpServletRequest request = request("/employee/getone/1", "10.0.0.1");
+        request.addHeader(AdmissionControlFilter.CLIENT_ID_HEADER, "client-2");
+
+        assertEquals(429, filter(request, new MockFilterChain()).getStatus());
+    }
+
+    @Test
+    void testTrustedClientIdSeparatesClientsBehindOneAddress() throws Exception {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setClientRate(1);
+        properties.setClientBurst(1);
+        properties.setTrustClientId(true);
+        filter = new AdmissionControlFilter(properties, time::get);
+        MockHttpServletRequest first = request("/employee/getone/1", "10.0.0.1");
+        first.addHeader(AdmissionControlFilter.CLIENT_ID_HEADER, "a");
+        MockHttpServletRequest second = request("/employee/getone/1", "10.0.0.1");
+        second.addHeader(AdmissionControlFilter.CLIENT_ID_HEADER, "b");
+
+        assertEquals(200, filter(first, new MockFilterChain()).getStatus());
+        assertEquals(200, filter(second, new MockFilterChain()).getStatus());
+        MockHttpServletRequest again = request("/employee/getone/1", "10.0.0.2");
+        again.addHeader(AdmissionControlFilter.CLIENT_ID_HEADER, "a");
+        assertEquals(429, filter(again, new MockFilterChain()).getStatus());
+    }
+
+    @Test
+    void testBusyEndpointGets503() throws Exception {
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+        // The second request arrives while the first is still in the chain.
+        FilterChain chain = (request, response) -> nested[0] = filter(request("/employee/getall", "10.0.0.2"), new MockFilterChain());
+
+        MockHttpServletResponse response = filter(request("/employee/getall", "10.0.0.1"), chain);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(503, nested[0].getStatus());
+        assertEquals(AdmissionControlFilter.RETRY_AFTER_SECONDS, nested[0].getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(0.0, meterRegistry.get("employee.admission.in.flight").gauge().value());
+        assertEquals(1.0, meterRegistry.get("employee.admission.rejected")
+                .tag("reason", "concurrency").tag("endpoint", "/employee/getall").counter().count());
+        assertEquals(200, filter(request("/employee/getall", "10.0.0.3"), new MockFilterChain()).getStatus());
+    }
+
+    @Test
+    void testAsyncRequestHoldsPermitUntilComplete() throws Exception {
+        MockHttpServletRequest request = request("/employee/getall", "10.0.0.1");
+        request.setAsyncSupported(true);
+
+        filter(request, (req, res) -> req.startAsync());
+
+        assertEquals(1.0, meterRegistry.get("employee.admission.in.flight").gauge().value());
+        request.getAsyncContext().complete();
+        assertEquals(0.0, meterRegistry.get("employee.admission.in.flight").gauge().value());
+    }
+
+    @Test
+    void testOtherPathsAreNotFiltered() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            MockFilterChain chain = new MockFilterChain();
+            filter(request("/actuator/health", "10.0.0.1"), chain);
+            assertNotNull(chain.getRequest());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.viraj.sample.admission;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientRateLimiterTest {
+
+    private final AtomicLong time = new AtomicLong();
+    private ClientRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        Ticker ticker = time::get;
+        // 10 a second, so one token every 100ms, and up to 3 at once.
+        rateLimiter = new ClientRateLimiter(10, 3, 100, ticker);
+    }
+
+    @Test
+    void testBurstThenRate() {
+        assertEquals(0, rateLimiter.tryAcquire("a"));
+        assertEquals(0, rateLimiter.tryAcquire("a"));
+        assertEquals(0, rateLimiter.tryAcquire("a"));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), rateLimiter.tryAcquire("a"));
+
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(40));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(60), rateLimiter.tryAcquire("a"));
+
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(60));
+        assertEquals(0, rateLimiter.tryAcquire("a"));
+        assertTrue(rateLimiter.tryAcquire("a") > 0);
+    }
+
+    @Test
+    void testClientsHaveTheirOwnBuckets() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("a");
+        }
+
+        assertTrue(rateLimiter.tryAcquire("a") > 0);
+        assertEquals(0, rateLimiter.tryAcquire("b"));
+    }
+
+    @Test
+    void testIdleBucketRefillsToBurstOnly() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("a");
+        }
+        time.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        assertEquals(0, rateLimiter.tryAcquire("a"));
+        assertEquals(0, rateLimiter.tryAcquire("a"));
+        assertEquals(0, rateLimiter.tryAcquire("a"));
+        assertTrue(rateLimiter.tryAcquire("a") > 0);
+    }
+
+    @Test
+    void testConcurrentCallersShareOneBucket() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger admitted = new AtomicInteger();
+        for (int i = 0; i < 1000; i++) {
+            executor.execute(() -> {
+                if (rateLimiter.tryAcquire("a") == 0) {
+                    admitted.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // The clock does not move, so exactly the burst gets through.
+        assertEquals(3, admitted.get());
+    }
+}
@@ -0,0 +1,73 @@
+package com.viraj.sample.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimiterTest {
+
+    private static final long TARGET = 100;
+
+    @Test
+    void testFixedLimit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("/employee/export", 2, false, 1, TARGET);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        limiter.release(0, 10_000);
+        assertTrue(limiter.tryAcquire());
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void testSlowRequestsShrinkAdaptiveLimitOncePerWindow() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("/employee/getall", 10, true, 2, TARGET);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+
+        // All ten started before the first slow one finished, so only that one counts.
+        for (int i = 0; i < 10; i++) {
+            limiter.release(0, 1000 + i);
+        }
+        assertEquals(9, limiter.getLimit());
+
+        assertTrue(limiter.tryAcquire());
+        limiter.release(2000, 3000);
+        assertEquals(8, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testAdaptiveLimitStaysWithinBounds() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("/employee/getall", 4, true, 2, TARGET);
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire();
+            limiter.release(i * 1000, i * 1000 + 500);
+        }
+        assertEquals(2, limiter.getLimit());
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+    }
+
+    @Test
+    void testFastRequestsGrowBusyLimitBackToMax() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("/employee/getall", 4, true, 2, TARGET);
+        limiter.tryAcquire();
+        limiter.release(0, 500);
+        limiter.tryAcquire();
+        limiter.release(1000, 1500);
+        assertEquals(3, limiter.getLimit());
+
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire();
+            limiter.tryAcquire();
+            limiter.release(0, 10);
+            limiter.release(0, 10);
+        }
+
+        assertEquals(4, limiter.getLimit());
+    }
+}
@@ -0,0 +1,157 @@
+package com.viraj.sample.cache;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.viraj.sample.entity.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeCacheTest {
+
+    private final AtomicLong time = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private EmployeeCache employeeCache;
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        EmployeeCacheProperties properties = new EmployeeCacheProperties();
+        properties.setMaximumSize(2);
+        properties.setTimeToLive(Duration.ofMinutes(5));
+        properties.setNegativeTimeToLive(Duration.ofSeconds(5));
+        Ticker ticker = time::get;
+        employeeCache = new EmployeeCache(properties, ticker, Runnable::run);
+
+        employee = new Employee("John Doe", "Senior Developer");
+        employee.setEmployeeId(1L);
+    }
+
+    private Function<Long, Optional<Employee>> loader() {
+        return employeeId -> {
+            loads.incrementAndGet();
+            return employeeId == 1L ? Optional.of(employee) : Optional.empty();
+        };
+    }
+
+    @Test
+    void testGetCachesLoadedEmployee() {
+        assertEquals(Optional.of(employee), employeeCache.get(1L, loader()));
+        assertEquals(Optional.of(employee), employeeCache.get(1L, loader()));
+
+        assertEquals(1, loads.get());
+        assertEquals(1L, employeeCache.getStatistics().get("hitCount"));
+        assertEquals(1L, employeeCache.getStatistics().get("missCount"));
+    }
+
+    @Test
+    void testMissingEmployeeIsCachedBriefly() {
+        assertFalse(employeeCache.get(99L, loader()).isPresent());
+        assertFalse(employeeCache.get(99L, loader()).isPresent());
+        assertEquals(1, loads.get());
+
+        time.addAndGet(TimeUnit.SECONDS.toNanos(6));
+
+        assertFalse(employeeCache.get(99L, loader()).isPresent());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testPresentEmployeeExpiresAfterTimeToLive() {
+        employeeCache.get(1L, loader());
+        time.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        employeeCache.get(1L, loader());
+        assertEquals(1, loads.get());
+
+        time.addAndGet(TimeUnit.MINUTES.toNanos(5));
+        employeeCache.get(1L, loader());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testLoadOverlappingInvalidateIsNotCached() {
+        Function<Long, Optional<Employee>> racingLoader = employeeId -> {
+            loads.incrementAndGet();
+            // The employee is updated while its old state is being read.
+            employeeCache.invalidate(employeeId);
+            return Optional.of(employee);
+        };
+
+        assertEquals(Optional.of(employee), employeeCache.get(1L, racingLoader));
+        assertNull(employeeCache.getIfPresent(1L));
+    }
+
+    @Test
+    void testLoadOverlappingInvalidateOfAnotherIdIsCached() {
+        Function<Long, Optional<Employee>> loader = employeeId -> {
+            loads.incrementAndGet();
+            employeeCache.invalidate(2L);
+            return Optional.of(employee);
+        };
+
+        employeeCache.get(1L, loader);
+
+        assertEquals(Optional.of(employee), employeeCache.getIfPresent(1L));
+    }
+
+    @Test
+    void testGetAllCachesWhatWasNotInvalidated() {
+        employeeCache.get(2L, loader());
+
+        Map<Long, Optional<Employee>> employees = employeeCache.getAll(Arrays.asList(99L, 1L, 2L), employeeIds -> {
+            assertEquals(Arrays.asList(99L, 1L), employeeIds);
+            // Employee 1 is updated while the old rows are being read.
+            employeeCache.invalidate(1L);
+            return Collections.singletonList(employee);
+        });
+
+        assertEquals(Arrays.asList(99L, 1L, 2L), new ArrayList<>(employees.keySet()));
+        assertEquals(Optional.of(employee), employees.get(1L));
+        assertFalse(employees.get(99L).isPresent());
+        assertNull(employeeCache.getIfPresent(1L));
+        assertEquals(Optional.empty(), employeeCache.getIfPresent(99L));
+    }
+
+    @Test
+    void testInvalidate() {
+        employeeCache.get(1L, loader());
+        employeeCache.invalidate(1L);
+        employeeCache.get(1L, loader());
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testInvalidateAll() {
+        employeeCache.get(1L, loader());
+        employeeCache.get(2L, loader());
+        employeeCache.invalidateAll(Arrays.asList(1L, 2L));
+        employeeCache.get(1L, loader());
+        employeeCache.get(2L, loader());
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void testSizeIsBounded() {
+        for (long employeeId = 1; employeeId <= 10; employeeId++) {
+            employeeCache.get(employeeId, loader());
+        }
+        employeeCache.getCache().cleanUp();
+
+        assertTrue(employeeCache.getCache().estimatedSize() <= 2);
+        assertTrue(employeeCache.getStatistics().get("evictionCount").longValue() >= 8);
+    }
+}
@@ -0,0 +1,109 @@
+package com.viraj.sample.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 16;
+
+    private final SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    private final AtomicInteger loads = new AtomicInteger();
+    private final CountDownLatch arrived = new CountDownLatch(CALLERS);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testConcurrentCallersShareOneLoad() throws Exception {
+        List<Future<String>> results = submitCallers(id -> "employee-" + id);
+        awaitCallers();
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("employee-1", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    void testConcurrentCallersShareFailure() throws Exception {
+        List<Future<String>> results = submitCallers(id -> {
+            throw new IllegalStateException("database down");
+        });
+        awaitCallers();
+        release.countDown();
+
+        for (Future<String> result : results) {
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertEquals("database down", ex.getCause().getMessage());
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testLoadsAgainOnceFinished() {
+        assertEquals("a", singleFlight.execute(1L, id -> "a"));
+        assertEquals("b", singleFlight.execute(1L, id -> "b"));
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    void testForgetStartsNewLoad() throws Exception {
+        List<Future<String>> results = submitCallers(id -> "stale");
+        awaitCallers();
+
+        singleFlight.forget(1L);
+        assertEquals("fresh", singleFlight.execute(1L, id -> "fresh"));
+        release.countDown();
+        assertEquals("stale", results.get(0).get(5, TimeUnit.SECONDS));
+    }
+
+    private List<Future<String>> submitCallers(Function<Long, String> loader) {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> {
+                arrived.countDown();
+                return singleFlight.execute(1L, id -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return loader.apply(id);
+                });
+            }));
+        }
+        return results;
+    }
+
+    // Gives every caller time to get from arrived to waiting on the running load.
+    private void awaitCallers() throws InterruptedException {
+        assertTrue(arrived.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
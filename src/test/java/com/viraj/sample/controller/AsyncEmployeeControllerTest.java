@@ -0,0 +1,127 @@
+package com.viraj.sample.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.viraj.sample.dto.EmployeePage;
+import com.viraj.sample.entity.Employee;
+import com.viraj.sample.service.AsyncEmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Collections;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AsyncEmployeeController.class)
+class AsyncEmployeeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private AsyncEmployeeService asyncEmployeeService;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        employee = new Employee();
+        employee.setEmployeeId(1L);
+        employee.setEmployeeName("John Doe");
+        employee.setEmployeeDescription("Senior Developer");
+    }
+
+    @Test
+    void testGetEmployee() throws Exception {
+        when(asyncEmployeeService.getEmployee(1L)).thenReturn(CompletableFuture.completedFuture(employee));
+
+        MvcResult result = mockMvc.perform(get("/employee/async/getone/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employeeName", is("John Doe")));
+    }
+
+    @Test
+    void testGetEmployeeNotFound() throws Exception {
+        CompletableFuture<Employee> future = new CompletableFuture<>();
+        future.completeExceptionally(new NoSuchElementException("No value present"));
+        when(asyncEmployeeService.getEmployee(99L)).thenReturn(future);
+
+        MvcResult result = mockMvc.perform(get("/employee/async/getone/99"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testGetEmployeeRejectedWhenExecutorIsFull() throws Exception {
+        when(asyncEmployeeService.getEmployee(1L)).thenThrow(new RejectedExecutionException("queue full"));
+
+        mockMvc.perform(get("/employee/async/getone/1"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", AsyncEmployeeController.RETRY_AFTER_SECONDS));
+    }
+
+    @Test
+    void testGetEmployeesPage() throws Exception {
+        when(asyncEmployeeService.getEmployeePage(null, 1)).thenReturn(CompletableFuture.completedFuture(
+                new EmployeePage<>(Collections.singletonList(employee), 1L)));
+
+        MvcResult result = mockMvc.perform(get("/employee/async/getall").param("limit", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(EmployeeController.NEXT_CURSOR_HEADER, "1"))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void testSaveEmployee() throws Exception {
+        when(asyncEmployeeService.saveEmployee(any(Employee.class)))
+                .thenReturn(CompletableFuture.completedFuture(employee));
+
+        MvcResult result = mockMvc.perform(post("/employee/async/save")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.employeeId", is(1)));
+    }
+
+    @Test
+    void testDeleteEmployeeInvalidId() throws Exception {
+        MvcResult result = mockMvc.perform(delete("/employee/async/delete/0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest());
+
+        verifyZeroInteractions(asyncEmployeeService);
+    }
+}
@@ -1,21 +1,43 @@
 package com.viraj.sample.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.viraj.sample.dto.EmployeeChange;
+import com.viraj.sample.dto.EmployeeChanges;
+import com.viraj.sample.dto.EmployeeLookup;
+import com.viraj.sample.dto.EmployeeNameCursor;
+import com.viraj.sample.dto.EmployeeNamePage;
+import com.viraj.sample.dto.EmployeePage;
+import com.viraj.sample.dto.EmployeePatch;
+import com.viraj.sample.dto.EmployeeSummary;
 import com.viraj.sample.entity.Employee;
 import com.viraj.sample.service.EmployeeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -80,6 +102,42 @@ class EmployeeControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void testSaveEmployeeQueueFull() throws Exception {
+        when(employeeService.saveEmployee(any())).thenThrow(new RejectedExecutionException("Too many saves waiting to be written"));
+
+        mockMvc.perform(post("/employee/save")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void testSaveAllEmployees() throws Exception {
+        List<Employee> employees = Arrays.asList(employee, employee2);
+        when(employeeService.saveAll(anyList())).thenReturn(employees);
+
+        mockMvc.perform(post("/employee/saveall")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employees)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].employeeId", is(2)));
+
+        verify(employeeService, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void testSaveAllEmployeesEmpty() throws Exception {
+        mockMvc.perform(post("/employee/saveall")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest());
+
+        verify(employeeService, never()).saveAll(anyList());
+    }
+
     @Test
     void testUpdateEmployee() throws Exception {
         employee.setEmployeeName("John Updated");
@@ -108,6 +166,51 @@ class EmployeeControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void testPatchEmployee() throws Exception {
+        when(employeeService.patchEmployee(eq(1L), ArgumentMatchers.any(EmployeePatch.class))).thenReturn(true);
+
+        mockMvc.perform(patch("/employee/update/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"employeeDescription\":\"Architect\",\"version\":0}"))
+                .andExpect(status().isNoContent());
+
+        verify(employeeService, times(1)).patchEmployee(eq(1L), argThat(patch ->
+                patch.getEmployeeName() == null && "Architect".equals(patch.getEmployeeDescription())
+                        && Long.valueOf(0L).equals(patch.getVersion())));
+    }
+
+    @Test
+    void testPatchEmployeeNotFound() throws Exception {
+        when(employeeService.patchEmployee(eq(99L), ArgumentMatchers.any(EmployeePatch.class))).thenReturn(false);
+
+        mockMvc.perform(patch("/employee/update/99")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"employeeName\":\"Nobody\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testPatchEmployeeVersionConflict() throws Exception {
+        when(employeeService.patchEmployee(eq(1L), ArgumentMatchers.any(EmployeePatch.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Employee.class, 1L));
+
+        mockMvc.perform(patch("/employee/update/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"employeeName\":\"John\",\"version\":1}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testPatchEmployeeNothingToUpdate() throws Exception {
+        mockMvc.perform(patch("/employee/update/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"version\":1}"))
+                .andExpect(status().isBadRequest());
+
+        verify(employeeService, never()).patchEmployee(anyLong(), any());
+    }
+
     @Test
     void testGetAllEmployees() throws Exception {
         List<Employee> employees = new ArrayList<>();
@@ -126,6 +229,42 @@ class EmployeeControllerTest {
         verify(employeeService, times(1)).getAllEmployees();
     }
 
+    @Test
+    void testGetAllEmployeesAsCbor() throws Exception {
+        when(employeeService.getAllEmployees()).thenReturn(Arrays.asList(employee, employee2));
+
+        byte[] body = mockMvc.perform(get("/employee/getall").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/cbor"))
+                .andExpect(header().string("Vary", "Accept"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        Employee[] employees = new ObjectMapper(new CBORFactory()).readValue(body, Employee[].class);
+        assertEquals(employee2.toString(), employees[1].toString());
+    }
+
+    @Test
+    void testGetEmployeeAsSmile() throws Exception {
+        when(employeeService.getEmployee(1L)).thenReturn(employee);
+
+        byte[] body = mockMvc.perform(get("/employee/getone/1").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(employee.toString(), new ObjectMapper(new SmileFactory()).readValue(body, Employee.class).toString());
+    }
+
+    @Test
+    void testJsonIsDefaultEncoding() throws Exception {
+        when(employeeService.getEmployee(1L)).thenReturn(employee);
+
+        mockMvc.perform(get("/employee/getone/1").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.employeeName", is("John Doe")));
+    }
+
     @Test
     void testGetAllEmployeesEmpty() throws Exception {
         List<Employee> employees = new ArrayList<>();
@@ -140,6 +279,107 @@ class EmployeeControllerTest {
         verify(employeeService, times(1)).getAllEmployees();
     }
 
+    @Test
+    void testGetAllEmployeesPaged() throws Exception {
+        when(employeeService.getEmployeePage(null, 2)).thenReturn(new EmployeePage<>(Arrays.asList(employee, employee2), 2L));
+
+        mockMvc.perform(get("/employee/getall")
+                .param("limit", "2")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "2"))
+                .andExpect(jsonPath("$", hasSize(2)));
+
+        verify(employeeService, never()).getAllEmployees();
+    }
+
+    @Test
+    void testGetAllEmployeesSummaries() throws Exception {
+        when(employeeService.getAllEmployeeSummaries()).thenReturn(Arrays.asList(
+                EmployeeSummary.of(employee), EmployeeSummary.of(employee2)));
+
+        mockMvc.perform(get("/employee/getall").param("fields", "employeeId,employeeName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].employeeName", is("John Doe")))
+                .andExpect(jsonPath("$[0].employeeDescription").doesNotExist());
+
+        verify(employeeService, never()).getAllEmployees();
+    }
+
+    @Test
+    void testGetAllEmployeesSummaryPage() throws Exception {
+        when(employeeService.getEmployeeSummaryPage(null, 1))
+                .thenReturn(new EmployeePage<>(Collections.singletonList(EmployeeSummary.of(employee)), 1L));
+
+        mockMvc.perform(get("/employee/getall").param("limit", "1").param("fields", "employeeName"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "1"))
+                .andExpect(jsonPath("$[0].employeeDescription").doesNotExist());
+
+        verify(employeeService, never()).getEmployeePage(any(), anyInt());
+    }
+
+    @Test
+    void testGetAllEmployeesFieldsNeedingEntity() throws Exception {
+        when(employeeService.getAllEmployees()).thenReturn(Collections.singletonList(employee));
+
+        mockMvc.perform(get("/employee/getall").param("fields", "employeeName, employeeDescription"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].employeeDescription", is("Senior Developer")));
+
+        verify(employeeService, never()).getAllEmployeeSummaries();
+    }
+
+    @Test
+    void testGetAllEmployeesUnknownField() throws Exception {
+        mockMvc.perform(get("/employee/getall").param("fields", "employeeId,salary"))
+                .andExpect(status().isBadRequest());
+
+        verifyZeroInteractions(employeeService);
+    }
+
+    @Test
+    void testGetAllEmployeesLastPage() throws Exception {
+        when(employeeService.getEmployeePage(2L, 100)).thenReturn(new EmployeePage<>(Collections.emptyList(), null));
+
+        mockMvc.perform(get("/employee/getall")
+                .param("after", "2")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void testGetAllEmployeesInvalidLimit() throws Exception {
+        when(employeeService.getEmployeePage(null, 0)).thenThrow(new IllegalArgumentException("Limit must be between 1 and 1000"));
+
+        mockMvc.perform(get("/employee/getall")
+                .param("limit", "0")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testExportEmployees() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Employee> consumer = invocation.getArgument(0);
+            consumer.accept(employee);
+            consumer.accept(employee2);
+            return null;
+        }).when(employeeService).exportEmployees(any());
+
+        String body = mockMvc.perform(get("/employee/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(objectMapper.writeValueAsString(employee) + "\n"
+                + objectMapper.writeValueAsString(employee2) + "\n", body);
+    }
+
     @Test
     void testGetEmployee() throws Exception {
         when(employeeService.getEmployee(1L)).thenReturn(employee);
@@ -153,6 +393,102 @@ class EmployeeControllerTest {
         verify(employeeService, times(1)).getEmployee(1L);
     }
 
+    @Test
+    void testGetEmployeeSetsETag() throws Exception {
+        employee.setVersion(3L);
+        when(employeeService.getEmployee(1L)).thenReturn(employee);
+
+        mockMvc.perform(get("/employee/getone/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-3\""));
+
+        verify(employeeService, never()).getEmployeeVersion(anyLong());
+    }
+
+    @Test
+    void testGetEmployeeNotModified() throws Exception {
+        when(employeeService.getEmployeeVersion(1L)).thenReturn(Optional.of(3L));
+
+        mockMvc.perform(get("/employee/getone/1").header("If-None-Match", "\"1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"1-3\""))
+                .andExpect(content().string(""));
+
+        verify(employeeService, never()).getEmployee(anyLong());
+    }
+
+    @Test
+    void testGetEmployeeChangedSinceETag() throws Exception {
+        employee.setVersion(4L);
+        when(employeeService.getEmployeeVersion(1L)).thenReturn(Optional.of(4L));
+        when(employeeService.getEmployee(1L)).thenReturn(employee);
+
+        mockMvc.perform(get("/employee/getone/1").header("If-None-Match", "\"1-3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-4\""))
+                .andExpect(jsonPath("$.version", is(4)));
+    }
+
+    @Test
+    void testGetAllEmployeesNotModified() throws Exception {
+        when(employeeService.getChangeVersion()).thenReturn(7L);
+        when(employeeService.getEmployeePage(eq(null), anyInt()))
+                .thenReturn(new EmployeePage<>(Arrays.asList(employee, employee2), null));
+
+        String eTag = mockMvc.perform(get("/employee/getall").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/employee/getall").param("limit", "2").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+        verify(employeeService, times(1)).getEmployeePage(null, 2);
+
+        // Another page of the same table has another ETag.
+        mockMvc.perform(get("/employee/getall").param("limit", "3").header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+
+        when(employeeService.getChangeVersion()).thenReturn(8L);
+        mockMvc.perform(get("/employee/getall").param("limit", "2").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)));
+    }
+
+    @Test
+    void testMatchesETag() {
+        assertTrue(EmployeeController.matchesETag("\"1-2\"", "\"1-2\""));
+        assertTrue(EmployeeController.matchesETag("\"0-1\", W/\"1-2\"", "\"1-2\""));
+        assertTrue(EmployeeController.matchesETag("*", "\"1-2\""));
+        assertFalse(EmployeeController.matchesETag("\"1-3\"", "\"1-2\""));
+        assertFalse(EmployeeController.matchesETag(null, "\"1-2\""));
+    }
+
+    @Test
+    void testGetEmployeeSummary() throws Exception {
+        when(employeeService.getEmployeeVersion(1L)).thenReturn(Optional.of(3L));
+        when(employeeService.getEmployeeSummary(1L)).thenReturn(EmployeeSummary.of(employee));
+
+        mockMvc.perform(get("/employee/getone/1").param("fields", "employeeId,employeeName"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-3\""))
+                .andExpect(jsonPath("$.employeeId", is(1)))
+                .andExpect(jsonPath("$.employeeName", is("John Doe")))
+                .andExpect(jsonPath("$.employeeDescription").doesNotExist());
+
+        verify(employeeService, never()).getEmployee(anyLong());
+    }
+
+    @Test
+    void testGetEmployeeSummaryNotModified() throws Exception {
+        when(employeeService.getEmployeeVersion(1L)).thenReturn(Optional.of(3L));
+
+        mockMvc.perform(get("/employee/getone/1").param("fields", "employeeName").header("If-None-Match", "\"1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"1-3\""))
+                .andExpect(content().string(""));
+
+        verify(employeeService, never()).getEmployeeSummary(anyLong());
+    }
+
     @Test
     void testGetEmployeeNotFound() throws Exception {
         when(employeeService.getEmployee(anyLong())).thenThrow(new NoSuchElementException("Employee not found with ID: 99"));
@@ -171,6 +507,31 @@ class EmployeeControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void testGetEmployees() throws Exception {
+        Map<Long, Employee> employees = new LinkedHashMap<>();
+        employees.put(1L, employee);
+        when(employeeService.getEmployees(Arrays.asList(1L, 99L)))
+                .thenReturn(new EmployeeLookup(employees, Collections.singletonList(99L)));
+
+        mockMvc.perform(post("/employee/getmany")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1, 99]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees.1.employeeName", is("John Doe")))
+                .andExpect(jsonPath("$.missingIds", contains(99)));
+    }
+
+    @Test
+    void testGetEmployeesEmpty() throws Exception {
+        mockMvc.perform(post("/employee/getmany")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest());
+
+        verify(employeeService, never()).getEmployees(anyList());
+    }
+
     @Test
     void testDeleteEmployee() throws Exception {
         doNothing().when(employeeService).deleteEmployee(anyLong());
@@ -182,6 +543,138 @@ class EmployeeControllerTest {
         verify(employeeService, times(1)).deleteEmployee(1L);
     }
 
+    @Test
+    void testDeleteEmployeeNotFound() throws Exception {
+        doThrow(new NoSuchElementException("Employee not found with ID: 99")).when(employeeService).deleteEmployee(99L);
+
+        mockMvc.perform(delete("/employee/delete/99")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testGetEmployeesByName() throws Exception {
+        EmployeeNameCursor cursor = new EmployeeNameCursor("Jane Smith", 2L);
+        when(employeeService.getEmployeesByNamePrefix("J", null, 1))
+                .thenReturn(new EmployeeNamePage(Collections.singletonList(employee2), cursor));
+
+        mockMvc.perform(get("/employee/getbyname").param("prefix", "J").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(EmployeeController.NEXT_CURSOR_HEADER, cursor.toToken()))
+                .andExpect(jsonPath("$[0].employeeName", is("Jane Smith")));
+    }
+
+    @Test
+    void testGetEmployeesByNameAfterCursor() throws Exception {
+        String token = new EmployeeNameCursor("Jane Smith", 2L).toToken();
+        when(employeeService.getEmployeesByNamePrefix(eq("J"), ArgumentMatchers.any(EmployeeNameCursor.class), eq(20)))
+                .thenAnswer(invocation -> {
+                    EmployeeNameCursor cursor = invocation.getArgument(1);
+                    assertEquals("Jane Smith", cursor.getEmployeeName());
+                    assertEquals(2L, cursor.getEmployeeId());
+                    return new EmployeeNamePage(Collections.singletonList(employee), null);
+                });
+
+        mockMvc.perform(get("/employee/getbyname").param("prefix", "J").param("after", token))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(EmployeeController.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$[0].employeeName", is("John Doe")));
+    }
+
+    @Test
+    void testGetEmployeesByNameInvalidCursor() throws Exception {
+        mockMvc.perform(get("/employee/getbyname").param("prefix", "J").param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+
+        verify(employeeService, never()).getEmployeesByNamePrefix(anyString(),
+                ArgumentMatchers.any(EmployeeNameCursor.class), anyInt());
+    }
+
+    @Test
+    void testGetChanges() throws Exception {
+        employee.setChangeSeq(5L);
+        when(employeeService.getChanges(4L, EmployeeController.DEFAULT_PAGE_SIZE)).thenReturn(new EmployeeChanges(
+                Arrays.asList(EmployeeChange.of(employee), new EmployeeChange(6L, 2L, true, null)), 6L, false));
+
+        mockMvc.perform(get("/employee/changes").param("since", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(2)))
+                .andExpect(jsonPath("$.changes[0].employee.employeeName", is("John Doe")))
+                .andExpect(jsonPath("$.changes[0].employee.changeSeq", is(5)))
+                .andExpect(jsonPath("$.changes[1].deleted", is(true)))
+                .andExpect(jsonPath("$.lastChangeSeq", is(6)))
+                .andExpect(jsonPath("$.hasMore", is(false)));
+    }
+
+    @Test
+    void testGetChangesInvalidSince() throws Exception {
+        when(employeeService.getChanges(-1L, EmployeeController.DEFAULT_PAGE_SIZE))
+                .thenThrow(new IllegalArgumentException("Change sequence must not be negative"));
+
+        mockMvc.perform(get("/employee/changes").param("since", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetChangesUnsupported() throws Exception {
+        when(employeeService.getChanges(0L, EmployeeController.DEFAULT_PAGE_SIZE))
+                .thenThrow(new UnsupportedOperationException("The change feed is not available when employees are sharded"));
+
+        mockMvc.perform(get("/employee/changes"))
+                .andExpect(status().isNotImplemented());
+    }
+
+    @Test
+    void testSearchEmployees() throws Exception {
+        when(employeeService.searchEmployees("john dev", EmployeeController.DEFAULT_SEARCH_LIMIT))
+                .thenReturn(Collections.singletonList(employee));
+
+        mockMvc.perform(get("/employee/search").param("q", "john dev"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].employeeName", is("John Doe")));
+    }
+
+    @Test
+    void testSearchEmployeesInvalidLimit() throws Exception {
+        when(employeeService.searchEmployees("john", 0)).thenThrow(new IllegalArgumentException("Limit"));
+
+        mockMvc.perform(get("/employee/search").param("q", "john").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testDeleteEmployees() throws Exception {
+        when(employeeService.deleteEmployees(Arrays.asList(1L, 2L, 99L))).thenReturn(2);
+
+        mockMvc.perform(post("/employee/deletemany")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1, 2, 99]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted", is(2)));
+    }
+
+    @Test
+    void testDeleteEmployeesEmpty() throws Exception {
+        mockMvc.perform(post("/employee/deletemany")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest());
+
+        verify(employeeService, never()).deleteEmployees(anyList());
+    }
+
+    @Test
+    void testDeleteEmployeesTooMany() throws Exception {
+        when(employeeService.deleteEmployees(anyList()))
+                .thenThrow(new IllegalArgumentException("At most 1000 employee IDs can be deleted at once"));
+
+        mockMvc.perform(post("/employee/deletemany")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1, 2, 3]"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testDeleteEmployeeInvalidId() throws Exception {
         mockMvc.perform(delete("/employee/delete/0")
@@ -0,0 +1,90 @@
+package com.viraj.sample.controller;
+
+import com.viraj.sample.dto.EmployeeImportStatus;
+import com.viraj.sample.importer.EmployeeImportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.FileCopyUtils;
+
+import java.io.Reader;
+import java.util.Collections;
+import java.util.NoSuchElementException;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(EmployeeImportController.class)
+class EmployeeImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EmployeeImportService employeeImportService;
+
+    private static EmployeeImportStatus importStatus(String status, String error) {
+        return new EmployeeImportStatus("job-1", status, 2, 2, 0, 1, 100.0, null, null, error, Collections.emptyList());
+    }
+
+    @Test
+    void testImportStreamsBodyToService() throws Exception {
+        String csv = "employeeName,employeeDescription\nJohn Doe,Developer\nJane Doe,Tester\n";
+        String[] received = new String[1];
+        when(employeeImportService.importEmployees(eq("job-1"), any(Reader.class))).thenAnswer(invocation -> {
+            received[0] = FileCopyUtils.copyToString(invocation.<Reader>getArgument(1));
+            return importStatus("COMPLETED", null);
+        });
+
+        mockMvc.perform(put("/employee/import/job-1").contentType(EmployeeImportController.CSV_VALUE).content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("COMPLETED")))
+                .andExpect(jsonPath("$.rowsImported", is(2)));
+
+        assertEquals(csv, received[0]);
+    }
+
+    @Test
+    void testFailedImportReturnsStatusWith500() throws Exception {
+        when(employeeImportService.importEmployees(eq("job-1"), any(Reader.class))).thenReturn(importStatus("FAILED", "duplicate"));
+
+        mockMvc.perform(put("/employee/import/job-1").contentType(EmployeeImportController.CSV_VALUE).content("x"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.error", is("duplicate")));
+    }
+
+    @Test
+    void testImportErrors() throws Exception {
+        when(employeeImportService.importEmployees(eq("job-1"), any(Reader.class)))
+                .thenThrow(new IllegalArgumentException("CSV is empty"))
+                .thenThrow(new IllegalStateException("Import job-1 is already running"));
+
+        mockMvc.perform(put("/employee/import/job-1").contentType(EmployeeImportController.CSV_VALUE).content(""))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("CSV is empty"));
+        mockMvc.perform(put("/employee/import/job-1").contentType(EmployeeImportController.CSV_VALUE).content("x"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(put("/employee/import/job-1").contentType("application/json").content("{}"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
+    @Test
+    void testGetStatus() throws Exception {
+        when(employeeImportService.getStatus("job-1")).thenReturn(importStatus("RUNNING", null));
+        when(employeeImportService.getStatus("job-2")).thenThrow(new NoSuchElementException("No import job job-2"));
+
+        mockMvc.perform(get("/employee/import/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("RUNNING")))
+                .andExpect(jsonPath("$.rowsPerSecond", is(100.0)));
+        mockMvc.perform(get("/employee/import/job-2"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,78 @@
+package com.viraj.sample.diagnostics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiagnosticDataSourceTest {
+
+    private DriverManagerDataSource target;
+
+    @BeforeEach
+    void setUp() {
+        target = new DriverManagerDataSource(
+                "jdbc:h2:mem:diagnostics-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(target);
+        jdbcTemplate.execute("create table employee (employee_id bigint primary key, employee_name varchar(50))");
+        jdbcTemplate.update("insert into employee values (1, 'a'), (2, 'b'), (3, 'c')");
+    }
+
+    private static SqlDiagnostics diagnostics(Duration slowThreshold, double sampleRate) {
+        SqlDiagnosticsProperties properties = new SqlDiagnosticsProperties();
+        properties.setSlowThreshold(slowThreshold);
+        properties.setSampleRate(sampleRate);
+        return new SqlDiagnostics(properties, false);
+    }
+
+    @Test
+    void testRecordsRowsReadAndUpdated() {
+        SqlDiagnostics diagnostics = diagnostics(Duration.ZERO, 0);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DiagnosticDataSource(target, diagnostics));
+
+        jdbcTemplate.queryForList("select employee_name from employee where employee_id > ?", String.class, 1);
+        SqlDiagnostics.setRequest("GET /employee/getall");
+        try {
+            jdbcTemplate.update("update employee set employee_name = 'x' where employee_id < 3");
+        } finally {
+            SqlDiagnostics.clearRequest();
+        }
+
+        List<SqlStatement> statements = diagnostics.getSlowStatements();
+        assertEquals(2, statements.size());
+        assertEquals("update employee set employee_name = ? where employee_id < ?", statements.get(0).getSql());
+        assertEquals(2, statements.get(0).getRows());
+        assertEquals("GET /employee/getall", statements.get(0).getRequest());
+        assertEquals("select employee_name from employee where employee_id > ?", statements.get(1).getSql());
+        assertEquals(2, statements.get(1).getRows());
+        assertNull(statements.get(1).getRequest());
+    }
+
+    @Test
+    void testRecordsFailedStatementWithoutRows() {
+        SqlDiagnostics diagnostics = diagnostics(Duration.ZERO, 0);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DiagnosticDataSource(target, diagnostics));
+
+        assertThrows(RuntimeException.class, () -> jdbcTemplate.execute("select * from missing"));
+
+        List<SqlStatement> statements = diagnostics.getSlowStatements();
+        assertEquals(1, statements.size());
+        assertEquals(-1, statements.get(0).getRows());
+    }
+
+    @Test
+    void testFastStatementsAreNotRecordedWithoutSampling() {
+        SqlDiagnostics diagnostics = diagnostics(Duration.ofHours(1), 0);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DiagnosticDataSource(target, diagnostics));
+
+        assertEquals(3, jdbcTemplate.queryForList("select employee_id from employee", Long.class).size());
+
+        assertTrue(diagnostics.getSlowStatements().isEmpty());
+    }
+}
@@ -0,0 +1,59 @@
+package com.viraj.sample.diagnostics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferTest {
+
+    @Test
+    void testCapacityRoundsUpToPowerOfTwo() {
+        assertEquals(8, new RingBuffer<String>(5).capacity());
+        assertEquals(8, new RingBuffer<String>(8).capacity());
+    }
+
+    @Test
+    void testDrainResumesWhereItStopped() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+        buffer.add(1);
+        buffer.add(2);
+
+        long next = buffer.drain(0, drained::add, dropped -> fail("nothing was overwritten"));
+        buffer.add(3);
+        next = buffer.drain(next, drained::add, dropped -> fail("nothing was overwritten"));
+
+        assertEquals(3, next);
+        assertEquals(Arrays.asList(1, 2, 3), drained);
+    }
+
+    @Test
+    void testDrainReportsOverwrittenEntries() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+        List<Long> dropped = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            buffer.add(i);
+        }
+
+        assertEquals(7, buffer.drain(0, drained::add, dropped::add));
+
+        assertEquals(Arrays.asList(3, 4, 5, 6), drained);
+        assertEquals(Arrays.asList(3L), dropped);
+    }
+
+    @Test
+    void testLatestIsNewestFirst() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(2);
+        assertTrue(buffer.latest().isEmpty());
+        for (int i = 0; i < 5; i++) {
+            buffer.add(i);
+        }
+
+        assertEquals(Arrays.asList(4, 3), buffer.latest());
+    }
+}
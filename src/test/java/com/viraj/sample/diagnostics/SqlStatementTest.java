@@ -0,0 +1,21 @@
+package com.viraj.sample.diagnostics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementTest {
+
+    @Test
+    void testShapeFoldsLiterals() {
+        assertEquals("select * from employee where employee_name = ? and salary > ? limit ?",
+                SqlStatement.shape("select * from employee\n  where employee_name = 'O''Brien' and salary > -12.5 limit 100"));
+    }
+
+    @Test
+    void testShapeKeepsIdentifiersWithDigits() {
+        assertEquals("select employee0_.employee_id as employee1_0_ from employee employee0_ where employee0_.employee_id in (...)",
+                SqlStatement.shape("select employee0_.employee_id as employee1_0_ from employee employee0_ "
+                        + "where employee0_.employee_id in (?, ?, 3)"));
+    }
+}
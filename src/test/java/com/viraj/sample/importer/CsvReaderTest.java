@@ -0,0 +1,53 @@
+package com.viraj.sample.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTest {
+
+    @Test
+    void testReadsQuotedAndPlainFields() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(
+                "a,b\r\n\"Doe, John\",\"Says \"\"hi\"\"\"\r\n\"two\nlines\",x\nlast,\n"), 100);
+
+        assertEquals(Arrays.asList("a", "b"), reader.readRecord());
+        assertEquals(Arrays.asList("Doe, John", "Says \"hi\""), reader.readRecord());
+        assertEquals(2, reader.getRecordLineNumber());
+        assertEquals(Arrays.asList("two\nlines", "x"), reader.readRecord());
+        assertEquals(Arrays.asList("last", ""), reader.readRecord());
+        assertEquals(5, reader.getRecordLineNumber());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    void testLastLineWithoutLineBreak() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a\n\nb"), 100);
+
+        assertEquals(Collections.singletonList("a"), reader.readRecord());
+        assertEquals(Collections.singletonList(""), reader.readRecord());
+        assertEquals(Collections.singletonList("b"), reader.readRecord());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    void testUnclosedQuoteIsRejected() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a\n\"b,c\n"), 100);
+        reader.readRecord();
+
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, reader::readRecord);
+        assertEquals("Line 2: quoted field is not closed", thrown.getMessage());
+    }
+
+    @Test
+    void testRecordLengthIsBounded() {
+        CsvReader reader = new CsvReader(new StringReader("\"" + String.join("", Collections.nCopies(50, "x"))), 10);
+
+        assertThrows(IllegalArgumentException.class, reader::readRecord);
+    }
+}
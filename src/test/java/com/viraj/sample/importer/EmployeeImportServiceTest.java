@@ -0,0 +1,204 @@
+package com.viraj.sample.importer;
+
+import com.viraj.sample.cache.EmployeeCache;
+import com.viraj.sample.cache.EmployeeCacheProperties;
+import com.viraj.sample.dto.EmployeeImportStatus;
+import com.viraj.sample.entity.Employee;
+import com.viraj.sample.entity.EmployeeImportJob;
+import com.viraj.sample.repository.EmployeeImportChunkRepository;
+import com.viraj.sample.repository.EmployeeImportJobRepository;
+import com.viraj.sample.search.EmployeeSearchIndex;
+import com.viraj.sample.shard.ShardingProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class EmployeeImportServiceTest {
+
+    private final EmployeeImportJobRepository jobRepository = mock(EmployeeImportJobRepository.class);
+    private final EmployeeImportChunkRepository chunkRepository = mock(EmployeeImportChunkRepository.class);
+    private final EmployeeImportWriter writer = mock(EmployeeImportWriter.class);
+    private final ShardingProperties shardingProperties = new ShardingProperties();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private EmployeeImportService importService;
+
+    private EmployeeImportService importService(int chunkSize, int workers) {
+        EmployeeImportProperties properties = new EmployeeImportProperties();
+        properties.setChunkSize(chunkSize);
+        properties.setWorkers(workers);
+        importService = new EmployeeImportService(properties);
+        importService.employeeImportJobRepository = jobRepository;
+        importService.employeeImportChunkRepository = chunkRepository;
+        importService.employeeImportWriter = writer;
+        importService.employeeCache = new EmployeeCache(new EmployeeCacheProperties());
+        importService.employeeSearchIndex = new EmployeeSearchIndex();
+        importService.shardingProperties = shardingProperties;
+        when(jobRepository.findById("job-1")).thenReturn(Optional.empty());
+        when(writer.saveChunk(eq("job-1"), anyInt(), anyList())).thenAnswer(invocation -> saved(invocation.getArgument(2)));
+        return importService;
+    }
+
+    private List<Employee> saved(List<Employee> employees) {
+        List<Employee> savedEmployees = new ArrayList<>();
+        for (Employee employee : employees) {
+            Employee savedEmployee = new Employee(employee.getEmployeeName(), employee.getEmployeeDescription());
+            savedEmployee.setEmployeeId(nextId.getAndIncrement());
+            savedEmployees.add(savedEmployee);
+        }
+        return savedEmployees;
+    }
+
+    private static String csv(int rows) {
+        StringBuilder csv = new StringBuilder("employeeName,employeeDescription\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append("Employee ").append(i).append(",Developer\n");
+        }
+        return csv.toString();
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+    }
+
+    @Test
+    void testImportsValidRowsInChunks() {
+        importService(3, 2);
+        String csv = "employeeDescription,employeeName\n"
+                + "Developer,John Doe\n"
+                + "\"Lead, Backend\",\"Jane \"\"JD\"\" Doe\"\n"
+                + "too,many,fields\n"
+                + "\n"
+                + "Tester,Ann\n"
+                + "Manager,Bob\n";
+
+        EmployeeImportStatus status = importService.importEmployees("job-1", new StringReader(csv));
+
+        assertEquals("COMPLETED", status.getStatus());
+        assertEquals(5, status.getRowsRead());
+        assertEquals(4, status.getRowsImported());
+        assertEquals(1, status.getRowsRejected());
+        assertEquals(2, status.getChunksCommitted());
+        assertEquals(Collections.singletonList("Line 4: expected 2 fields but found 3"), status.getRejectedRows());
+        verify(writer).saveChunk("job-1", 0, Arrays.asList(new Employee("John Doe", "Developer"),
+                new Employee("Jane \"JD\" Doe", "Lead, Backend"), new Employee("Ann", "Tester")));
+        verify(writer).saveChunk("job-1", 1, Collections.singletonList(new Employee("Bob", "Manager")));
+        assertEquals(1, importService.employeeSearchIndex.search("ann", 10).size());
+        verify(jobRepository, times(2)).save(any(EmployeeImportJob.class));
+    }
+
+    @Test
+    void testResumeSkipsCommittedChunks() {
+        importService(2, 2);
+        EmployeeImportJob job = new EmployeeImportJob("job-1", 2);
+        job.setStatus(EmployeeImportJob.Status.FAILED);
+        when(jobRepository.findById("job-1")).thenReturn(Optional.of(job));
+        when(chunkRepository.findChunkNosByJobId("job-1")).thenReturn(Arrays.asList(0, 2));
+        when(chunkRepository.sumRowCountByJobId("job-1")).thenReturn(4L);
+
+        EmployeeImportStatus status = importService.importEmployees("job-1", new StringReader(csv(7)));
+
+        assertEquals("COMPLETED", status.getStatus());
+        assertEquals(7, status.getRowsImported());
+        assertEquals(4, status.getChunksCommitted());
+        verify(writer).saveChunk("job-1", 1, Arrays.asList(new Employee("Employee 2", "Developer"),
+                new Employee("Employee 3", "Developer")));
+        verify(writer).saveChunk("job-1", 3, Collections.singletonList(new Employee("Employee 6", "Developer")));
+        verifyNoMoreInteractions(writer);
+    }
+
+    @Test
+    void testFailedChunkFailsJob() {
+        importService(2, 1);
+        when(writer.saveChunk(eq("job-1"), eq(1), anyList())).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        EmployeeImportStatus status = importService.importEmployees("job-1", new StringReader(csv(20)));
+
+        assertEquals("FAILED", status.getStatus());
+        assertEquals("duplicate", status.getError());
+        // Parsing stops soon after the failure instead of reading the whole file.
+        assertTrue(status.getRowsRead() < 20);
+        verify(writer).saveChunk(eq("job-1"), eq(0), anyList());
+    }
+
+    @Test
+    void testCompletedJobIsNotRunAgain() {
+        importService(2, 1);
+        EmployeeImportJob job = new EmployeeImportJob("job-1", 2);
+        job.setStatus(EmployeeImportJob.Status.COMPLETED);
+        when(jobRepository.findById("job-1")).thenReturn(Optional.of(job));
+        when(chunkRepository.sumRowCountByJobId("job-1")).thenReturn(3L);
+
+        EmployeeImportStatus status = importService.importEmployees("job-1", new StringReader(csv(3)));
+
+        assertEquals("COMPLETED", status.getStatus());
+        assertEquals(3, status.getRowsImported());
+        verifyZeroInteractions(writer);
+    }
+
+    @Test
+    void testParserWaitsForWorkers() throws Exception {
+        importService(2, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(writer.saveChunk(eq("job-1"), anyInt(), anyList())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return saved(invocation.getArgument(2));
+        });
+        AtomicReference<Thread> importer = new AtomicReference<>();
+        CompletableFuture<EmployeeImportStatus> result = CompletableFuture.supplyAsync(() -> {
+            importer.set(Thread.currentThread());
+            return importService.importEmployees("job-1", new StringReader(csv(1000)));
+        });
+
+        while (importer.get() == null || importer.get().getState() != Thread.State.WAITING) {
+            Thread.sleep(10);
+        }
+        // One chunk being saved, one queued, one being filled and the row that found no room.
+        assertTrue(importService.getStatus("job-1").getRowsRead() <= 7);
+        assertEquals("RUNNING", importService.getStatus("job-1").getStatus());
+        release.countDown();
+
+        assertEquals(1000, result.get(10, TimeUnit.SECONDS).getRowsImported());
+    }
+
+    @Test
+    void testInvalidHeaderIsRejectedBeforeTheJobStarts() {
+        importService(2, 1);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> importService.importEmployees("job-1", new StringReader("employeeName,salary\nJohn,1\n")));
+        assertThrows(IllegalArgumentException.class,
+                () -> importService.importEmployees("job-1", new StringReader("employeeDescription\nDeveloper\n")));
+        assertThrows(IllegalArgumentException.class, () -> importService.importEmployees("job-1", new StringReader("")));
+        assertThrows(IllegalArgumentException.class, () -> importService.importEmployees("../x", new StringReader(csv(1))));
+        verifyZeroInteractions(jobRepository, writer);
+    }
+
+    @Test
+    void testImportIsUnsupportedWithSharding() {
+        importService(2, 1);
+        shardingProperties.setEnabled(true);
+
+        assertThrows(UnsupportedOperationException.class,
+                () -> importService.importEmployees("job-1", new StringReader(csv(1))));
+    }
+}
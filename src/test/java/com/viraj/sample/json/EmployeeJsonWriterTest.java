@@ -0,0 +1,165 @@
+package com.viraj.sample.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.viraj.sample.dto.EmployeeSummary;
+import com.viraj.sample.entity.Employee;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JsonTest
+class EmployeeJsonWriterTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static Employee employee(long employeeId, String name, String description, Instant createdAt) {
+        Employee employee = new Employee(name, description);
+        employee.setEmployeeId(employeeId);
+        employee.setVersion(employeeId % 7);
+        employee.setCreatedAt(createdAt);
+        employee.setUpdatedAt(createdAt == null ? null : createdAt.plusNanos(1));
+        employee.setChangeSeq(employeeId * 3);
+        return employee;
+    }
+
+    private void assertSameAsJackson(Employee employee) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EmployeeJsonWriter.write(employee, out);
+        assertEquals(new String(objectMapper.writeValueAsBytes(employee), "UTF-8"), out.toString("UTF-8"));
+        assertArrayEquals(objectMapper.writeValueAsBytes(employee), out.toByteArray());
+    }
+
+    @Test
+    void testEmployee() throws IOException {
+        assertSameAsJackson(employee(1L, "John Doe", "Senior Developer", Instant.parse("2026-10-18T07:47:30.123Z")));
+    }
+
+    @Test
+    void testNulls() throws IOException {
+        assertSameAsJackson(new Employee());
+        assertSameAsJackson(employee(2L, null, null, null));
+    }
+
+    @Test
+    void testNumbers() throws IOException {
+        for (long value : new long[]{0, 9, 10, 99, 12345, Integer.MAX_VALUE, Long.MAX_VALUE, -1, Long.MIN_VALUE}) {
+            Employee employee = employee(value, "n", "n", null);
+            employee.setVersion(value);
+            employee.setChangeSeq(value);
+            assertSameAsJackson(employee);
+        }
+    }
+
+    @Test
+    void testStringEscaping() throws IOException {
+        assertSameAsJackson(employee(3L, "Quote \" backslash \\ slash / tab \t newline \n",
+                "Controls \u0000 \u0001 \u0008 \u000C \r \u001F \u007F", null));
+        assertSameAsJackson(employee(4L, "José Müller ßøå", "日本語   emoji 😀 end", null));
+    }
+
+    @Test
+    void testUnpairedSurrogates() throws IOException {
+        assertSameAsJackson(employee(5L, "broken \uD83D", "\uDE00 reversed \uDE00\uD83D", null));
+    }
+
+    @Test
+    void testInstants() throws IOException {
+        String[] instants = {"1970-01-01T00:00:00Z", "1969-12-31T23:59:59.999999999Z", "2000-02-29T12:00:00.5Z",
+                "2026-03-01T00:00:00.000123Z", "2026-12-31T23:59:59.000000001Z", "1600-02-29T01:02:03Z",
+                "0000-01-01T00:00:00Z", "9999-12-31T23:59:59.999Z"};
+        for (String instant : instants) {
+            Employee employee = employee(6L, "t", "t", Instant.parse(instant));
+            employee.setUpdatedAt(Instant.parse(instant));
+            assertSameAsJackson(employee);
+        }
+        assertSameAsJackson(employee(7L, "t", "t", Instant.MIN));
+        assertSameAsJackson(employee(8L, "t", "t", Instant.ofEpochSecond(253402300800L)));
+    }
+
+    @Test
+    void testListLargerThanBuffer() throws IOException {
+        List<Employee> employees = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            employees.add(employee(id, "Employee " + id, "Description of employee number " + id,
+                    Instant.ofEpochSecond(1_700_000_000L + id, id * 1000)));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        EmployeeJsonWriter.writeAll(employees, out);
+
+        assertTrue(out.size() > EmployeeJsonWriter.BUFFER_SIZE);
+        assertArrayEquals(objectMapper.writeValueAsBytes(employees), out.toByteArray());
+    }
+
+    @Test
+    void testEmptyList() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        EmployeeJsonWriter.writeAll(Collections.emptyList(), out);
+
+        assertEquals("[]", out.toString("UTF-8"));
+    }
+
+    @Test
+    void testConverterWritesEmployeesAndDelegatesOtherValues() throws IOException {
+        EmployeeJsonHttpMessageConverter converter =
+                new EmployeeJsonHttpMessageConverter(new MappingJackson2HttpMessageConverter(objectMapper));
+        List<Employee> employees = Arrays.asList(employee(1L, "A", "a", Instant.now()), employee(2L, "B", "b", null));
+        List<EmployeeSummary> summaries = Collections.singletonList(new EmployeeSummary(1L, "A"));
+
+        MockHttpOutputMessage employeesMessage = new MockHttpOutputMessage();
+        converter.write(employees, MediaType.APPLICATION_JSON, employeesMessage);
+        MockHttpOutputMessage summariesMessage = new MockHttpOutputMessage();
+        converter.write(summaries, MediaType.APPLICATION_JSON, summariesMessage);
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(employees), employeesMessage.getBodyAsBytes());
+        assertEquals(MediaType.parseMediaType("application/json;charset=UTF-8"), employeesMessage.getHeaders().getContentType());
+        assertArrayEquals(objectMapper.writeValueAsBytes(summaries), summariesMessage.getBodyAsBytes());
+        assertFalse(converter.canRead(Employee.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(Employee.class, MediaType.parseMediaType("application/cbor")));
+    }
+
+    @Test
+    void testConverterReadsEachElementOnceAndChecksItWhileWriting() throws IOException {
+        EmployeeJsonHttpMessageConverter converter =
+                new EmployeeJsonHttpMessageConverter(new MappingJackson2HttpMessageConverter(objectMapper));
+        List<Object> values = Arrays.asList(employee(1L, "A", "a", Instant.now()), null,
+                new EmployeeSummary(2L, "B"), employee(3L, "C", "c", null));
+        AtomicInteger reads = new AtomicInteger();
+        List<Object> lazy = new AbstractList<Object>() {
+            @Override
+            public Object get(int index) {
+                reads.incrementAndGet();
+                return values.get(index);
+            }
+
+            @Override
+            public int size() {
+                return values.size();
+            }
+        };
+
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        converter.write(lazy, MediaType.APPLICATION_JSON, message);
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(values), message.getBodyAsBytes());
+        // One pass, plus the first element read to pick the writer.
+        assertEquals(values.size() + 1, reads.get());
+    }
+}
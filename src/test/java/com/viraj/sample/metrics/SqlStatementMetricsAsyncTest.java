@@ -0,0 +1,65 @@
+package com.viraj.sample.metrics;
+
+import com.viraj.sample.config.AsyncConfig;
+import com.viraj.sample.controller.AsyncEmployeeController;
+import com.viraj.sample.entity.Employee;
+import com.viraj.sample.service.AsyncEmployeeServiceImpl;
+import com.viraj.sample.service.EmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AsyncEmployeeController.class)
+@Import({AsyncEmployeeServiceImpl.class, AsyncConfig.class, SqlStatementMetricsAsyncTest.Metrics.class})
+class SqlStatementMetricsAsyncTest {
+
+    static class Metrics {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private EmployeeService employeeService;
+
+    @Test
+    void testAsyncRequestCountsStatementsOfExecutorThread() throws Exception {
+        SqlStatementCounter statementCounter = new SqlStatementCounter();
+        when(employeeService.getEmployee(1L)).thenAnswer(invocation -> {
+            // What Hibernate does on the employee-async- thread.
+            statementCounter.inspect("select e from Employee e where e.employeeId = ?");
+            statementCounter.inspect("select e from Employee e where e.employeeId = ?");
+            Employee employee = new Employee("John Doe", "Senior Developer");
+            employee.setEmployeeId(1L);
+            return employee;
+        });
+
+        MvcResult result = mockMvc.perform(get("/employee/async/getone/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        assertEquals(2.0, meterRegistry.get(SqlStatementMetricsInterceptor.METRIC_NAME)
+                .tag("uri", "/employee/async/getone/{employeeId}").summary().totalAmount());
+    }
+}
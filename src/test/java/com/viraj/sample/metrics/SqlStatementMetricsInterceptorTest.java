@@ -0,0 +1,57 @@
+package com.viraj.sample.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementMetricsInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SqlStatementMetricsInterceptor interceptor;
+    private SqlStatementCounter statementCounter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new SqlStatementMetricsInterceptor(meterRegistry);
+        statementCounter = new SqlStatementCounter();
+    }
+
+    @Test
+    void testRecordsStatementsPerRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/employee/getone/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/employee/getone/{employeeId}");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        statementCounter.inspect("select 1");
+        interceptor.preHandle(request, response, null);
+        statementCounter.inspect("select e from Employee e where e.employeeId = ?");
+        statementCounter.inspect("select e from Employee e where e.employeeId = ?");
+        interceptor.afterCompletion(request, response, null, null);
+
+        DistributionSummary summary = meterRegistry.get(SqlStatementMetricsInterceptor.METRIC_NAME)
+                .tag("uri", "/employee/getone/{employeeId}")
+                .tag("method", "GET")
+                .summary();
+        assertEquals(1, summary.count());
+        assertEquals(2.0, summary.totalAmount());
+    }
+
+    @Test
+    void testUnmappedRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/missing");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, null);
+        interceptor.afterCompletion(request, response, null, null);
+
+        assertEquals(0.0, meterRegistry.get(SqlStatementMetricsInterceptor.METRIC_NAME)
+                .tag("uri", "UNKNOWN").summary().totalAmount());
+    }
+}
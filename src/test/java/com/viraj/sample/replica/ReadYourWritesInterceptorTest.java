@@ -0,0 +1,132 @@
+package com.viraj.sample.replica;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadYourWritesInterceptorTest {
+
+    private final AtomicLong time = new AtomicLong();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    private ReadYourWritesInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        // Most tests tell clients apart by header; see testClientIdIsIgnoredUnlessTrusted.
+        interceptor = new ReadYourWritesInterceptor(Duration.ofSeconds(5), true, time::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRouting.clear();
+    }
+
+    private MockHttpServletRequest request(String method, String clientId) {
+        return request(method, "/employee/getone/1", clientId);
+    }
+
+    private MockHttpServletRequest request(String method, String uri, String clientId) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        if (clientId != null) {
+            request.addHeader(ReadYourWritesInterceptor.CLIENT_ID_HEADER, clientId);
+        }
+        return request;
+    }
+
+    /** Runs a request through the interceptor and tells whether it was routed to the primary. */
+    private boolean handle(MockHttpServletRequest request) {
+        return handle(request, response, null);
+    }
+
+    private boolean handle(MockHttpServletRequest request, MockHttpServletResponse response, Exception ex) {
+        interceptor.preHandle(request, response, null);
+        boolean primary = ReplicaRouting.isPrimaryRequired();
+        interceptor.afterCompletion(request, response, null, ex);
+        assertFalse(ReplicaRouting.isPrimaryRequired());
+        return primary;
+    }
+
+    @Test
+    void testReadsUseReplicaUntilClientWrites() {
+        assertFalse(handle(request("GET", "a")));
+        assertTrue(handle(request("PUT", "a")));
+        assertTrue(handle(request("GET", "a")));
+        assertFalse(handle(request("GET", "b")));
+    }
+
+    @Test
+    void testStickinessEndsAfterWindow() {
+        handle(request("POST", "a"));
+
+        time.addAndGet(TimeUnit.SECONDS.toNanos(4));
+        assertTrue(handle(request("GET", "a")));
+        time.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertFalse(handle(request("GET", "a")));
+    }
+
+    @Test
+    void testClientsWithoutIdAreKeyedByAddress() {
+        MockHttpServletRequest write = request("DELETE", null);
+        write.setRemoteAddr("10.0.0.1");
+        handle(write);
+
+        MockHttpServletRequest sameAddress = request("GET", null);
+        sameAddress.setRemoteAddr("10.0.0.1");
+        MockHttpServletRequest otherAddress = request("GET", null);
+        otherAddress.setRemoteAddr("10.0.0.2");
+        assertTrue(handle(sameAddress));
+        assertFalse(handle(otherAddress));
+    }
+
+    @Test
+    void testClientIdIsIgnoredUnlessTrusted() {
+        interceptor = new ReadYourWritesInterceptor(Duration.ofSeconds(5), false, time::get);
+        MockHttpServletRequest write = request("PUT", "a");
+        write.setRemoteAddr("10.0.0.1");
+        handle(write);
+
+        // A new id per request from the same address neither escapes nor adds entries.
+        MockHttpServletRequest rotated = request("GET", "b");
+        rotated.setRemoteAddr("10.0.0.1");
+        MockHttpServletRequest sameIdOtherAddress = request("GET", "a");
+        sameIdOtherAddress.setRemoteAddr("10.0.0.2");
+        assertTrue(handle(rotated));
+        assertFalse(handle(sameIdOtherAddress));
+    }
+
+    @Test
+    void testFailedWritesDoNotPinClient() {
+        MockHttpServletResponse badRequest = new MockHttpServletResponse();
+        badRequest.setStatus(400);
+        assertTrue(handle(request("PUT", "a"), badRequest, null));
+        assertTrue(handle(request("DELETE", "a"), new MockHttpServletResponse(), new IllegalStateException()));
+
+        assertFalse(handle(request("GET", "a")));
+    }
+
+    @Test
+    void testGetManyIsRead() {
+        assertFalse(handle(request("POST", "/employee/getmany", "a")));
+        assertFalse(handle(request("POST", "/employee/getmany/", "a")));
+
+        assertFalse(handle(request("GET", "a")));
+    }
+
+    @Test
+    void testAsyncHandoffClearsRequestThread() {
+        MockHttpServletRequest write = request("PATCH", "a");
+        interceptor.preHandle(write, response, null);
+        interceptor.afterConcurrentHandlingStarted(write, response, null);
+
+        assertFalse(ReplicaRouting.isPrimaryRequired());
+    }
+}
@@ -0,0 +1,95 @@
+package com.viraj.sample.replica;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        // Two local H2 databases that each know which one they are.
+        String run = UUID.randomUUID().toString();
+        DriverManagerDataSource primary = database("primary-" + run, "primary");
+        DriverManagerDataSource replica = database("replica-" + run, "replica");
+
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primary, replica, meterRegistry);
+        routingDataSource.afterPropertiesSet();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private static DriverManagerDataSource database(String name, String role) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table POOL (NAME varchar(20))");
+        jdbcTemplate.update("insert into POOL (NAME) values (?)", role);
+        return dataSource;
+    }
+
+    private String pool() {
+        return jdbcTemplate.queryForObject("select NAME from POOL", String.class);
+    }
+
+    private double connections(String pool) {
+        return meterRegistry.get("employee.datasource.connections").tag("pool", pool).counter().count();
+    }
+
+    @Test
+    void testReadOnlyTransactionUsesReplica() {
+        assertEquals("replica", readOnly.execute(status -> pool()));
+        assertEquals(1.0, connections(ReplicaRoutingDataSource.REPLICA));
+    }
+
+    @Test
+    void testReadWriteTransactionUsesPrimary() {
+        assertEquals("primary", readWrite.execute(status -> pool()));
+    }
+
+    @Test
+    void testNoTransactionUsesPrimary() {
+        assertEquals("primary", pool());
+    }
+
+    @Test
+    void testPrimaryRequiredOverridesReadOnly() {
+        assertEquals("primary", ReplicaRouting.onPrimary(() -> readOnly.execute(status -> pool())));
+        assertFalse(ReplicaRouting.isPrimaryRequired());
+        assertEquals("replica", readOnly.execute(status -> pool()));
+    }
+
+    @Test
+    void testPropagateCarriesPrimaryToOtherThread() throws Exception {
+        Supplier<String> task;
+        ReplicaRouting.requirePrimary();
+        try {
+            task = ReplicaRouting.propagate(() -> readOnly.execute(status -> pool()));
+        } finally {
+            ReplicaRouting.clear();
+        }
+
+        assertEquals("primary", CompletableFuture.supplyAsync(task).get());
+    }
+}
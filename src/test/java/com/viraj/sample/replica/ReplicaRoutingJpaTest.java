@@ -0,0 +1,92 @@
+package com.viraj.sample.replica;
+
+import com.viraj.sample.entity.Employee;
+import com.viraj.sample.repository.EmployeeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not transactional: each repository call runs its own transaction, as in a request.
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "employee.replica.enabled=true",
+        "employee.replica.url=" + ReplicaRoutingJpaTest.REPLICA_URL,
+        "employee.replica.username=sa",
+        "employee.replica.password="})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReplicaRoutingConfig.class, ReplicaProperties.class, ReplicaRoutingJpaTest.Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReplicaRoutingJpaTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    static class Metrics {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // The same employee on both sides, at a version the replica has not caught up with.
+        JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        replica.execute("create table if not exists EMPLOYEE (EMPLOYEE_ID bigint primary key, "
+                + "EMPLOYEE_NAME varchar(255), EMPLOYEE_DESCRIPTION varchar(255), EMPLOYEE_VERSION bigint not null, "
+                + "CREATED_AT timestamp, UPDATED_AT timestamp, CHANGE_SEQ bigint not null)");
+        replica.update("delete from EMPLOYEE");
+        replica.update("insert into EMPLOYEE (EMPLOYEE_ID, EMPLOYEE_NAME, EMPLOYEE_VERSION, CHANGE_SEQ) "
+                + "values (1, 'Replica', 0, 1)");
+        jdbcTemplate.update("delete from EMPLOYEE");
+        jdbcTemplate.update("insert into EMPLOYEE (EMPLOYEE_ID, EMPLOYEE_NAME, EMPLOYEE_VERSION, CHANGE_SEQ) "
+                + "values (1, 'Primary', 1, 2)");
+    }
+
+    @Test
+    void testPrimaryReadAfterReplicaReadInOneRequest() {
+        OpenEntityManagerInViewInterceptor openInView = new OpenEntityManagerInViewInterceptor();
+        openInView.setEntityManagerFactory(entityManagerFactory);
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest());
+        openInView.preHandle(request);
+        try {
+            // A getone with If-None-Match: the version check may read the replica, the load may not.
+            assertEquals(Optional.of(0L), employeeRepository.findVersionById(1L));
+            Optional<Employee> employee = ReplicaRouting.onPrimary(() -> employeeRepository.findById(1L));
+
+            assertEquals("Primary", employee.get().getEmployeeName());
+            assertEquals(Optional.of(0L), employeeRepository.findVersionById(1L));
+        } finally {
+            openInView.afterCompletion(request, null);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.viraj.sample.repository;
+
+import com.viraj.sample.entity.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not transactional: each write has to commit on its own, as in the application. The pool is
+// smaller than the number of writers, so a writer that waited for a connection while holding the
+// change sequence lock would time out.
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:change-repository;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=" + EmployeeChangeRepositoryImplTest.POOL_SIZE,
+        "spring.datasource.hikari.connection-timeout=5000"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeChangeRepositoryImplTest {
+
+    static final int POOL_SIZE = 2;
+
+    private static final int WRITERS = 3 * POOL_SIZE;
+    private static final int ROUNDS = 3;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from EMPLOYEE");
+    }
+
+    @Test
+    void testConcurrentSaveAllWithMoreWritersThanConnections() throws Exception {
+        List<List<Employee>> updates = new ArrayList<>();
+        for (int i = 1; i < WRITERS; i++) {
+            List<Employee> employees = new ArrayList<>();
+            for (int j = 0; j < 5; j++) {
+                employees.add(new Employee("Updater " + i + " Employee " + j, null));
+            }
+            updates.add((List<Employee>) employeeRepository.saveAll(employees));
+        }
+        CyclicBarrier barrier = new CyclicBarrier(WRITERS);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            // One writer inserts batches bigger than an id block, so it fetches new blocks while the
+            // others hold the pooled connections, updating or waiting for the change sequence.
+            // (Only one inserts: writers holding every connection while queued for the id
+            // generator itself would starve the block fetch regardless of the change sequence.)
+            int batchSize = Employee.ID_ALLOCATION_SIZE + 10;
+            List<CompletableFuture<List<Employee>>> saves = new ArrayList<>();
+            saves.add(CompletableFuture.supplyAsync(() -> {
+                List<Employee> saved = new ArrayList<>();
+                for (int round = 0; round < ROUNDS; round++) {
+                    List<Employee> employees = new ArrayList<>();
+                    for (int j = 0; j < batchSize; j++) {
+                        employees.add(new Employee("Inserted " + round + " " + j, null));
+                    }
+                    await(barrier);
+                    employeeRepository.saveAll(employees).forEach(saved::add);
+                }
+                return saved;
+            }, executor));
+            for (List<Employee> employees : updates) {
+                saves.add(CompletableFuture.supplyAsync(() -> {
+                    List<Employee> saved = employees;
+                    for (int round = 0; round < ROUNDS; round++) {
+                        saved.forEach(employee -> employee.setEmployeeDescription("Updated"));
+                        await(barrier);
+                        saved = (List<Employee>) employeeRepository.saveAll(saved);
+                    }
+                    return saved;
+                }, executor));
+            }
+
+            List<Employee> inserted = saves.get(0).get(60, TimeUnit.SECONDS);
+            assertEquals(ROUNDS * batchSize, inserted.size());
+            inserted.forEach(employee -> assertEquals(0, employee.getVersion()));
+            for (CompletableFuture<List<Employee>> save : saves.subList(1, saves.size())) {
+                save.get(60, TimeUnit.SECONDS).forEach(employee -> assertEquals(ROUNDS, employee.getVersion()));
+            }
+            assertEquals(ROUNDS * batchSize + (WRITERS - 1) * 5, employeeRepository.count());
+            List<Long> changeSeqs = jdbcTemplate.queryForList("select CHANGE_SEQ from EMPLOYEE", Long.class);
+            assertEquals(changeSeqs.size(), changeSeqs.stream().distinct().count());
+            assertEquals(changeSeqs.stream().max(Long::compare).get(), (Long) employeeRepository.getLastChangeSeq());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
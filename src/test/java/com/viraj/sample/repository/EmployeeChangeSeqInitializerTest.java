@@ -0,0 +1,93 @@
+package com.viraj.sample.repository;
+
+import com.viraj.sample.entity.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not transactional: each write has to commit on its own, as in the application.
+@DataJpaTest
+@Import(EmployeeChangeSeqInitializer.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeChangeSeqInitializerTest {
+
+    @Autowired
+    private EmployeeChangeSeqInitializer employeeChangeSeqInitializer;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from EMPLOYEE");
+        jdbcTemplate.update("delete from CHANGE_SEQUENCE");
+    }
+
+    @Test
+    void testFeedFromZeroIncludesEmployeesWrittenBeforeIt() {
+        employeeRepository.save(new Employee("Written Later", null));
+        int existing = EmployeeChangeSeqInitializer.CHUNK_SIZE + 5;
+        for (long employeeId = 100_001; employeeId <= 100_000 + existing; employeeId++) {
+            jdbcTemplate.update("insert into EMPLOYEE (EMPLOYEE_ID, EMPLOYEE_NAME, EMPLOYEE_VERSION, CHANGE_SEQ) "
+                    + "values (?, ?, 0, 0)", employeeId, "Existing " + employeeId);
+        }
+
+        employeeChangeSeqInitializer.initialize();
+
+        List<Employee> feed = employeeRepository.findByChangeSeqGreaterThanOrderByChangeSeqAsc(
+                0, PageRequest.of(0, existing + 10));
+        assertEquals(existing + 1, feed.size());
+        assertEquals(feed.size(), feed.stream().map(Employee::getChangeSeq).distinct().count());
+        assertEquals(feed.get(feed.size() - 1).getChangeSeq(), employeeRepository.getLastChangeSeq());
+        assertEquals(0, employeeRepository.assignMissingChangeSeqs(EmployeeChangeSeqInitializer.CHUNK_SIZE));
+    }
+
+    @Test
+    void testConcurrentFirstWritesAllSucceed() throws Exception {
+        int writers = 8;
+        CyclicBarrier barrier = new CyclicBarrier(writers);
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<CompletableFuture<Employee>> saves = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                Employee employee = new Employee("Writer " + i, null);
+                saves.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        barrier.await();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return employeeRepository.save(employee);
+                }, executor));
+            }
+
+            List<Long> changeSeqs = new ArrayList<>();
+            for (CompletableFuture<Employee> save : saves) {
+                changeSeqs.add(save.get().getChangeSeq());
+            }
+            assertEquals(writers, changeSeqs.stream().distinct().count());
+            assertEquals(writers, (long) changeSeqs.stream().max(Long::compare).get());
+            assertEquals(writers, employeeRepository.getLastChangeSeq());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.viraj.sample.repository;
+
+import com.viraj.sample.entity.Employee;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not transactional: Hibernate reads ID_GENERATOR on a connection of its own.
+@DataJpaTest
+@Import(EmployeeIdGeneratorInitializer.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeIdGeneratorInitializerTest {
+
+    @Autowired
+    private EmployeeIdGeneratorInitializer employeeIdGeneratorInitializer;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testNewIdsStartAfterExistingEmployees() {
+        // Rows written with the identity column before ID_GENERATOR existed.
+        for (long employeeId = 1; employeeId <= 120; employeeId++) {
+            jdbcTemplate.update("insert into EMPLOYEE (EMPLOYEE_ID, EMPLOYEE_NAME, EMPLOYEE_VERSION, CHANGE_SEQ) "
+                    + "values (?, ?, 0, 0)", employeeId, "Existing " + employeeId);
+        }
+
+        employeeIdGeneratorInitializer.initialize();
+        // Running again, as on every start, leaves it alone.
+        employeeIdGeneratorInitializer.initialize();
+
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < Employee.ID_ALLOCATION_SIZE + 10; i++) {
+            employees.add(new Employee("New " + i, null));
+        }
+        List<Long> ids = new ArrayList<>();
+        employeeRepository.saveAll(employees).forEach(employee -> ids.add(employee.getEmployeeId()));
+
+        assertEquals(ids.size(), ids.stream().distinct().count());
+        assertTrue(ids.stream().allMatch(employeeId -> employeeId > 120));
+        assertEquals(180, employeeRepository.count());
+    }
+}
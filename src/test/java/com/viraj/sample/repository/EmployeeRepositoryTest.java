@@ -1,19 +1,40 @@
 package com.viraj.sample.repository;
 
+import com.viraj.sample.dto.EmployeeSummary;
 import com.viraj.sample.entity.Employee;
+import com.viraj.sample.entity.EmployeeTombstone;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.viraj.sample.repository.EmployeeRepositoryTest$GeneratedStatements")
 class EmployeeRepositoryTest {
 
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private EmployeeTombstoneRepository employeeTombstoneRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
     private Employee employee;
 
     @BeforeEach
@@ -90,4 +111,262 @@ class EmployeeRepositoryTest {
         assertEquals("Updated Employee", updatedEmployee.getEmployeeName());
         assertEquals(savedEmployee.getEmployeeId(), updatedEmployee.getEmployeeId());
     }
+
+    @Test
+    void testFindEmployeesAfterCursor() {
+        Employee first = employeeRepository.save(employee);
+        Employee second = employeeRepository.save(new Employee("Second Employee", "Second Description"));
+        Employee third = employeeRepository.save(new Employee("Third Employee", "Third Description"));
+
+        List<Employee> page = employeeRepository.findByEmployeeIdGreaterThanOrderByEmployeeIdAsc(
+                first.getEmployeeId(), PageRequest.of(0, 1));
+
+        assertEquals(1, page.size());
+        assertEquals(second.getEmployeeId(), page.get(0).getEmployeeId());
+
+        List<Employee> next = employeeRepository.findByEmployeeIdGreaterThanOrderByEmployeeIdAsc(
+                second.getEmployeeId(), PageRequest.of(0, 10));
+
+        assertEquals(1, next.size());
+        assertEquals(third.getEmployeeId(), next.get(0).getEmployeeId());
+    }
+
+    @Test
+    void testStreamAllOrderedById() {
+        Employee first = employeeRepository.save(employee);
+        Employee second = employeeRepository.save(new Employee("Second Employee", "Second Description"));
+
+        List<Long> ids;
+        try (Stream<Employee> employees = employeeRepository.streamAllByOrderByEmployeeIdAsc()) {
+            ids = employees.map(Employee::getEmployeeId).collect(Collectors.toList());
+        }
+
+        assertTrue(ids.indexOf(first.getEmployeeId()) < ids.indexOf(second.getEmployeeId()));
+    }
+
+    @Test
+    void testPatchEmployee() {
+        Employee savedEmployee = employeeRepository.save(employee);
+        long version = savedEmployee.getVersion();
+
+        int updated = employeeRepository.patchEmployee(savedEmployee.getEmployeeId(), null, "Patched", version);
+
+        assertEquals(1, updated);
+        Employee patchedEmployee = employeeRepository.findById(savedEmployee.getEmployeeId()).orElse(null);
+        assertNotNull(patchedEmployee);
+        assertEquals("Test Employee", patchedEmployee.getEmployeeName());
+        assertEquals("Patched", patchedEmployee.getEmployeeDescription());
+        assertEquals(version + 1, patchedEmployee.getVersion());
+    }
+
+    @Test
+    void testPatchEmployeeStaleVersion() {
+        Employee savedEmployee = employeeRepository.save(employee);
+
+        int updated = employeeRepository.patchEmployee(savedEmployee.getEmployeeId(), "Stale", null,
+                savedEmployee.getVersion() + 1);
+
+        assertEquals(0, updated);
+        assertEquals("Test Employee",
+                employeeRepository.findById(savedEmployee.getEmployeeId()).map(Employee::getEmployeeName).orElse(null));
+    }
+
+    @Test
+    void testPatchEmployeeWithoutVersion() {
+        Employee savedEmployee = employeeRepository.save(employee);
+
+        assertEquals(1, employeeRepository.patchEmployee(savedEmployee.getEmployeeId(), "Renamed", null, null));
+        assertEquals(0, employeeRepository.patchEmployee(9999L, "Renamed", null, null));
+    }
+
+    @Test
+    void testDeleteEmployeeById() {
+        Employee savedEmployee = employeeRepository.save(employee);
+
+        assertEquals(1, employeeRepository.deleteEmployeeById(savedEmployee.getEmployeeId()));
+        assertEquals(0, employeeRepository.deleteEmployeeById(savedEmployee.getEmployeeId()));
+        assertFalse(employeeRepository.findById(savedEmployee.getEmployeeId()).isPresent());
+    }
+
+    @Test
+    void testDeleteEmployeesByIdIn() {
+        Employee first = employeeRepository.save(employee);
+        Employee second = employeeRepository.save(new Employee("Second Employee", "Second Description"));
+
+        int deleted = employeeRepository.deleteEmployeesByIdIn(
+                Arrays.asList(first.getEmployeeId(), second.getEmployeeId(), 9999L));
+
+        assertEquals(2, deleted);
+        assertFalse(employeeRepository.existsById(first.getEmployeeId()));
+        assertFalse(employeeRepository.existsById(second.getEmployeeId()));
+    }
+
+    @Test
+    void testFindByNameLikeInNameAndIdOrder() {
+        employeeRepository.saveAll(Arrays.asList(new Employee("John", "b"), new Employee("Joan", "a"),
+                new Employee("John", "c"), new Employee("Peter", "d")));
+
+        List<Employee> page = employeeRepository.findByNameLike("Jo%", PageRequest.of(0, 2));
+
+        assertEquals(Arrays.asList("Joan", "John"),
+                page.stream().map(Employee::getEmployeeName).collect(Collectors.toList()));
+
+        Employee last = page.get(1);
+        List<Employee> next = employeeRepository.findByNameLikeAfter("Jo%", last.getEmployeeName(),
+                last.getEmployeeId(), PageRequest.of(0, 2));
+
+        assertEquals(1, next.size());
+        assertEquals("John", next.get(0).getEmployeeName());
+        assertTrue(next.get(0).getEmployeeId() > last.getEmployeeId());
+    }
+
+    @Test
+    void testFindByNameLikeEscapesWildcards() {
+        employeeRepository.saveAll(Arrays.asList(new Employee("50% off", "a"), new Employee("500 club", "b")));
+
+        List<Employee> result = employeeRepository.findByNameLike("50!%%", PageRequest.of(0, 10));
+
+        assertEquals(1, result.size());
+        assertEquals("50% off", result.get(0).getEmployeeName());
+    }
+
+    @Test
+    void testFindSummaries() {
+        Employee first = employeeRepository.save(employee);
+        Employee second = employeeRepository.save(new Employee("Second Employee", "Second Description"));
+
+        List<EmployeeSummary> all = employeeRepository.findAllSummaries();
+        assertEquals(Arrays.asList(first.getEmployeeId(), second.getEmployeeId()),
+                all.stream().map(EmployeeSummary::getEmployeeId).collect(Collectors.toList()));
+        assertEquals("Test Employee", all.get(0).getEmployeeName());
+
+        List<EmployeeSummary> page = employeeRepository.findSummariesAfter(first.getEmployeeId(), PageRequest.of(0, 10));
+        assertEquals(1, page.size());
+        assertEquals("Second Employee", page.get(0).getEmployeeName());
+
+        assertEquals("Second Employee", employeeRepository.findSummaryById(second.getEmployeeId()).get().getEmployeeName());
+        assertFalse(employeeRepository.findSummaryById(9999L).isPresent());
+    }
+
+    @Test
+    void testFindVersionById() {
+        Employee savedEmployee = employeeRepository.save(employee);
+
+        assertEquals(Optional.of(savedEmployee.getVersion()), employeeRepository.findVersionById(savedEmployee.getEmployeeId()));
+        assertFalse(employeeRepository.findVersionById(9999L).isPresent());
+    }
+
+    @Test
+    void testWritesAssignIncreasingChangeSeq() {
+        Employee first = employeeRepository.save(employee);
+        List<Employee> more = (List<Employee>) employeeRepository.saveAll(Arrays.asList(
+                new Employee("Second Employee", "b"), new Employee("Third Employee", "c")));
+        entityManager.flush();
+
+        assertTrue(first.getChangeSeq() > 0);
+        assertEquals(first.getChangeSeq() + 1, more.get(0).getChangeSeq());
+        assertEquals(first.getChangeSeq() + 2, more.get(1).getChangeSeq());
+        assertEquals(more.get(1).getChangeSeq(), employeeRepository.getLastChangeSeq());
+        assertNotNull(first.getCreatedAt());
+        assertNotNull(first.getUpdatedAt());
+
+        employeeRepository.patchEmployee(first.getEmployeeId(), "Renamed", null, null);
+        Employee patched = employeeRepository.findById(first.getEmployeeId()).get();
+        assertEquals(employeeRepository.getLastChangeSeq(), patched.getChangeSeq());
+        assertEquals(first.getCreatedAt(), patched.getCreatedAt());
+
+        List<Long> changed = employeeRepository.findByChangeSeqGreaterThanOrderByChangeSeqAsc(
+                first.getChangeSeq(), PageRequest.of(0, 10)).stream()
+                .map(Employee::getEmployeeId).collect(Collectors.toList());
+        assertEquals(Arrays.asList(more.get(0).getEmployeeId(), more.get(1).getEmployeeId(), first.getEmployeeId()),
+                changed);
+    }
+
+    @Test
+    void testUpdateKeepsCreatedAt() {
+        Employee savedEmployee = employeeRepository.save(employee);
+        entityManager.flush();
+        entityManager.clear();
+
+        Employee detached = new Employee("Updated", "Updated Description");
+        detached.setEmployeeId(savedEmployee.getEmployeeId());
+        detached.setVersion(savedEmployee.getVersion());
+        Employee updated = employeeRepository.save(detached);
+
+        assertEquals(savedEmployee.getCreatedAt(), updated.getCreatedAt());
+        assertTrue(updated.getChangeSeq() > savedEmployee.getChangeSeq());
+    }
+
+    @Test
+    void testDeleteLeavesTombstones() {
+        Employee first = employeeRepository.save(employee);
+        Employee second = employeeRepository.save(new Employee("Second Employee", "b"));
+        long before = employeeRepository.getLastChangeSeq();
+
+        employeeRepository.deleteEmployeeById(first.getEmployeeId());
+        employeeRepository.deleteEmployeesByIdIn(Arrays.asList(second.getEmployeeId(), 9999L));
+        employeeRepository.deleteEmployeeById(9999L);
+
+        List<EmployeeTombstone> tombstones = employeeTombstoneRepository.findByChangeSeqGreaterThanOrderByChangeSeqAsc(
+                before, PageRequest.of(0, 10));
+        assertEquals(Arrays.asList(first.getEmployeeId(), second.getEmployeeId()),
+                tombstones.stream().map(EmployeeTombstone::getEmployeeId).collect(Collectors.toList()));
+        assertTrue(tombstones.get(0).getChangeSeq() < tombstones.get(1).getChangeSeq());
+        assertTrue(tombstones.get(1).getChangeSeq() <= employeeRepository.getLastChangeSeq());
+    }
+
+    @Test
+    void testChangeSeqQueryUsesIndex() {
+        employeeRepository.findByChangeSeqGreaterThanOrderByChangeSeqAsc(10, PageRequest.of(0, 101));
+        String plan = explain(GeneratedStatements.last(), 10L, 101);
+
+        assertTrue(plan.contains("IDX_EMPLOYEE_CHANGE_SEQ"), plan);
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    @Test
+    void testNamePrefixQueryUsesIndex() {
+        employeeRepository.findByNameLike("Jo%", PageRequest.of(0, 21));
+        String firstPage = explain(GeneratedStatements.last(), "Jo%", 21);
+        employeeRepository.findByNameLikeAfter("Jo%", "John", 10L, PageRequest.of(0, 21));
+        String nextPage = explain(GeneratedStatements.last(), "Jo%", "John", "John", 10L, 21);
+
+        for (String plan : Arrays.asList(firstPage, nextPage)) {
+            assertTrue(plan.contains("IDX_EMPLOYEE_NAME_ID"), plan);
+            assertFalse(plan.contains("tableScan"), plan);
+            assertTrue(plan.contains("index sorted"), plan);
+        }
+    }
+
+    private String explain(String sql, Object... parameters) {
+        return entityManager.getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    statement.setObject(i + 1, parameters[i]);
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            }
+        });
+    }
+
+    /**
+     * Keeps the last statement Hibernate generated, so tests can look at its plan.
+     */
+    public static class GeneratedStatements implements StatementInspector {
+
+        private static final ThreadLocal<String> LAST = new ThreadLocal<>();
+
+        @Override
+        public String inspect(String sql) {
+            LAST.set(sql);
+            return sql;
+        }
+
+        static String last() {
+            return LAST.get();
+        }
+    }
 }
@@ -0,0 +1,109 @@
+package com.viraj.sample.search;
+
+import com.viraj.sample.entity.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeSearchIndexTest {
+
+    private EmployeeSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EmployeeSearchIndex();
+        index.index(employee(1L, "John Doe", "Senior Developer"));
+        index.index(employee(2L, "Jane Smith", "Project Manager"));
+        index.index(employee(3L, "Peter Johnson", "Developer on the project team"));
+    }
+
+    @Test
+    void testTokenize() {
+        assertEquals(Arrays.asList("jose", "perez", "dev", "ops", "2"), EmployeeSearchIndex.tokenize("José Pérez, Dev-Ops 2"));
+        assertTrue(EmployeeSearchIndex.tokenize("  -- ").isEmpty());
+    }
+
+    @Test
+    void testSearchMatchesPrefixes() {
+        assertEquals(Arrays.asList(1L, 3L), index.search("john", 10));
+        assertEquals(Arrays.asList(2L), index.search("MANA", 10));
+    }
+
+    @Test
+    void testSearchRequiresEveryWord() {
+        assertEquals(Arrays.asList(3L), index.search("developer project", 10));
+        assertTrue(index.search("developer nobody", 10).isEmpty());
+    }
+
+    @Test
+    void testSearchRanksNameMatchesFirst() {
+        assertEquals(Arrays.asList(2L, 3L), index.search("project", 10));
+    }
+
+    @Test
+    void testSearchReturnsTopResults() {
+        assertEquals(1, index.search("developer", 1).size());
+    }
+
+    @Test
+    void testSearchEmptyQuery() {
+        assertThrows(IllegalArgumentException.class, () -> index.search("--", 10));
+    }
+
+    @Test
+    void testIndexReplacesPreviousVersion() {
+        Employee updated = employee(1L, "John Doe", "Architect");
+        updated.setVersion(1);
+        index.index(updated);
+
+        assertEquals(Arrays.asList(3L), index.search("developer", 10));
+        assertEquals(Arrays.asList(1L), index.search("architect", 10));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void testIndexIgnoresOlderVersion() {
+        Employee updated = employee(1L, "John Doe", "Architect");
+        updated.setVersion(2);
+        index.index(updated);
+        index.index(employee(1L, "John Doe", "Intern"));
+
+        assertTrue(index.search("intern", 10).isEmpty());
+    }
+
+    @Test
+    void testRemove() {
+        index.remove(1L);
+
+        assertEquals(Arrays.asList(3L), index.search("john", 10));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void testLoadKeepsWritesMadeDuringTheScan() {
+        EmployeeSearchIndex loaded = new EmployeeSearchIndex();
+        Employee newer = employee(1L, "John Doe", "Architect");
+        newer.setVersion(1);
+
+        loaded.load(consumer -> {
+            loaded.index(newer);
+            loaded.remove(2L);
+            consumer.accept(employee(1L, "John Doe", "Senior Developer"));
+            consumer.accept(employee(2L, "Jane Smith", "Project Manager"));
+            consumer.accept(employee(3L, "Peter Johnson", "Developer"));
+        });
+
+        assertEquals(2, loaded.size());
+        assertEquals(Arrays.asList(1L), loaded.search("architect", 10));
+        assertTrue(loaded.search("jane", 10).isEmpty());
+    }
+
+    private static Employee employee(long employeeId, String employeeName, String employeeDescription) {
+        Employee employee = new Employee(employeeName, employeeDescription);
+        employee.setEmployeeId(employeeId);
+        return employee;
+    }
+}
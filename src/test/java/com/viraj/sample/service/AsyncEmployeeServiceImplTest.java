@@ -0,0 +1,85 @@
+package com.viraj.sample.service;
+
+import com.viraj.sample.entity.Employee;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncEmployeeServiceImplTest {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @InjectMocks
+    private AsyncEmployeeServiceImpl asyncEmployeeService;
+
+    private ThreadPoolExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1),
+                new ThreadPoolExecutor.AbortPolicy());
+        asyncEmployeeService.employeeExecutor = executor;
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testGetEmployeeRunsOnExecutor() throws Exception {
+        Employee employee = new Employee();
+        employee.setEmployeeId(1L);
+        when(employeeService.getEmployee(1L)).thenAnswer(invocation -> {
+            assertNotEquals("main", Thread.currentThread().getName());
+            return employee;
+        });
+
+        assertSame(employee, asyncEmployeeService.getEmployee(1L).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testGetEmployeeCompletesExceptionally() {
+        when(employeeService.getEmployee(99L)).thenThrow(new NoSuchElementException());
+
+        ExecutionException ex = assertThrows(ExecutionException.class,
+                () -> asyncEmployeeService.getEmployee(99L).get(5, TimeUnit.SECONDS));
+        assertTrue(ex.getCause() instanceof NoSuchElementException);
+    }
+
+    @Test
+    void testRejectsWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(employeeService.getEmployee(1L)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new Employee();
+        });
+
+        CompletableFuture<Employee> running = asyncEmployeeService.getEmployee(1L);
+        CompletableFuture<Employee> queued = asyncEmployeeService.getEmployee(1L);
+
+        assertThrows(RejectedExecutionException.class, () -> asyncEmployeeService.getEmployee(1L));
+
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        queued.get(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,140 @@
+package com.viraj.sample.service;
+
+import com.viraj.sample.entity.Employee;
+import com.viraj.sample.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({EmployeeBatchWriter.class, EmployeeBatchWriterTest.StatementCountingConfiguration.class})
+class EmployeeBatchWriterTest {
+
+    private static final int BATCH_SIZE = 50;
+    private static final int ROWS = 500;
+
+    @Autowired
+    private EmployeeBatchWriter employeeBatchWriter;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @BeforeEach
+    void setUp() {
+        statementCounter.reset();
+    }
+
+    @Test
+    void testSaveChunkBatchesInserts() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            employees.add(new Employee("Employee " + i, "Description " + i));
+        }
+
+        List<Employee> savedEmployees = employeeBatchWriter.saveChunk(employees);
+        int insertRoundTrips = statementCounter.getInsertRoundTrips();
+        int roundTrips = statementCounter.getRoundTrips();
+
+        // One round trip per batch of inserts, plus one id block (select + update) per batch and
+        // one change sequence block (update + select) for the whole chunk.
+        assertEquals(ROWS / BATCH_SIZE, insertRoundTrips);
+        assertTrue(roundTrips <= 3 * (ROWS / BATCH_SIZE + 1) + 2, "Unexpected number of round trips: " + roundTrips);
+        assertEquals(ROWS, savedEmployees.size());
+        assertEquals(ROWS, savedEmployees.stream().mapToLong(Employee::getEmployeeId).distinct().count());
+        assertEquals(ROWS, employeeRepository.count());
+    }
+
+    static class StatementCounter {
+
+        private final AtomicInteger roundTrips = new AtomicInteger();
+        private final AtomicInteger insertRoundTrips = new AtomicInteger();
+
+        void reset() {
+            roundTrips.set(0);
+            insertRoundTrips.set(0);
+        }
+
+        void executed(String sql) {
+            roundTrips.incrementAndGet();
+            if (sql.toLowerCase().startsWith("insert into employee ")) {
+                insertRoundTrips.incrementAndGet();
+            }
+        }
+
+        int getRoundTrips() {
+            return roundTrips.get();
+        }
+
+        int getInsertRoundTrips() {
+            return insertRoundTrips.get();
+        }
+    }
+
+    @TestConfiguration
+    static class StatementCountingConfiguration {
+
+        @Bean
+        StatementCounter statementCounter() {
+            return new StatementCounter();
+        }
+
+        @Bean
+        static BeanPostProcessor statementCountingPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource ? proxy(DataSource.class, bean, null) : bean;
+                }
+            };
+        }
+
+        private static final AtomicReference<StatementCounter> COUNTER = new AtomicReference<>();
+
+        @Autowired
+        void setCounter(StatementCounter counter) {
+            COUNTER.set(counter);
+        }
+
+        private static Object proxy(Class<?> type, Object target, String sql) {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                String name = method.getName();
+                if (result instanceof Connection) {
+                    return proxy(Connection.class, result, null);
+                }
+                if (result instanceof PreparedStatement && name.equals("prepareStatement")) {
+                    return proxy(PreparedStatement.class, result, (String) args[0]);
+                }
+                if (sql != null && COUNTER.get() != null && name.startsWith("execute")) {
+                    COUNTER.get().executed(sql);
+                }
+                return result;
+            });
+        }
+    }
+}
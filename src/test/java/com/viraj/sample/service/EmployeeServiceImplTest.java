@@ -1,22 +1,59 @@
 package com.viraj.sample.service;
 
+import com.viraj.sample.cache.EmployeeCache;
+import com.viraj.sample.cache.EmployeeCacheProperties;
+import com.viraj.sample.dto.EmployeeChanges;
+import com.viraj.sample.dto.EmployeeLookup;
+import com.viraj.sample.dto.EmployeeNameCursor;
+import com.viraj.sample.dto.EmployeeNamePage;
+import com.viraj.sample.dto.EmployeePage;
+import com.viraj.sample.dto.EmployeePatch;
+import com.viraj.sample.dto.EmployeeSummary;
 import com.viraj.sample.entity.Employee;
+import com.viraj.sample.entity.EmployeeTombstone;
 import com.viraj.sample.repository.EmployeeRepository;
+import com.viraj.sample.repository.EmployeeTombstoneRepository;
+import com.viraj.sample.search.EmployeeSearchIndex;
+import com.viraj.sample.snapshot.EmployeeSnapshot;
+import com.viraj.sample.snapshot.EmployeeSnapshotStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import javax.persistence.EntityManager;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +62,27 @@ class EmployeeServiceImplTest {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private EmployeeBatchWriter employeeBatchWriter;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private EmployeeCache employeeCache = new EmployeeCache(new EmployeeCacheProperties());
+
+    @Spy
+    private EmployeeSearchIndex employeeSearchIndex = new EmployeeSearchIndex();
+
+    @Mock
+    private EmployeeTombstoneRepository employeeTombstoneRepository;
+
+    @Mock
+    private EmployeeWriteCoalescer employeeWriteCoalescer;
+
+    @Mock
+    private EmployeeSnapshotStore employeeSnapshotStore;
+
     @InjectMocks
     private EmployeeServiceImpl employeeService;
 
@@ -56,6 +114,17 @@ class EmployeeServiceImplTest {
         verify(employeeRepository, times(1)).save(any(Employee.class));
     }
 
+    @Test
+    void testSaveEmployeeCoalesced() {
+        when(employeeWriteCoalescer.isEnabled()).thenReturn(true);
+        when(employeeWriteCoalescer.save(employee)).thenReturn(employee);
+
+        Employee result = employeeService.saveEmployee(employee);
+
+        assertSame(employee, result);
+        verify(employeeRepository, never()).save(any(Employee.class));
+    }
+
     @Test
     void testSaveEmployeeNull() {
         assertThrows(IllegalArgumentException.class, () -> employeeService.saveEmployee(null));
@@ -134,6 +203,96 @@ class EmployeeServiceImplTest {
         verify(employeeRepository, times(1)).findById(99L);
     }
 
+    @Test
+    void testGetEmployeeServedFromCache() {
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+
+        employeeService.getEmployee(1L);
+        Employee result = employeeService.getEmployee(1L);
+
+        assertEquals(employee.getEmployeeId(), result.getEmployeeId());
+        verify(employeeRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void testConcurrentGetEmployeeRunsOneQuery() throws Exception {
+        int callers = 16;
+        CountDownLatch arrived = new CountDownLatch(callers);
+        CountDownLatch release = new CountDownLatch(1);
+        when(employeeRepository.findById(1L)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(employee);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Employee>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> {
+                    arrived.countDown();
+                    return employeeService.getEmployee(1L);
+                }));
+            }
+            assertTrue(arrived.await(5, TimeUnit.SECONDS));
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<Employee> result : results) {
+                assertEquals(employee.getEmployeeId(), result.get(5, TimeUnit.SECONDS).getEmployeeId());
+            }
+            verify(employeeRepository, times(1)).findById(1L);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testReadsServedFromSnapshot() {
+        employee.setVersion(3L);
+        EmployeeSnapshot snapshot = EmployeeSnapshot.builder(7L).add(employee).add(employee2).build();
+        when(employeeSnapshotStore.current()).thenReturn(snapshot);
+
+        assertEquals("John Doe", employeeService.getEmployee(1L).getEmployeeName());
+        assertThrows(NoSuchElementException.class, () -> employeeService.getEmployee(99L));
+        assertEquals(2, employeeService.getAllEmployees().size());
+        assertEquals(Collections.singletonList(2L), employeeService.getEmployeePage(1L, 10).getEmployees().stream()
+                .map(Employee::getEmployeeId).collect(Collectors.toList()));
+        assertEquals("Jane Smith", employeeService.getEmployeeSummary(2L).getEmployeeName());
+        assertEquals(Optional.of(3L), employeeService.getEmployeeVersion(1L));
+        assertEquals(7L, employeeService.getChangeVersion());
+        verifyZeroInteractions(employeeRepository);
+    }
+
+    @Test
+    void testGetEmployeeNotFoundIsCached() {
+        when(employeeRepository.findById(anyLong())).thenReturn(Optional.empty());
+
+        assertThrows(NoSuchElementException.class, () -> employeeService.getEmployee(99L));
+        assertThrows(NoSuchElementException.class, () -> employeeService.getEmployee(99L));
+        verify(employeeRepository, times(1)).findById(99L);
+    }
+
+    @Test
+    void testUpdateEmployeeInvalidatesCache() {
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+        when(employeeRepository.save(any(Employee.class))).thenReturn(employee);
+
+        employeeService.getEmployee(1L);
+        employeeService.updateEmployee(employee);
+        employeeService.getEmployee(1L);
+
+        verify(employeeCache, times(1)).invalidate(1L);
+        verify(employeeRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void testDeleteEmployeeInvalidatesCache() {
+        when(employeeRepository.deleteEmployeeById(anyLong())).thenReturn(1);
+
+        employeeService.deleteEmployee(1L);
+
+        verify(employeeCache, times(1)).invalidate(1L);
+    }
+
     @Test
     void testGetEmployeeNullId() {
         assertThrows(IllegalArgumentException.class, () -> employeeService.getEmployee(null));
@@ -148,23 +307,24 @@ class EmployeeServiceImplTest {
 
     @Test
     void testDeleteEmployee() {
-        doNothing().when(employeeRepository).deleteById(anyLong());
+        when(employeeRepository.deleteEmployeeById(anyLong())).thenReturn(1);
 
         employeeService.deleteEmployee(1L);
 
-        verify(employeeRepository, times(1)).deleteById(1L);
+        verify(employeeRepository, times(1)).deleteEmployeeById(1L);
+        verify(employeeRepository, never()).deleteById(anyLong());
     }
 
     @Test
     void testDeleteEmployeeNullId() {
         assertThrows(IllegalArgumentException.class, () -> employeeService.deleteEmployee(null));
-        verify(employeeRepository, never()).deleteById(anyLong());
+        verify(employeeRepository, never()).deleteEmployeeById(anyLong());
     }
 
     @Test
     void testDeleteEmployeeInvalidId() {
         assertThrows(IllegalArgumentException.class, () -> employeeService.deleteEmployee(0L));
-        verify(employeeRepository, never()).deleteById(anyLong());
+        verify(employeeRepository, never()).deleteEmployeeById(anyLong());
     }
 
     @Test
@@ -178,4 +338,449 @@ class EmployeeServiceImplTest {
         assertEquals("Updated Description", result.getEmployeeDescription());
         verify(employeeRepository, times(1)).save(any(Employee.class));
     }
+
+    @Test
+    void testGetEmployeePageWithNextCursor() {
+        Employee employee3 = new Employee("Jim Beam", "Tester");
+        employee3.setEmployeeId(3L);
+        when(employeeRepository.findByEmployeeIdGreaterThanOrderByEmployeeIdAsc(0L, PageRequest.of(0, 3)))
+                .thenReturn(Arrays.asList(employee, employee2, employee3));
+
+        EmployeePage<Employee> page = employeeService.getEmployeePage(null, 2);
+
+        assertEquals(2, page.getEmployees().size());
+        assertTrue(page.hasNext());
+        assertEquals(Long.valueOf(2L), page.getNextCursor());
+    }
+
+    @Test
+    void testGetEmployeePageLastPage() {
+        when(employeeRepository.findByEmployeeIdGreaterThanOrderByEmployeeIdAsc(1L, PageRequest.of(0, 3)))
+                .thenReturn(Arrays.asList(employee2));
+
+        EmployeePage<Employee> page = employeeService.getEmployeePage(1L, 2);
+
+        assertEquals(1, page.getEmployees().size());
+        assertFalse(page.hasNext());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetEmployeeSummaryPage() {
+        when(employeeRepository.findSummariesAfter(eq(0L), any(Pageable.class))).thenReturn(Arrays.asList(
+                EmployeeSummary.of(employee), EmployeeSummary.of(employee2)));
+
+        EmployeePage<EmployeeSummary> page = employeeService.getEmployeeSummaryPage(null, 1);
+
+        assertEquals(1, page.getEmployees().size());
+        assertEquals(Long.valueOf(1L), page.getNextCursor());
+        verify(employeeRepository, never()).findByEmployeeIdGreaterThanOrderByEmployeeIdAsc(anyLong(), any());
+    }
+
+    @Test
+    void testGetEmployeeSummary() {
+        when(employeeRepository.findSummaryById(1L)).thenReturn(Optional.of(EmployeeSummary.of(employee)));
+
+        EmployeeSummary summary = employeeService.getEmployeeSummary(1L);
+
+        assertEquals("John Doe", summary.getEmployeeName());
+        verify(employeeRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void testGetEmployeeSummaryFromCache() {
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+        employeeService.getEmployee(1L);
+
+        EmployeeSummary summary = employeeService.getEmployeeSummary(1L);
+
+        assertEquals("John Doe", summary.getEmployeeName());
+        verify(employeeRepository, never()).findSummaryById(anyLong());
+    }
+
+    @Test
+    void testGetEmployeeVersion() {
+        when(employeeRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+
+        assertEquals(Optional.of(3L), employeeService.getEmployeeVersion(1L));
+        verify(employeeRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void testGetEmployeeVersionFromCache() {
+        employee.setVersion(5L);
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+        employeeService.getEmployee(1L);
+
+        assertEquals(Optional.of(5L), employeeService.getEmployeeVersion(1L));
+        verify(employeeRepository, never()).findVersionById(anyLong());
+    }
+
+    @Test
+    void testGetChangeVersion() {
+        when(employeeRepository.getLastChangeSeq()).thenReturn(42L);
+
+        assertEquals(42L, employeeService.getChangeVersion());
+    }
+
+    @Test
+    void testGetChanges() {
+        employee.setChangeSeq(11L);
+        employee2.setChangeSeq(14L);
+        when(employeeRepository.getLastChangeSeq()).thenReturn(14L);
+        when(employeeRepository.findByChangeSeqGreaterThanOrderByChangeSeqAsc(eq(10L), any(Pageable.class)))
+                .thenReturn(Arrays.asList(employee, employee2));
+        when(employeeTombstoneRepository.findByChangeSeqGreaterThanOrderByChangeSeqAsc(eq(10L), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(new EmployeeTombstone(3L, 12L, Instant.now())));
+
+        EmployeeChanges changes = employeeService.getChanges(10L, 2);
+
+        assertEquals(2, changes.getChanges().size());
+        assertEquals(1L, changes.getChanges().get(0).getEmployeeId());
+        assertFalse(changes.getChanges().get(0).isDeleted());
+        assertEquals(3L, changes.getChanges().get(1).getEmployeeId());
+        assertTrue(changes.getChanges().get(1).isDeleted());
+        assertEquals(12L, changes.getLastChangeSeq());
+        assertTrue(changes.isHasMore());
+    }
+
+    @Test
+    void testGetChangesSkipsUncommittedSequence() {
+        employee.setChangeSeq(11L);
+        employee2.setChangeSeq(14L);
+        when(employeeRepository.getLastChangeSeq()).thenReturn(12L);
+        when(employeeRepository.findByChangeSeqGreaterThanOrderByChangeSeqAsc(eq(10L), any(Pageable.class)))
+                .thenReturn(Arrays.asList(employee, employee2));
+        when(employeeTombstoneRepository.findByChangeSeqGreaterThanOrderByChangeSeqAsc(eq(10L), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+        EmployeeChanges changes = employeeService.getChanges(10L, 100);
+
+        assertEquals(1, changes.getChanges().size());
+        assertEquals(12L, changes.getLastChangeSeq());
+        assertFalse(changes.isHasMore());
+    }
+
+    @Test
+    void testGetChangesNothingNew() {
+        when(employeeRepository.getLastChangeSeq()).thenReturn(20L);
+
+        EmployeeChanges changes = employeeService.getChanges(20L, 100);
+
+        assertTrue(changes.getChanges().isEmpty());
+        assertEquals(20L, changes.getLastChangeSeq());
+        assertFalse(changes.isHasMore());
+    }
+
+    @Test
+    void testGetChangesInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> employeeService.getChanges(-1L, 10));
+        assertThrows(IllegalArgumentException.class, () -> employeeService.getChanges(0L, 0));
+    }
+
+    @Test
+    void testGetEmployeeSummaryNotFound() {
+        when(employeeRepository.findSummaryById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(NoSuchElementException.class, () -> employeeService.getEmployeeSummary(99L));
+    }
+
+    @Test
+    void testGetEmployeePageInvalidLimit() {
+        assertThrows(IllegalArgumentException.class, () -> employeeService.getEmployeePage(null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> employeeService.getEmployeePage(null, EmployeeServiceImpl.MAX_PAGE_SIZE + 1));
+        verify(employeeRepository, never()).findByEmployeeIdGreaterThanOrderByEmployeeIdAsc(anyLong(), any());
+    }
+
+    @Test
+    void testGetEmployeePageNegativeCursor() {
+        assertThrows(IllegalArgumentException.class, () -> employeeService.getEmployeePage(-1L, 10));
+    }
+
+    @Test
+    void testExportEmployees() {
+        when(employeeRepository.streamAllByOrderByEmployeeIdAsc()).thenReturn(Stream.of(employee, employee2));
+        List<Employee> exported = new ArrayList<>();
+
+        employeeService.exportEmployees(exported::add);
+
+        assertEquals(Arrays.asList(employee, employee2), exported);
+        verify(entityManager, times(1)).detach(employee);
+        verify(entityManager, times(1)).detach(employee2);
+    }
+
+    @Test
+    void testExportEmployeesNullConsumer() {
+        assertThrows(IllegalArgumentException.class, () -> employeeService.exportEmployees(null));
+        verify(employeeRepository, never()).streamAllByOrderByEmployeeIdAsc();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSaveAllInChunks() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < EmployeeServiceImpl.SAVE_CHUNK_SIZE * 2 + 1; i++) {
+            employees.add(new Employee("Employee " + i, "Description " + i));
+        }
+        when(employeeBatchWriter.saveChunk(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Employee> result = employeeService.saveAll(employees);
+
+        assertEquals(employees, result);
+        verify(employeeBatchWriter, times(3)).saveChunk(any());
+    }
+
+    @Test
+    void testSaveAllEmpty() {
+        assertThrows(IllegalArgumentException.class, () -> employeeService.saveAll(new ArrayList<>()));
+        assertThrows(IllegalArgumentException.class, () -> employeeService.saveAll(null));
+        verify(employeeBatchWriter, never()).saveChunk(any());
+    }
+
+    @Test
+    void testSaveAllNullEmployee() {
+        assertThrows(IllegalArgumentException.class, () -> employeeService.saveAll(Arrays.asList(employee, null)));
+        verify(employeeBatchWriter, never()).saveChunk(any());
+    }
+
+    @Test
+    void testGetEmployees() {
+        when(employeeRepository.findAllById(Arrays.asList(2L, 1L, 99L))).thenReturn(Arrays.asList(employee, employee2));
+
+        EmployeeLookup lookup = employeeService.getEmployees(Arrays.asList(2L, 1L, 2L, 99L));
+
+        assertEquals(Arrays.asList(2L, 1L), new ArrayList<>(lookup.getEmployees().keySet()));
+        assertEquals("Jane Smith", lookup.getEmployees().get(2L).getEmployeeName());
+        assertEquals(Arrays.asList(99L), lookup.getMissingIds());
+        verify(employeeRepository, times(1)).findAllById(anyIterable());
+    }
+
+    @Test
+    void testGetEmployeesUsesCache() {
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+        when(employeeRepository.findAllById(Arrays.asList(2L))).thenReturn(Arrays.asList(employee2));
+
+        employeeService.getEmployee(1L);
+        employeeService.getEmployees(Arrays.asList(1L, 2L));
+        EmployeeLookup lookup = employeeService.getEmployees(Arrays.asList(1L, 2L));
+
+        assertEquals(2, lookup.getEmployees().size());
+        assertTrue(lookup.getMissingIds().isEmpty());
+        verify(employeeRepository, times(1)).findAllById(anyIterable());
+    }
+
+    @Test
+    void testGetEmployeesInChunks() {
+        List<Long> employeeIds = new ArrayList<>();
+        for (long employeeId = 1; employeeId <= EmployeeServiceImpl.LOOKUP_CHUNK_SIZE + 1; employeeId++) {
+            employeeIds.add(employeeId);
+        }
+        when(employeeRepository.findAllById(anyIterable())).thenReturn(new ArrayList<>());
+
+        EmployeeLookup lookup = employeeService.getEmployees(employeeIds);
+
+        assertTrue(lookup.getEmployees().isEmpty());
+        assertEquals(employeeIds, lookup.getMissingIds());
+        verify(employeeRepository, times(2)).findAllById(anyIterable());
+    }
+
+    @Test
+    void testGetEmployeesInvalidIds() {
+        assertThrows(IllegalArgumentException.class, () -> employeeService.getEmployees(null));
+        assertThrows(IllegalArgumentException.class, () -> employeeService.getEmployees(new ArrayList<>()));
+        assertThrows(IllegalArgumentException.class, () -> employeeService.getEmployees(Arrays.asList(1L, 0L)));
+        assertThrows(IllegalArgumentException.class, () -> employeeService.getEmployees(Arrays.asList(1L, null)));
+        verify(employeeRepository, never()).findAllById(anyIterable());
+    }
+
+    @Test
+    void testGetEmployeesTooMany() {
+        List<Long> employeeIds = new ArrayList<>();
+        for (long employeeId = 1; employeeId <= EmployeeServiceImpl.MAX_LOOKUP_IDS + 1; employeeId++) {
+            employeeIds.add(employeeId);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> employeeService.getEmployees(employeeIds));
+        verify(employeeRepository, never()).findAllById(anyIterable());
+    }
+
+    @Test
+    void testPatchEmployee() {
+        when(employeeRepository.patchEmployee(1L, null, "Architect", 3L)).thenReturn(1);
+
+        boolean updated = employeeService.patchEmployee(1L, new EmployeePatch(null, "Architect", 3L));
+
+        assertTrue(updated);
+        verify(employeeRepository, never()).existsById(anyLong());
+        verify(employeeRepository, never()).save(any(Employee.class));
+        verify(employeeCache, times(1)).invalidate(1L);
+    }
+
+    @Test
+    void testPatchEmployeeNotFound() {
+        when(employeeRepository.patchEmployee(eq(99L), anyString(), isNull(), isNull())).thenReturn(0);
+
+        assertFalse(employeeService.patchEmployee(99L, new EmployeePatch("Nobody", null, null)));
+        verify(employeeRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void testPatchEmployeeVersionConflict() {
+        when(employeeRepository.patchEmployee(1L, "John", null, 2L)).thenReturn(0);
+        when(employeeRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> employeeService.patchEmployee(1L, new EmployeePatch("John", null, 2L)));
+    }
+
+    @Test
+    void testPatchEmployeeNothingToUpdate() {
+        assertThrows(IllegalArgumentException.class, () -> employeeService.patchEmployee(1L, new EmployeePatch()));
+        assertThrows(IllegalArgumentException.class, () -> employeeService.patchEmployee(1L, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> employeeService.patchEmployee(0L, new EmployeePatch("John", null, null)));
+        verify(employeeRepository, never()).patchEmployee(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void testDeleteEmployeeNotFound() {
+        when(employeeRepository.deleteEmployeeById(99L)).thenReturn(0);
+
+        assertThrows(NoSuchElementException.class, () -> employeeService.deleteEmployee(99L));
+        verify(employeeRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDeleteEmployees() {
+        List<Long> employeeIds = new ArrayList<>();
+        for (long employeeId = 1; employeeId <= EmployeeServiceImpl.DELETE_CHUNK_SIZE + 1; employeeId++) {
+            employeeIds.add(employeeId);
+        }
+        employeeIds.add(1L);
+        when(employeeRepository.deleteEmployeesByIdIn(anyCollection()))
+                .thenAnswer(invocation -> ((Collection<Long>) invocation.getArgument(0)).size() - 1);
+
+        int deleted = employeeService.deleteEmployees(employeeIds);
+
+        assertEquals(EmployeeServiceImpl.DELETE_CHUNK_SIZE - 1, deleted);
+        verify(employeeRepository, times(2)).deleteEmployeesByIdIn(anyCollection());
+        verify(employeeCache, times(1)).invalidateAll(anyIterable());
+    }
+
+    @Test
+    void testDeleteEmployeesInvalidIds() {
+        assertThrows(IllegalArgumentException.class, () -> employeeService.deleteEmployees(new ArrayList<>()));
+        assertThrows(IllegalArgumentException.class, () -> employeeService.deleteEmployees(Arrays.asList(1L, -1L)));
+        verify(employeeRepository, never()).deleteEmployeesByIdIn(anyCollection());
+    }
+
+    @Test
+    void testDeleteEmployeesTooMany() {
+        List<Long> employeeIds = new ArrayList<>();
+        for (long employeeId = 1; employeeId <= EmployeeServiceImpl.MAX_DELETE_IDS + 1; employeeId++) {
+            employeeIds.add(employeeId);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> employeeService.deleteEmployees(employeeIds));
+        verify(employeeRepository, never()).deleteEmployeesByIdIn(anyCollection());
+        verify(employeeCache, never()).invalidateAll(anyIterable());
+    }
+
+    @Test
+    void testSearchEmployeesFollowsWrites() {
+        when(employeeRepository.save(any(Employee.class))).thenReturn(employee, employee2);
+        when(employeeRepository.patchEmployee(2L, null, "Senior Manager", null)).thenReturn(1);
+        when(employeeRepository.deleteEmployeeById(1L)).thenReturn(1);
+        Employee patched = new Employee("Jane Smith", "Senior Manager");
+        patched.setEmployeeId(2L);
+        patched.setVersion(1L);
+        patched.setChangeSeq(20L);
+        when(employeeRepository.findById(2L)).thenReturn(Optional.of(patched));
+        // The index only ranks ids; the rows come from the table through the cache.
+        Map<Long, Employee> stored = new HashMap<>();
+        when(employeeRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<Employee> found = new ArrayList<>();
+            for (Object employeeId : (Iterable<?>) invocation.getArgument(0)) {
+                Optional.ofNullable(stored.get(employeeId)).ifPresent(found::add);
+            }
+            return found;
+        });
+
+        employeeService.saveEmployee(employee);
+        employeeService.saveEmployee(employee2);
+        stored.put(1L, employee);
+        stored.put(2L, employee2);
+        assertEquals(1, employeeService.searchEmployees("sen", 10).size());
+
+        employeeService.patchEmployee(2L, new EmployeePatch(null, "Senior Manager", null));
+        stored.put(2L, patched);
+        assertEquals(2, employeeService.searchEmployees("sen", 10).size());
+        Employee found = employeeService.searchEmployees("manager", 10).get(0);
+        assertEquals(1L, found.getVersion());
+        assertEquals(20L, found.getChangeSeq());
+
+        employeeService.deleteEmployee(1L);
+        stored.remove(1L);
+        List<Employee> result = employeeService.searchEmployees("sen", 10);
+        assertEquals(1, result.size());
+        assertEquals(2L, result.get(0).getEmployeeId());
+        verify(employeeRepository, never()).findAll();
+    }
+
+    @Test
+    void testSearchEmployeesReadsSnapshot() {
+        employeeSearchIndex.index(employee);
+        employeeSearchIndex.index(employee2);
+        // Employee 2 was deleted after the snapshot was built but before the index heard of it.
+        EmployeeSnapshot snapshot = EmployeeSnapshot.builder(7L).add(employee).build();
+        when(employeeSnapshotStore.current()).thenReturn(snapshot);
+
+        List<Employee> result = employeeService.searchEmployees("senior", 10);
+        assertEquals(1, result.size());
+        assertEquals("John Doe", result.get(0).getEmployeeName());
+        assertTrue(employeeService.searchEmployees("manager", 10).isEmpty());
+        verify(employeeRepository, never()).findAllById(anyIterable());
+    }
+
+    @Test
+    void testSearchEmployeesInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> employeeService.searchEmployees(" ", 10));
+        assertThrows(IllegalArgumentException.class, () -> employeeService.searchEmployees("john", 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> employeeService.searchEmployees("john", EmployeeServiceImpl.MAX_SEARCH_RESULTS + 1));
+    }
+
+    @Test
+    void testGetEmployeesByNamePrefix() {
+        when(employeeRepository.findByNameLike(eq("J!%!_!!%"), any(Pageable.class)))
+                .thenReturn(Arrays.asList(employee2, employee));
+
+        EmployeeNamePage page = employeeService.getEmployeesByNamePrefix("J%_!", null, 1);
+
+        assertEquals(1, page.getEmployees().size());
+        assertTrue(page.hasNext());
+        assertEquals("Jane Smith", page.getNextCursor().getEmployeeName());
+        assertEquals(2L, page.getNextCursor().getEmployeeId());
+    }
+
+    @Test
+    void testGetEmployeesByNamePrefixAfterCursor() {
+        when(employeeRepository.findByNameLikeAfter(eq("J%"), eq("Jane Smith"), eq(2L), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(employee));
+
+        EmployeeNamePage page = employeeService.getEmployeesByNamePrefix("J",
+                new EmployeeNameCursor("Jane Smith", 2L), 10);
+
+        assertEquals(1, page.getEmployees().size());
+        assertFalse(page.hasNext());
+        verify(employeeRepository, never()).findByNameLike(anyString(), any(Pageable.class));
+    }
+
+    @Test
+    void testGetEmployeesByNamePrefixInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> employeeService.getEmployeesByNamePrefix("", null, 10));
+        assertThrows(IllegalArgumentException.class, () -> employeeService.getEmployeesByNamePrefix("J", null, 0));
+    }
 }
@@ -0,0 +1,281 @@
+package com.viraj.sample.service;
+
+import com.viraj.sample.entity.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeWriteCoalescerTest {
+
+    private final RecordingBatchWriter batchWriter = new RecordingBatchWriter();
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+    private EmployeeWriteCoalescer coalescer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        batchWriter.release.countDown();
+        callers.shutdownNow();
+        if (coalescer != null) {
+            coalescer.stop();
+        }
+    }
+
+    @Test
+    void testConcurrentSavesShareBatches() throws Exception {
+        coalescer = start(properties(50, Duration.ofMillis(50), 100));
+
+        List<Future<Employee>> results = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Employee employee = employee("Employee " + i);
+            results.add(callers.submit(() -> coalescer.save(employee)));
+        }
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            Employee saved = results.get(i).get(5, TimeUnit.SECONDS);
+            assertNotNull(saved.getEmployeeId());
+            ids.add(saved.getEmployeeId());
+        }
+        assertEquals(40, ids.stream().distinct().count());
+        assertTrue(batchWriter.batchSizes.size() < 40, "batches: " + batchWriter.batchSizes);
+        assertEquals(40, batchWriter.batchSizes.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    void testFailedBatchOnlyFailsTheBadRow() throws Exception {
+        coalescer = start(properties(10, Duration.ofMillis(50), 100));
+
+        Future<Employee> good = callers.submit(() -> coalescer.save(employee("Good")));
+        Future<Employee> bad = callers.submit(() -> coalescer.save(employee(null)));
+
+        assertNotNull(good.get(5, TimeUnit.SECONDS).getEmployeeId());
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> bad.get(5, TimeUnit.SECONDS));
+        assertTrue(ex.getCause() instanceof IllegalArgumentException);
+    }
+
+    @Test
+    void testFailedBatchRetriesRowsAsPassedIn() throws Exception {
+        // One batch of both.
+        coalescer = new EmployeeWriteCoalescer(properties(2, Duration.ofSeconds(5), 100), batchWriter);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        coalescer.bindTo(registry);
+        coalescer.start();
+
+        Future<Employee> good = callers.submit(() -> coalescer.save(employee("Good")));
+        Future<Employee> bad = callers.submit(() -> coalescer.save(employee(null)));
+        Employee saved = good.get(5, TimeUnit.SECONDS);
+        assertThrows(ExecutionException.class, () -> bad.get(5, TimeUnit.SECONDS));
+
+        // The batch stamped the good row before failing; the retry starts from a clean row.
+        assertEquals(Arrays.asList(0L), batchWriter.retriedIds);
+        assertNotEquals(0L, saved.getEmployeeId());
+        // Recorded before the callers were released.
+        assertEquals(1, registry.get("employee.write.fallbacks").counter().count());
+        assertEquals(1, registry.get("employee.write.flush").timer().count());
+    }
+
+    @Test
+    void testFullQueueRejectsSave() throws Exception {
+        batchWriter.release = new CountDownLatch(1);
+        coalescer = start(properties(1, Duration.ZERO, 1));
+
+        // The first save blocks the flusher, the second fills the queue.
+        callers.submit(() -> coalescer.save(employee("Blocking")));
+        assertTrue(batchWriter.started.await(5, TimeUnit.SECONDS));
+        callers.submit(() -> coalescer.save(employee("Queued")));
+        while (coalescer.queueSize() == 0) {
+            Thread.sleep(1);
+        }
+
+        assertThrows(RejectedExecutionException.class, () -> coalescer.save(employee("Rejected")));
+    }
+
+    @Test
+    void testSavesOfOneEmployeeCheckVersionsLikeSeparateSaves() throws Exception {
+        batchWriter.versions.put(1000L, 3L);
+        // Both saves arrive well within one batch.
+        coalescer = start(properties(10, Duration.ofMillis(200), 100));
+
+        Future<Employee> first = callers.submit(() -> coalescer.save(update(1000L, 3L, "From A")));
+        Future<Employee> second = callers.submit(() -> coalescer.save(update(1000L, 3L, "From B")));
+
+        int saved = 0;
+        int conflicts = 0;
+        for (Future<Employee> result : Arrays.asList(first, second)) {
+            try {
+                assertEquals(4L, result.get(5, TimeUnit.SECONDS).getVersion());
+                saved++;
+            } catch (ExecutionException ex) {
+                assertTrue(ex.getCause() instanceof ObjectOptimisticLockingFailureException, ex.getCause().toString());
+                conflicts++;
+            }
+        }
+        assertEquals(1, saved);
+        assertEquals(1, conflicts);
+        assertEquals(4L, batchWriter.versions.get(1000L).longValue());
+    }
+
+    @Test
+    void testTimedOutSaveIsNotWritten() throws Exception {
+        batchWriter.release = new CountDownLatch(1);
+        EmployeeWriteCoalescerProperties properties = properties(1, Duration.ZERO, 10);
+        properties.setMaxWait(Duration.ofMillis(500));
+        coalescer = start(properties);
+
+        // The first save blocks the flusher, so the second one waits in the queue until it times out.
+        Future<Employee> blocking = callers.submit(() -> coalescer.save(employee("Blocking")));
+        assertTrue(batchWriter.started.await(5, TimeUnit.SECONDS));
+        assertThrows(RejectedExecutionException.class, () -> coalescer.save(employee("Timed Out")));
+
+        batchWriter.release.countDown();
+        // Its batch was being written when its caller timed out, so the caller waited for it
+        // (up to another max-wait).
+        assertNotNull(blocking.get(5, TimeUnit.SECONDS).getEmployeeId());
+        coalescer.save(employee("After"));
+        assertEquals(Arrays.asList("Blocking", "After"), batchWriter.savedNames);
+    }
+
+    @Test
+    void testSaveWhoseBatchHangsGivesUp() throws Exception {
+        batchWriter.release = new CountDownLatch(1);
+        EmployeeWriteCoalescerProperties properties = properties(1, Duration.ZERO, 10);
+        properties.setMaxWait(Duration.ofMillis(100));
+        coalescer = start(properties);
+
+        // The batch is being written, so the save cannot be cancelled; its caller still gives up.
+        RejectedExecutionException ex = assertThrows(RejectedExecutionException.class,
+                () -> coalescer.save(employee("Hanging")));
+        assertTrue(ex.getMessage().contains("may or may not"), ex.getMessage());
+        assertEquals(0, batchWriter.started.getCount());
+    }
+
+    @Test
+    void testMetrics() throws Exception {
+        coalescer = new EmployeeWriteCoalescer(properties(10, Duration.ofMillis(1), 100), batchWriter);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        coalescer.bindTo(registry);
+        coalescer.start();
+
+        coalescer.save(employee("Metered"));
+
+        assertEquals(1, registry.get("employee.write.batch.size").summary().count());
+        assertEquals(1, registry.get("employee.write.flush").timer().count());
+        assertEquals(0, registry.get("employee.write.queue").gauge().value());
+        assertEquals(0, registry.get("employee.write.fallbacks").counter().count());
+    }
+
+    @Test
+    void testSaveWhenDisabled() {
+        coalescer = start(new EmployeeWriteCoalescerProperties());
+
+        assertFalse(coalescer.isEnabled());
+        assertThrows(IllegalStateException.class, () -> coalescer.save(employee("Disabled")));
+    }
+
+    private EmployeeWriteCoalescer start(EmployeeWriteCoalescerProperties properties) {
+        EmployeeWriteCoalescer writeCoalescer = new EmployeeWriteCoalescer(properties, batchWriter);
+        writeCoalescer.start();
+        return writeCoalescer;
+    }
+
+    private static EmployeeWriteCoalescerProperties properties(int maxBatchSize, Duration maxDelay, int queueCapacity) {
+        EmployeeWriteCoalescerProperties properties = new EmployeeWriteCoalescerProperties();
+        properties.setEnabled(true);
+        properties.setMaxBatchSize(maxBatchSize);
+        properties.setMaxDelay(maxDelay);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setMaxWait(Duration.ofSeconds(5));
+        return properties;
+    }
+
+    private static Employee update(long employeeId, long version, String name) {
+        Employee employee = employee(name);
+        employee.setEmployeeId(employeeId);
+        employee.setVersion(version);
+        return employee;
+    }
+
+    private static Employee employee(String name) {
+        Employee employee = new Employee();
+        employee.setEmployeeName(name);
+        return employee;
+    }
+
+    // Assigns ids like the database would and fails the whole chunk when a row has no name. Like
+    // Hibernate, it stamps every row before the chunk fails.
+    private static class RecordingBatchWriter extends EmployeeBatchWriter {
+
+        private final AtomicLong ids = new AtomicLong();
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        private final List<Long> retriedIds = new CopyOnWriteArrayList<>();
+        private final List<String> savedNames = new CopyOnWriteArrayList<>();
+        // Stored version of each existing employee.
+        private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+        private final CountDownLatch started = new CountDownLatch(1);
+        private volatile CountDownLatch release = new CountDownLatch(0);
+
+        @Override
+        public List<Employee> saveChunk(List<Employee> employees) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            if (employees.size() == 1 && employees.get(0).getEmployeeName() != null) {
+                retriedIds.add(employees.get(0).getEmployeeId());
+            }
+            // Like Hibernate, versions are checked against the rows as they were when the chunk started.
+            Map<Long, Long> storedVersions = new HashMap<>(versions);
+            for (Employee employee : employees) {
+                if (employee.getEmployeeId() == 0) {
+                    employee.setEmployeeId(ids.incrementAndGet());
+                } else if (!Long.valueOf(employee.getVersion()).equals(storedVersions.get(employee.getEmployeeId()))) {
+                    throw new ObjectOptimisticLockingFailureException(Employee.class, employee.getEmployeeId());
+                }
+                employee.setChangeSeq(employee.getEmployeeId());
+            }
+            for (Employee employee : employees) {
+                if (employee.getEmployeeName() == null) {
+                    throw new IllegalArgumentException("Employee name cannot be null");
+                }
+            }
+            batchSizes.add(employees.size());
+            employees.forEach(employee -> savedNames.add(employee.getEmployeeName()));
+            List<Employee> savedEmployees = new ArrayList<>();
+            for (Employee employee : employees) {
+                Employee saved = new Employee();
+                if (storedVersions.containsKey(employee.getEmployeeId())) {
+                    saved.setEmployeeId(employee.getEmployeeId());
+                    saved.setVersion(storedVersions.get(employee.getEmployeeId()) + 1);
+                    versions.put(saved.getEmployeeId(), saved.getVersion());
+                } else {
+                    saved.setEmployeeId(ids.incrementAndGet());
+                }
+                saved.setEmployeeName(employee.getEmployeeName());
+                savedEmployees.add(saved);
+            }
+            return savedEmployees;
+        }
+    }
+}
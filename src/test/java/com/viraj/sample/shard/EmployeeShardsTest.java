@@ -0,0 +1,86 @@
+package com.viraj.sample.shard;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeShardsTest {
+
+    private EmployeeShards employeeShards;
+
+    @BeforeEach
+    void setUp() {
+        String run = UUID.randomUUID().toString();
+        List<DriverManagerDataSource> dataSources = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            dataSources.add(new DriverManagerDataSource(
+                    "jdbc:h2:mem:shards" + i + "-" + run + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        }
+        employeeShards = new EmployeeShards(dataSources, 2, 10, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeShards.close();
+    }
+
+    @Test
+    void testShardIndexSpreadsConsecutiveIds() {
+        int[] counts = new int[4];
+        for (long employeeId = 1; employeeId <= 4000; employeeId++) {
+            counts[EmployeeShards.shardIndex(employeeId, 4)]++;
+        }
+        for (int count : counts) {
+            assertTrue(count > 900 && count < 1100, Arrays.toString(counts));
+        }
+    }
+
+    @Test
+    void testAllocateIdsReservesBlocksFromFirstShard() {
+        long[] first = employeeShards.allocateIds(3);
+        long[] second = employeeShards.allocateIds(25);
+
+        assertArrayEquals(new long[]{1, 2, 3}, first);
+        assertEquals(4L, second[0]);
+        assertEquals(28L, second[24]);
+        // 10 ids were reserved first, then the 18 still missing in one go.
+        assertEquals(29L, employeeShards.all().get(0).allocateIds(1));
+    }
+
+    @Test
+    void testNameColumnWithoutBinaryCollationIsRejected() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:collation-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        // Case-insensitive, like MySQL's default utf8mb4_0900_ai_ci.
+        new JdbcTemplate(dataSource).execute("SET COLLATION ENGLISH STRENGTH PRIMARY");
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> new EmployeeShards(Collections.singletonList(dataSource), 1, 10, true));
+
+        assertTrue(thrown.getMessage().contains("ENGLISH"));
+    }
+
+    @Test
+    void testScatterRethrowsShardFailure() {
+        IllegalStateException failure = new IllegalStateException("shard down");
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> employeeShards.scatter(shard -> {
+            if (shard == employeeShards.all().get(1)) {
+                throw failure;
+            }
+            return 0L;
+        }));
+
+        assertSame(failure, thrown);
+    }
+}
@@ -0,0 +1,283 @@
+package com.viraj.sample.shard;
+
+import com.viraj.sample.cache.EmployeeCache;
+import com.viraj.sample.cache.EmployeeCacheProperties;
+import com.viraj.sample.dto.EmployeeLookup;
+import com.viraj.sample.dto.EmployeeNamePage;
+import com.viraj.sample.dto.EmployeePage;
+import com.viraj.sample.dto.EmployeePatch;
+import com.viraj.sample.dto.EmployeeSummary;
+import com.viraj.sample.entity.Employee;
+import com.viraj.sample.search.EmployeeSearchIndex;
+import com.viraj.sample.snapshot.EmployeeSnapshotProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedEmployeeServiceTest {
+
+    private static final int SHARDS = 3;
+
+    private EmployeeShards employeeShards;
+    private ShardedEmployeeService employeeService;
+
+    @BeforeEach
+    void setUp() {
+        // Embedded H2 databases stand in for the MySQL shards.
+        String run = UUID.randomUUID().toString();
+        List<DriverManagerDataSource> dataSources = new ArrayList<>();
+        for (int i = 0; i < SHARDS; i++) {
+            dataSources.add(new DriverManagerDataSource(
+                    "jdbc:h2:mem:shard" + i + "-" + run + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        }
+        employeeShards = new EmployeeShards(dataSources, 2, 5, true);
+        employeeService = new ShardedEmployeeService();
+        employeeService.employeeShards = employeeShards;
+        employeeService.employeeCache = new EmployeeCache(new EmployeeCacheProperties());
+        employeeService.employeeSearchIndex = new EmployeeSearchIndex();
+        employeeService.employeeSnapshotProperties = new EmployeeSnapshotProperties();
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeShards.close();
+    }
+
+    private List<Employee> saveEmployees(int count) {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            employees.add(new Employee("Employee " + (char) ('a' + i % 26), "Developer " + i));
+        }
+        return employeeService.saveAll(employees);
+    }
+
+    @Test
+    void testSnapshotCannotBeEnabled() {
+        employeeService.checkSnapshotDisabled();
+        employeeService.employeeSnapshotProperties.setEnabled(true);
+
+        assertThrows(IllegalStateException.class, employeeService::checkSnapshotDisabled);
+    }
+
+    @Test
+    void testSaveAllSpreadsUniqueIdsOverShards() {
+        List<Employee> savedEmployees = saveEmployees(60);
+
+        Set<Long> ids = savedEmployees.stream().map(Employee::getEmployeeId).collect(Collectors.toSet());
+        assertEquals(60, ids.size());
+        for (EmployeeShard shard : employeeShards.all()) {
+            List<Employee> rows = shard.findAll();
+            assertFalse(rows.isEmpty());
+            for (Employee row : rows) {
+                assertSame(shard, employeeShards.shardFor(row.getEmployeeId()));
+            }
+        }
+        assertEquals(60, employeeShards.all().stream().mapToInt(shard -> shard.findAll().size()).sum());
+    }
+
+    @Test
+    void testSaveAndGetEmployeeRouteToOwningShard() {
+        Employee savedEmployee = employeeService.saveEmployee(new Employee("John Doe", "Senior Developer"));
+
+        assertTrue(savedEmployee.getEmployeeId() > 0);
+        assertNotNull(savedEmployee.getCreatedAt());
+        Employee employee = employeeService.getEmployee(savedEmployee.getEmployeeId());
+        assertEquals("John Doe", employee.getEmployeeName());
+        assertEquals(savedEmployee.getCreatedAt(), employee.getCreatedAt());
+        assertEquals("John Doe", employeeService.getEmployeeSummary(savedEmployee.getEmployeeId()).getEmployeeName());
+        assertEquals(1, employeeShards.shardFor(savedEmployee.getEmployeeId()).findAll().size());
+        assertThrows(NoSuchElementException.class, () -> employeeService.getEmployee(savedEmployee.getEmployeeId() + 1000));
+    }
+
+    @Test
+    void testGetAllEmployeesMergesShardsInIdOrder() {
+        List<Long> savedIds = saveEmployees(40).stream().map(Employee::getEmployeeId).sorted().collect(Collectors.toList());
+
+        assertEquals(savedIds, employeeService.getAllEmployees().stream()
+                .map(Employee::getEmployeeId).collect(Collectors.toList()));
+        assertEquals(savedIds, employeeService.getAllEmployeeSummaries().stream()
+                .map(EmployeeSummary::getEmployeeId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testPagesWalkAllShardsInIdOrder() {
+        List<Long> savedIds = saveEmployees(23).stream().map(Employee::getEmployeeId).sorted().collect(Collectors.toList());
+
+        List<Long> pagedIds = new ArrayList<>();
+        Long cursor = null;
+        do {
+            EmployeePage<Employee> page = employeeService.getEmployeePage(cursor, 7);
+            page.getEmployees().forEach(employee -> pagedIds.add(employee.getEmployeeId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertEquals(savedIds, pagedIds);
+
+        EmployeePage<EmployeeSummary> summaries = employeeService.getEmployeeSummaryPage(savedIds.get(19), 7);
+        assertEquals(savedIds.subList(20, 23), summaries.getEmployees().stream()
+                .map(EmployeeSummary::getEmployeeId).collect(Collectors.toList()));
+        assertFalse(summaries.hasNext());
+    }
+
+    @Test
+    void testNamePrefixMergesByNameThenId() {
+        saveEmployees(52);
+        employeeService.saveEmployee(new Employee("Other", "Manager"));
+
+        EmployeeNamePage first = employeeService.getEmployeesByNamePrefix("Employee", null, 3);
+        EmployeeNamePage second = employeeService.getEmployeesByNamePrefix("Employee", first.getNextCursor(), 3);
+
+        List<Employee> employees = new ArrayList<>(first.getEmployees());
+        employees.addAll(second.getEmployees());
+        assertEquals(Arrays.asList("Employee a", "Employee a", "Employee b", "Employee b", "Employee c", "Employee c"),
+                employees.stream().map(Employee::getEmployeeName).collect(Collectors.toList()));
+        assertTrue(employees.get(0).getEmployeeId() < employees.get(1).getEmployeeId());
+        assertTrue(second.hasNext());
+    }
+
+    @Test
+    void testUpdateAndPatchCheckVersion() {
+        Employee savedEmployee = employeeService.saveEmployee(new Employee("John Doe", "Senior Developer"));
+        long employeeId = savedEmployee.getEmployeeId();
+
+        Employee update = new Employee("John Doe", "Lead Developer");
+        update.setEmployeeId(employeeId);
+        Employee updatedEmployee = employeeService.updateEmployee(update);
+        assertEquals(1L, updatedEmployee.getVersion());
+        assertEquals(savedEmployee.getCreatedAt(), updatedEmployee.getCreatedAt());
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> employeeService.updateEmployee(update));
+
+        EmployeePatch patch = new EmployeePatch();
+        patch.setEmployeeName("Jane Doe");
+        patch.setVersion(1L);
+        assertTrue(employeeService.patchEmployee(employeeId, patch));
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> employeeService.patchEmployee(employeeId, patch));
+
+        Employee employee = employeeService.getEmployee(employeeId);
+        assertEquals("Jane Doe", employee.getEmployeeName());
+        assertEquals("Lead Developer", employee.getEmployeeDescription());
+        assertEquals(2L, employee.getVersion());
+        assertEquals(2L, employeeService.getEmployeeVersion(employeeId).get().longValue());
+    }
+
+    @Test
+    void testUpdateOfMissingEmployeeInsertsUnderNewId() {
+        Employee employee = new Employee("John Doe", "Senior Developer");
+        employee.setEmployeeId(999L);
+
+        Employee savedEmployee = employeeService.saveEmployee(employee);
+
+        assertNotEquals(999L, savedEmployee.getEmployeeId());
+        assertEquals("John Doe", employeeService.getEmployee(savedEmployee.getEmployeeId()).getEmployeeName());
+    }
+
+    @Test
+    void testGetEmployeesAcrossShards() {
+        List<Employee> savedEmployees = saveEmployees(10);
+        long first = savedEmployees.get(0).getEmployeeId();
+        long last = savedEmployees.get(9).getEmployeeId();
+
+        EmployeeLookup lookup = employeeService.getEmployees(Arrays.asList(last, 5000L, first, last));
+
+        assertEquals(Arrays.asList(last, first), new ArrayList<>(lookup.getEmployees().keySet()));
+        assertEquals(Arrays.asList(5000L), lookup.getMissingIds());
+    }
+
+    @Test
+    void testDeleteEmployees() {
+        List<Employee> savedEmployees = saveEmployees(10);
+        List<Long> ids = savedEmployees.stream().map(Employee::getEmployeeId).collect(Collectors.toList());
+        // Cache one of them first so the delete has to drop it.
+        employeeService.getEmployee(ids.get(0));
+
+        assertEquals(9, employeeService.deleteEmployees(new ArrayList<>(ids.subList(0, 9))));
+        employeeService.deleteEmployee(ids.get(9));
+
+        assertTrue(employeeService.getAllEmployees().isEmpty());
+        assertThrows(NoSuchElementException.class, () -> employeeService.getEmployee(ids.get(0)));
+        assertThrows(NoSuchElementException.class, () -> employeeService.deleteEmployee(ids.get(9)));
+    }
+
+    @Test
+    void testExportStreamsEveryShardInIdOrder() {
+        List<Long> savedIds = saveEmployees(30).stream().map(Employee::getEmployeeId).sorted().collect(Collectors.toList());
+
+        List<Long> exportedIds = new ArrayList<>();
+        employeeService.exportEmployees(employee -> exportedIds.add(employee.getEmployeeId()));
+
+        assertEquals(savedIds, exportedIds);
+    }
+
+    @Test
+    void testChangeVersionMovesOnEveryWrite() {
+        long initial = employeeService.getChangeVersion();
+        Employee savedEmployee = employeeService.saveEmployee(new Employee("John Doe", "Senior Developer"));
+        long afterSave = employeeService.getChangeVersion();
+        employeeService.deleteEmployee(savedEmployee.getEmployeeId());
+
+        assertTrue(afterSave > initial);
+        assertTrue(employeeService.getChangeVersion() > afterSave);
+    }
+
+    @Test
+    void testGetChangesIsUnsupported() {
+        assertThrows(UnsupportedOperationException.class, () -> employeeService.getChanges(0L, 10));
+    }
+
+    @Test
+    void testSearchSeesSavedEmployees() {
+        employeeService.saveEmployee(new Employee("John Doe", "Senior Developer"));
+
+        assertEquals(1, employeeService.searchEmployees("john", 10).size());
+    }
+
+    @Test
+    void testSearchSeesPatchedEmployeeAsStored() {
+        long employeeId = employeeService.saveEmployee(new Employee("John Doe", "Senior Developer")).getEmployeeId();
+
+        EmployeePatch patch = new EmployeePatch();
+        patch.setEmployeeDescription("Architect");
+        assertTrue(employeeService.patchEmployee(employeeId, patch));
+
+        List<Employee> result = employeeService.searchEmployees("architect", 10);
+        assertEquals(1, result.size());
+        Employee stored = employeeService.getEmployee(employeeId);
+        assertEquals(stored.getVersion(), result.get(0).getVersion());
+        assertEquals(stored.getChangeSeq(), result.get(0).getChangeSeq());
+        assertEquals(stored.getUpdatedAt(), result.get(0).getUpdatedAt());
+    }
+
+    @Test
+    void testIdsStayUniqueUnderConcurrentSaves() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < 80; i++) {
+            futures.add(executor.submit(
+                    () -> employeeService.saveEmployee(new Employee("John Doe", "Developer")).getEmployeeId()));
+        }
+        Set<Long> ids = new HashSet<>();
+        for (Future<Long> future : futures) {
+            ids.add(future.get());
+        }
+        executor.shutdown();
+
+        assertEquals(80, ids.size());
+        assertEquals(80, employeeService.getAllEmployees().size());
+    }
+}
@@ -0,0 +1,59 @@
+package com.viraj.sample.shard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortedMergeTest {
+
+    @Test
+    void testMergeInterleavesSortedLists() {
+        List<List<Integer>> sources = Arrays.asList(
+                Arrays.asList(1, 4, 9), Collections.emptyList(), Arrays.asList(2, 3, 10), Arrays.asList(5));
+
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 9, 10),
+                SortedMerge.merge(sources, Comparator.naturalOrder(), Integer.MAX_VALUE));
+        assertEquals(Arrays.asList(1, 2, 3), SortedMerge.merge(sources, Comparator.naturalOrder(), 3));
+    }
+
+    @Test
+    void testTiesKeepSourceOrder() {
+        List<List<String>> sources = Arrays.asList(Arrays.asList("b1", "c1"), Arrays.asList("a2", "b2"));
+
+        assertEquals(Arrays.asList("a2", "b1", "b2", "c1"),
+                SortedMerge.merge(sources, Comparator.comparing(value -> value.charAt(0)), 10));
+    }
+
+    @Test
+    void testIteratorsAreConsumedLazily() {
+        List<Integer> consumed = new ArrayList<>();
+        Iterator<Integer> source = Arrays.asList(1, 3, 5, 7).iterator();
+        Iterator<Integer> tracked = new Iterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                return source.hasNext();
+            }
+
+            @Override
+            public Integer next() {
+                Integer value = source.next();
+                consumed.add(value);
+                return value;
+            }
+        };
+
+        Iterator<Integer> merged = SortedMerge.merge(Arrays.asList(tracked, Arrays.asList(2, 4).iterator()),
+                Comparator.naturalOrder());
+
+        assertEquals(1, merged.next().intValue());
+        assertEquals(2, merged.next().intValue());
+        assertEquals(Arrays.asList(1, 3), consumed);
+    }
+}
@@ -0,0 +1,113 @@
+package com.viraj.sample.snapshot;
+
+import com.viraj.sample.dto.EmployeeChange;
+import com.viraj.sample.dto.EmployeeChanges;
+import com.viraj.sample.entity.Employee;
+import com.viraj.sample.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeSnapshotRefresherTest {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @Spy
+    private EmployeeSnapshotStore employeeSnapshotStore = new EmployeeSnapshotStore();
+
+    @Spy
+    private EmployeeSnapshotProperties properties = new EmployeeSnapshotProperties();
+
+    @InjectMocks
+    private EmployeeSnapshotRefresher refresher;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        employee = new Employee("John Doe", "Senior Developer");
+        employee.setEmployeeId(1L);
+        employee.setChangeSeq(4L);
+        properties.setRefreshBatchSize(2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void exportEmployee() {
+        doAnswer(invocation -> {
+            ((Consumer<Employee>) invocation.getArgument(0)).accept(employee);
+            return null;
+        }).when(employeeService).exportEmployees(any());
+    }
+
+    @Test
+    void testFirstRefreshLoadsTableAndCatchesUp() {
+        when(employeeService.getChangeVersion()).thenReturn(4L);
+        exportEmployee();
+        // Deleted while the table was being read.
+        when(employeeService.getChanges(eq(4L), anyInt())).thenReturn(new EmployeeChanges(
+                Collections.singletonList(new EmployeeChange(5L, 1L, true, null)), 5L, false));
+
+        refresher.refresh();
+
+        EmployeeSnapshot snapshot = employeeSnapshotStore.current();
+        assertEquals(0, snapshot.size());
+        assertEquals(5L, snapshot.getLastChangeSeq());
+    }
+
+    @Test
+    void testRefreshReadsEveryPageOfChanges() {
+        employeeSnapshotStore.replace(EmployeeSnapshot.builder(4L).add(employee).build());
+        Employee updated = new Employee("John Updated", "Senior Developer");
+        updated.setEmployeeId(1L);
+        updated.setChangeSeq(6L);
+        Employee inserted = new Employee("Jane Smith", "Project Manager");
+        inserted.setEmployeeId(2L);
+        inserted.setChangeSeq(7L);
+        doReturn(new EmployeeChanges(Collections.singletonList(EmployeeChange.of(updated)), 6L, true))
+                .when(employeeService).getChanges(4L, 2);
+        doReturn(new EmployeeChanges(Collections.singletonList(EmployeeChange.of(inserted)), 7L, false))
+                .when(employeeService).getChanges(6L, 2);
+
+        refresher.refresh();
+
+        EmployeeSnapshot snapshot = employeeSnapshotStore.current();
+        assertEquals(2, snapshot.size());
+        assertEquals("John Updated", snapshot.get(1L).get().getEmployeeName());
+        assertEquals(7L, snapshot.getLastChangeSeq());
+        verify(employeeService, never()).exportEmployees(any());
+    }
+
+    @Test
+    void testRefreshWithoutChangesKeepsSnapshot() {
+        EmployeeSnapshot snapshot = EmployeeSnapshot.builder(4L).add(employee).build();
+        employeeSnapshotStore.replace(snapshot);
+        when(employeeService.getChanges(4L, 2)).thenReturn(new EmployeeChanges(Collections.emptyList(), 4L, false));
+
+        refresher.refresh();
+
+        assertSame(snapshot, employeeSnapshotStore.current());
+    }
+
+    @Test
+    void testDisabledDoesNotLoad() {
+        refresher.start();
+
+        assertNull(employeeSnapshotStore.current());
+        verifyZeroInteractions(employeeService);
+    }
+}
@@ -0,0 +1,180 @@
+package com.viraj.sample.snapshot;
+
+import com.viraj.sample.dto.EmployeeChange;
+import com.viraj.sample.dto.EmployeePage;
+import com.viraj.sample.dto.EmployeeSummary;
+import com.viraj.sample.entity.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeSnapshotTest {
+
+    private static Employee employee(long employeeId, String name, String description) {
+        Employee employee = new Employee(name, description);
+        employee.setEmployeeId(employeeId);
+        employee.setVersion(employeeId * 10);
+        employee.setChangeSeq(employeeId);
+        employee.setCreatedAt(Instant.parse("2026-01-02T03:04:05.123456789Z"));
+        return employee;
+    }
+
+    private static EmployeeSnapshot snapshot(Employee... employees) {
+        EmployeeSnapshot.Builder builder = EmployeeSnapshot.builder(employees.length);
+        Arrays.stream(employees).forEach(builder::add);
+        return builder.build();
+    }
+
+    private static List<Long> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getEmployeeId).collect(Collectors.toList());
+    }
+
+    @Test
+    void testGetReturnsEqualEmployee() {
+        Employee employee = employee(5L, "John Doe", null);
+        EmployeeSnapshot snapshot = snapshot(employee(1L, "Jane Smith", "Manager"), employee);
+
+        Employee result = snapshot.get(5L).get();
+
+        assertEquals(employee.toString(), result.toString());
+        assertNull(result.getUpdatedAt());
+        assertNotSame(employee, result);
+        assertFalse(snapshot.get(3L).isPresent());
+        assertEquals(Optional.of("John Doe"), snapshot.getSummary(5L).map(EmployeeSummary::getEmployeeName));
+    }
+
+    @Test
+    void testRepeatedStringsAreStoredOnce() {
+        EmployeeSnapshot snapshot = snapshot(employee(1L, "John", "Developer"), employee(2L, "Jane", "Developer"),
+                employee(3L, "John", "Developer"));
+
+        assertSame(snapshot.get(1L).get().getEmployeeDescription(), snapshot.get(2L).get().getEmployeeDescription());
+        assertSame(snapshot.get(1L).get().getEmployeeName(), snapshot.get(3L).get().getEmployeeName());
+    }
+
+    @Test
+    void testEmployeesMustBeAddedInIdOrder() {
+        EmployeeSnapshot.Builder builder = EmployeeSnapshot.builder(0).add(employee(2L, "B", "b"));
+
+        assertThrows(IllegalArgumentException.class, () -> builder.add(employee(1L, "A", "a")));
+    }
+
+    @Test
+    void testPages() {
+        EmployeeSnapshot snapshot = snapshot(employee(1L, "A", "a"), employee(3L, "B", "b"), employee(4L, "C", "c"));
+
+        EmployeePage<Employee> first = snapshot.getPage(0L, 2);
+        assertEquals(Arrays.asList(1L, 3L), ids(first.getEmployees()));
+        assertEquals(Long.valueOf(3L), first.getNextCursor());
+
+        EmployeePage<Employee> last = snapshot.getPage(2L, 2);
+        assertEquals(Arrays.asList(3L, 4L), ids(last.getEmployees()));
+        assertFalse(last.hasNext());
+
+        assertTrue(snapshot.getSummaryPage(4L, 2).getEmployees().isEmpty());
+    }
+
+    @Test
+    void testApplyChanges() {
+        EmployeeSnapshot snapshot = snapshot(employee(1L, "A", "a"), employee(2L, "B", "b"), employee(3L, "C", "c"));
+        Employee updated = employee(2L, "B2", "b");
+        Employee inserted = employee(4L, "D", "d");
+        Employee insertedThenDeleted = employee(5L, "E", "e");
+
+        EmployeeSnapshot next = snapshot.apply(Arrays.asList(
+                EmployeeChange.of(updated),
+                new EmployeeChange(5L, 1L, true, null),
+                EmployeeChange.of(insertedThenDeleted),
+                EmployeeChange.of(inserted),
+                new EmployeeChange(9L, 5L, true, null)), 9L);
+
+        assertEquals(Arrays.asList(2L, 3L, 4L), ids(next.getAll()));
+        assertEquals("B2", next.get(2L).get().getEmployeeName());
+        assertEquals(9L, next.getLastChangeSeq());
+        // The old snapshot is unchanged.
+        assertEquals(Arrays.asList(1L, 2L, 3L), ids(snapshot.getAll()));
+        assertEquals("B", snapshot.get(2L).get().getEmployeeName());
+    }
+
+    @Test
+    void testSnapshotsSharingTheDictionaryKeepTheirStrings() {
+        EmployeeSnapshot snapshot = snapshot(employee(1L, "A", "a"), employee(2L, "B", "b"));
+        List<EmployeeChange> renames = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            renames.add(EmployeeChange.of(employee(id, "Name " + id, "Description " + id)));
+        }
+
+        EmployeeSnapshot renamed = snapshot.apply(renames, 100L);
+        // A second snapshot applied from the same one appends to the dictionary after the first.
+        EmployeeSnapshot other = snapshot.apply(Arrays.asList(EmployeeChange.of(employee(3L, "C", "c"))), 101L);
+
+        assertEquals("B", snapshot.get(2L).get().getEmployeeName());
+        assertEquals("Description 2", renamed.get(2L).get().getEmployeeDescription());
+        assertEquals(100, renamed.size());
+        assertEquals(Arrays.asList(1L, 2L, 3L), ids(other.getAll()));
+        assertEquals("c", other.get(3L).get().getEmployeeDescription());
+        assertEquals("a", other.get(1L).get().getEmployeeDescription());
+    }
+
+    @Test
+    void testApplyDropsStringsNoLongerUsed() {
+        EmployeeSnapshot snapshot = snapshot(employee(1L, "A", "a"), employee(2L, "B", "b"));
+        for (long seq = 1; seq <= 5_000; seq++) {
+            Employee renamed = employee(1L, "Name " + seq, "Description " + seq);
+            snapshot = snapshot.apply(Arrays.asList(EmployeeChange.of(renamed)), seq);
+        }
+
+        assertEquals("Name 5000", snapshot.get(1L).get().getEmployeeName());
+        assertEquals("B", snapshot.get(2L).get().getEmployeeName());
+        // The dictionary is rebuilt once it holds more than 1024 strings.
+        assertTrue(snapshot.estimatedBytes() < 1100L * 64);
+    }
+
+    @Test
+    void testEstimatedBytesIsBelowEntities() {
+        EmployeeSnapshot.Builder builder = EmployeeSnapshot.builder(0);
+        for (long id = 1; id <= 10_000; id++) {
+            builder.add(employee(id, "Employee " + (id % 100), "Department " + (id % 10)));
+        }
+        EmployeeSnapshot snapshot = builder.build();
+
+        // Each Employee entity alone is a 16 byte header, five eight byte fields and three references.
+        assertTrue(snapshot.estimatedBytes() < snapshot.size() * 68L);
+    }
+
+    @Test
+    void testEstimatedBytesIsBelowEntitiesWithUniqueStrings() {
+        EmployeeSnapshot.Builder builder = EmployeeSnapshot.builder(0);
+        long entityBytes = 0;
+        for (long id = 1; id <= 10_000; id++) {
+            Employee employee = employee(id, "Employee " + id, "Description of employee " + id);
+            builder.add(employee);
+            // The entity, its createdAt Instant, and a String with its char array for each text column.
+            entityBytes += 68 + 24 + 2 * 40
+                    + 2L * (employee.getEmployeeName().length() + employee.getEmployeeDescription().length());
+        }
+        EmployeeSnapshot snapshot = builder.build();
+
+        assertTrue(snapshot.estimatedBytes() < entityBytes, snapshot.estimatedBytes() + " >= " + entityBytes);
+    }
+
+    @Test
+    void testApplyKeepsCodesOfUnchangedStrings() {
+        EmployeeSnapshot snapshot = snapshot(employee(1L, "John", "Developer"), employee(2L, "Jane", "Manager"));
+        long before = snapshot.estimatedBytes();
+
+        EmployeeSnapshot next = snapshot.apply(Arrays.asList(EmployeeChange.of(employee(1L, "John", "Architect"))), 3L);
+
+        assertSame(snapshot.get(1L).get().getEmployeeName(), next.get(1L).get().getEmployeeName());
+        assertEquals("Architect", next.get(1L).get().getEmployeeDescription());
+        // Only the new description was added to the dictionary.
+        assertEquals(before + 40 + 2 * "Architect".length(), next.estimatedBytes());
+    }
+}